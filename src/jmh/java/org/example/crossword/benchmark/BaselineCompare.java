@@ -0,0 +1,194 @@
+package org.example.crossword.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares a JMH result file (-rf json) with the stored baseline and lists every benchmark that
+// got slower by more than the tolerance. Benchmarks are matched by name and parameters, the ones
+// missing from either file are listed too. Exits with 1 if there is a regression. When there is
+// no baseline yet, the result is stored as the baseline: only JMH runs are ever compared.
+public final class BaselineCompare {
+    private BaselineCompare() {
+    }
+
+    // Usage: BaselineCompare <baseline.json> <result.json> [tolerance percent, 10 by default]
+    // To record a new baseline, delete the baseline or copy the result file over it.
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCompare <baseline.json> <result.json> [tolerance%]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        if (!Files.exists(Path.of(args[0]))) {
+            Files.copy(Path.of(args[1]), Path.of(args[0]));
+            System.out.println("No baseline yet, " + args[1] + " recorded as " + args[0]);
+            return;
+        }
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> result = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s%n", "benchmark", "baseline", "result", "change");
+        for (Map.Entry<String, Score> entry : result.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null || !before.unit.equals(after.unit)) {
+                System.out.printf("%-70s %14s %14.3f %8s %s%n", entry.getKey(), "-", after.value, "new", after.unit);
+                continue;
+            }
+            // throughput is better when higher, the time modes when lower
+            double slowdown = after.higherIsBetter() ? before.value / after.value - 1 : after.value / before.value - 1;
+            // a NaN score (a benchmark that did not run) is never a regression
+            boolean regressed = slowdown > tolerance;
+            regressions += regressed ? 1 : 0;
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %s%s%n", entry.getKey(), before.value, after.value,
+                    (after.value / before.value - 1) * 100, after.unit, regressed ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!result.containsKey(key)) {
+                System.out.printf("%-70s %14.3f %14s %8s%n", key, baseline.get(key).value, "-", "missing");
+            }
+        }
+        System.out.println(regressions == 0 ? "No regression" : regressions + " regression(s) above " + Math.round(tolerance * 100) + "%");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private record Score(String mode, double value, String unit) {
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    // Primary scores of a JMH result file by "benchmark [param=value ...]"
+    private static Map<String, Score> read(Path file) throws IOException {
+        Object json = new Parser(Files.readString(file, StandardCharsets.UTF_8)).value();
+        Map<String, Score> scores = new TreeMap<>();
+        for (Object item : (List<?>) json) {
+            Map<?, ?> run = (Map<?, ?>) item;
+            StringBuilder key = new StringBuilder(shortName((String) run.get("benchmark")));
+            if (run.get("params") instanceof Map<?, ?> params) {
+                new TreeMap<>(params).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            }
+            Map<?, ?> metric = (Map<?, ?>) run.get("primaryMetric");
+            // JMH writes a NaN score as the string "NaN"
+            Object score = metric.get("score");
+            double value = score instanceof Number number ? number.doubleValue() : Double.parseDouble((String) score);
+            scores.put(key.toString(), new Score((String) run.get("mode"), value, (String) metric.get("scoreUnit")));
+        }
+        return scores;
+    }
+
+    private static String shortName(String benchmark) {
+        String prefix = BaselineCompare.class.getPackageName() + ".";
+        return benchmark.startsWith(prefix) ? benchmark.substring(prefix.length()) : benchmark;
+    }
+
+    // Just enough JSON for the result files of JMH: objects, arrays, strings, numbers, literals
+    private static final class Parser {
+        private final String text;
+        private int at;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object value() {
+            skipSpaces();
+            char c = text.charAt(at);
+            if (c == '{') {
+                at++;
+                Map<String, Object> object = new LinkedHashMap<>();
+                if (peek('}')) {
+                    return object;
+                }
+                do {
+                    skipSpaces();
+                    String name = string();
+                    expect(':');
+                    object.put(name, value());
+                } while (peek(','));
+                expect('}');
+                return object;
+            }
+            if (c == '[') {
+                at++;
+                List<Object> array = new ArrayList<>();
+                if (peek(']')) {
+                    return array;
+                }
+                do {
+                    array.add(value());
+                } while (peek(','));
+                expect(']');
+                return array;
+            }
+            if (c == '"') {
+                return string();
+            }
+            int start = at;
+            while (at < text.length() && ",}] \t\r\n".indexOf(text.charAt(at)) < 0) {
+                at++;
+            }
+            String literal = text.substring(start, at);
+            return switch (literal) {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                case "null" -> null;
+                // JMH writes NaN as a string, a bare one is accepted as well
+                default -> Double.parseDouble(literal);
+            };
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (text.charAt(at) != '"') {
+                char c = text.charAt(at++);
+                if (c == '\\') {
+                    c = text.charAt(at++);
+                    switch (c) {
+                        case 'n' -> sb.append('\n');
+                        case 't' -> sb.append('\t');
+                        case 'u' -> {
+                            sb.append((char) Integer.parseInt(text.substring(at, at + 4), 16));
+                            at += 4;
+                        }
+                        default -> sb.append(c);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+            at++;
+            return sb.toString();
+        }
+
+        private boolean peek(char c) {
+            skipSpaces();
+            if (at < text.length() && text.charAt(at) == c) {
+                at++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!peek(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at offset " + at);
+            }
+        }
+
+        private void skipSpaces() {
+            while (at < text.length() && Character.isWhitespace(text.charAt(at))) {
+                at++;
+            }
+        }
+    }
+}
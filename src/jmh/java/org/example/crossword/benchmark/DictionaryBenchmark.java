@@ -0,0 +1,66 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.model.PatternDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// PatternDictionary on 500k random words of 3 to 15 letters: pattern counts of a few shapes,
+// exact lookups, and the build of the whole index (a few single shots, it takes about a second)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class DictionaryBenchmark {
+    private static final int WORDS = 500_000;
+
+    // only count depends on the pattern
+    @State(Scope.Benchmark)
+    public static class Patterns {
+        @Param({"?????", "S?A??E", "???????E?S", "R??????????????"})
+        String pattern;
+    }
+
+    private List<String> list;
+    private PatternDictionary dictionary;
+    private String present;
+
+    @Setup
+    public void setUp() {
+        list = Fixtures.randomWords(WORDS, 3, 15, 1);
+        dictionary = new PatternDictionary(list);
+        present = list.get(WORDS / 2);
+    }
+
+    @Benchmark
+    public int count(Patterns patterns) {
+        return dictionary.count(patterns.pattern);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return dictionary.indexOf(present);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public PatternDictionary build() {
+        return new PatternDictionary(list);
+    }
+}
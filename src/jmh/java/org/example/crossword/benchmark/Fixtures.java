@@ -0,0 +1,70 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.model.Puzzle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Inputs of the benchmarks, generated so they run anywhere without the files of the repository
+final class Fixtures {
+    private static final String LETTERS = "EEEEEEAAAAISSSNNRRTTOOLLUUDCMPGBVHFQJXYZKW";
+
+    private Fixtures() {
+    }
+
+    // grid.txt of a puzzle: a theme line, "rows,cols" then one line of cell values per row
+    static byte[] gridText(Puzzle puzzle) {
+        StringBuilder sb = new StringBuilder("# ").append(puzzle.getTheme()).append('\n');
+        sb.append(puzzle.getRows()).append(',').append(puzzle.getCols()).append('\n');
+        for (int row = 0; row < puzzle.getRows(); row++) {
+            for (int col = 0; col < puzzle.getCols(); col++) {
+                if (col > 0) {
+                    sb.append(',');
+                }
+                sb.append(puzzle.getCellValue(row, col));
+            }
+            sb.append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // data.txt of a puzzle: a theme line then H;"clue";solution per word
+    static byte[] dataText(Puzzle puzzle) {
+        StringBuilder sb = new StringBuilder("# ").append(puzzle.getTheme()).append('\n');
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            sb.append(puzzle.isHorizontal(n) ? 'H' : 'V').append(";\"").append(puzzle.getClue(n)).append("\";")
+                    .append(puzzle.getSolution(n)).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // File deleted when the JVM exits
+    static Path tempFile(String prefix, byte[] content) throws IOException {
+        Path file = Files.createTempFile(prefix, ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, content);
+        return file;
+    }
+
+    // Distinct upper-case words of random lengths, letters drawn with their frequency in French
+    static List<String> randomWords(int count, int minLength, int maxLength, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<String> words = new LinkedHashSet<>(count * 2);
+        char[] letters = new char[maxLength];
+        while (words.size() < count) {
+            int length = random.nextInt(minLength, maxLength + 1);
+            for (int i = 0; i < length; i++) {
+                letters[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            }
+            words.add(new String(letters, 0, length));
+        }
+        return new ArrayList<>(words);
+    }
+}
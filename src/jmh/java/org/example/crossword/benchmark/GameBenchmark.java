@@ -0,0 +1,125 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.engine.GameEngine;
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.engine.HintService;
+import org.example.crossword.engine.Move;
+import org.example.crossword.engine.Outcome;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.SyntheticPuzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The paths of a move on a size x size puzzle: guess validation, typing one letter, a batch of
+// moves and the LETTERS hint, with the first List<Character> shuffle for comparison. A wrong
+// guess never solves the word, so the session stays the same from one call to the next.
+// With -prof gc, gc.alloc.rate.norm gives the bytes allocated per guess (0 is expected).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private static final int BATCH_WORDS = 8;
+
+    @Param({"15", "101", "255"})
+    int size;
+
+    private Puzzle puzzle;
+    private GameSession session;
+    private HintService hints;
+    private String solution;
+    private String wrongFirst;      // the solution with a wrong first letter
+    private String wrongLast;       // the solution with a wrong last letter
+    private boolean flip;
+    private int position;
+    private List<Move> moves;
+    private char[] letters;
+
+    @Setup
+    public void setUp() {
+        puzzle = SyntheticPuzzle.of(size, size, 1);
+        session = new GameEngine(puzzle).newSession(1);
+        hints = session.getHints();
+        solution = puzzle.getSolution(1);
+        wrongFirst = wrong(solution, 0);
+        wrongLast = wrong(solution, solution.length() - 1);
+        letters = new char[solution.length()];
+
+        // select and guess wrong on a few words, the batch leaves the session as it found it
+        moves = new ArrayList<>();
+        for (int n = 1; n <= Math.min(BATCH_WORDS, puzzle.getWordCount()); n++) {
+            moves.add(Move.select(n));
+            moves.add(Move.guess(wrong(puzzle.getSolution(n), n % puzzle.getLength(n))));
+        }
+        session.select(1);
+    }
+
+    private static String wrong(String word, int position) {
+        char[] letters = word.toCharArray();
+        letters[position] = letters[position] == 'Z' ? 'Y' : 'Z';
+        return new String(letters);
+    }
+
+    // Two letters change from one call to the next, every call updates the crossing counters
+    @Benchmark
+    public Outcome guessWrong() {
+        session.select(1);
+        flip = !flip;
+        return session.guess(flip ? wrongFirst : wrongLast);
+    }
+
+    @Benchmark
+    public boolean typeAndErase() {
+        session.select(1);
+        int at = position++ % solution.length();
+        boolean correct = session.type(at, solution.charAt(at));
+        session.erase(at);
+        return correct;
+    }
+
+    @Benchmark
+    public int applyBatch() {
+        return session.applyBatch(moves);
+    }
+
+    @Benchmark
+    public int lettersScramble() {
+        return hints.scramble(1, letters);
+    }
+
+    @Benchmark
+    public String lettersCached() {
+        return hints.letters(1);
+    }
+
+    @Benchmark
+    public String lettersLegacy() {
+        List<Character> shuffledLetters = new ArrayList<>();
+        for (char c : solution.toCharArray()) {
+            shuffledLetters.add(c);
+        }
+        Collections.shuffle(shuffledLetters);
+
+        StringBuilder shuffledString = new StringBuilder();
+        for (char c : shuffledLetters) {
+            shuffledString.append(c);
+        }
+        return shuffledString.toString();
+    }
+}
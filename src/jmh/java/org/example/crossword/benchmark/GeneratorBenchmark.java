@@ -0,0 +1,86 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.solver.PuzzleGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Generating puzzles on the layout of the Sports grid from random words, on a pool of threads
+// workers (0 for all the cores), reported in puzzles per minute. Each call generates PUZZLES
+// puzzles from another seed, as the generator does from the command line.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+    private static final int PUZZLES = 100;
+    private static final int WORDS = 20_000;
+    private static final String TEMPLATE = """
+            # Sports Theme
+            15,13
+            -1,-1,-1, 6,-1,-1,-1,-1,-1,-1,-1,-1,-1
+             1, 0, 0, 0, 0, 0, 0, 0, 0,-1,-1,-1,-1
+            -1,-1,-1, 0,-1,-1,-1,-1,-1,-1,-1,-1,-1
+            -1,-1,-1, 0,-1,-1,-1,-1,-1,-1,-1,-1,-1
+            -1,-1,-1, 0,-1,-1,-1,-1, 7,-1,-1,-1,-1
+            -1,-1,-1, 0,-1,-1,-1,-1, 0,-1,-1,-1,-1
+            -1,-1, 2, 0, 0, 0, 0, 0, 0,-1,-1,-1,-1
+            -1, 8,-1, 0,-1,-1,-1,-1, 0,-1,-1,-1, 9
+             3, 0, 0, 0, 0, 0, 0,-1, 0,-1,-1,-1, 0
+            -1, 0,-1,-1,-1,-1,-1,-1, 0,-1,-1,-1, 0
+            -1, 0,-1,-1,-1,-1,-1,10, 0,-1,-1,-1, 0
+            -1, 0,-1,-1,-1, 4, 0, 0, 0, 0, 0, 0, 0
+            -1, 0,-1,-1,-1,-1,-1, 0,-1,-1,-1,-1, 0
+            -1, 0,-1,-1,-1,-1,-1, 0,-1,-1,-1,-1, 0
+            -1,-1,-1,-1, 5, 0, 0, 0, 0, 0, 0,-1, 0
+            """;
+
+    @Param({"1", "4", "0"})
+    int threads;
+
+    private PuzzleGenerator generator;
+    private ForkJoinPool pool;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        CrosswordGrid template = new PuzzleParser().parseGrid(TEMPLATE.getBytes(StandardCharsets.UTF_8), "grid", new ParseReport());
+        generator = new PuzzleGenerator(template, Fixtures.randomWords(WORDS, 3, 10, 1));
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUZZLES)
+    public List<String[]> generate() {
+        List<String[]> fills = generator.generate(PUZZLES, pool, seed++);
+        if (fills.size() < PUZZLES) {
+            throw new IllegalStateException("Only " + fills.size() + " puzzles generated");
+        }
+        return fills;
+    }
+}
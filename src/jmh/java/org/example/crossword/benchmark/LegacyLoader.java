@@ -0,0 +1,95 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.model.Word;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// The first loadGrid/loadWords of GraphicalInterface (readLine, split, trim, one object per
+// cell), kept to compare PuzzleParser and CrosswordGrid with what they replaced
+final class LegacyLoader {
+    // A cell as the first Case class stored it
+    static final class LegacyCase {
+        final int row;
+        final int col;
+        boolean isPartOfWord;
+        int wordNumber;
+        char currentChar = ' ';
+
+        LegacyCase(int row, int col) {
+            this.row = row;
+            this.col = col;
+        }
+    }
+
+    private LegacyLoader() {
+    }
+
+    static List<LegacyCase> loadGrid(Path file) throws IOException {
+        List<LegacyCase> gridCells = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(file.toFile()))) {
+            br.readLine();
+            String line = br.readLine();
+            if (line == null) {
+                throw new IOException("The grid file is empty.");
+            }
+            String[] gridSize = line.split(",");
+            int rows = Integer.parseInt(gridSize[0].trim());
+            int cols = Integer.parseInt(gridSize[1].trim());
+
+            int rowCount = 0;
+            while ((line = br.readLine()) != null) {
+                rowCount++;
+                String[] lineValues = line.split(",");
+                if (lineValues.length != cols) {
+                    throw new IOException("Invalid number of columns at row " + rowCount);
+                }
+                for (int j = 0; j < cols; j++) {
+                    int cellValue = Integer.parseInt(lineValues[j].trim());
+                    LegacyCase cell = new LegacyCase(rowCount - 1, j);
+                    cell.isPartOfWord = cellValue != -1;
+                    cell.wordNumber = cellValue > 0 ? cellValue : -1;
+                    gridCells.add(cell);
+                }
+            }
+            if (rowCount != rows) {
+                throw new IOException("Invalid number of rows.");
+            }
+        }
+        return gridCells;
+    }
+
+    static List<Word> loadWords(Path file) throws IOException {
+        List<Word> words = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(file.toFile()))) {
+            String line = br.readLine(); // Reading the Theme
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split(";", 3);
+                boolean isHorizontal = parts[0].trim().equalsIgnoreCase("H");
+                String clue = parts[1].replace("\"", "").trim();
+                String solution = parts[2].trim();
+                words.add(new Word(clue, solution, isHorizontal, -1, -1));
+            }
+        }
+        return words;
+    }
+
+    // The first lookups: a stream over the whole list of cells
+    static LegacyCase findStartCell(List<LegacyCase> gridCells, int wordNumber) {
+        return gridCells.stream()
+                .filter(cell -> cell.wordNumber == wordNumber)
+                .findFirst()
+                .orElse(null);
+    }
+
+    static LegacyCase findCell(List<LegacyCase> gridCells, int row, int col) {
+        return gridCells.stream()
+                .filter(cell -> cell.row == row && cell.col == col)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.model.Case;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.SyntheticPuzzle;
+import org.example.crossword.model.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Building the model of a size x size puzzle, what populateGridPane did before drawing, and the
+// cell lookups. With -prof gc, gc.alloc.rate.norm of buildGrid and buildLegacyCells divided by
+// size * size gives the bytes per cell of CrosswordGrid and of the first one-object-per-cell model.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    @Param({"15", "101", "255"})
+    int size;
+
+    private Puzzle puzzle;
+    private CrosswordGrid grid;
+    private List<Word> words;
+    private List<LegacyLoader.LegacyCase> legacyCells;
+    private int next;       // cycles through the cells and the words from one call to the next
+
+    @Setup
+    public void setUp() throws IOException {
+        puzzle = SyntheticPuzzle.of(size, size, 1);
+        grid = puzzle.toGrid();
+        words = new PuzzleParser().parseWords(Fixtures.dataText(puzzle), "data", new ParseReport());
+        legacyCells = LegacyLoader.loadGrid(Fixtures.tempFile("grid", Fixtures.gridText(puzzle)));
+    }
+
+    @Benchmark
+    public CrosswordGrid buildGrid() {
+        CrosswordGrid built = new CrosswordGrid(size, size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                built.define(row, col, puzzle.getCellValue(row, col));
+            }
+        }
+        return built;
+    }
+
+    @Benchmark
+    public List<LegacyLoader.LegacyCase> buildLegacyCells() {
+        List<LegacyLoader.LegacyCase> cells = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = puzzle.getCellValue(row, col);
+                LegacyLoader.LegacyCase cell = new LegacyLoader.LegacyCase(row, col);
+                cell.isPartOfWord = value != -1;
+                cell.wordNumber = value > 0 ? value : -1;
+                cells.add(cell);
+            }
+        }
+        return cells;
+    }
+
+    // Word cells, crossings and expected letters of every word
+    @Benchmark
+    public Puzzle buildPuzzle() {
+        return Puzzle.of(puzzle.getTheme(), grid, words);
+    }
+
+    @Benchmark
+    public Case findCell() {
+        int index = next++ % grid.size();
+        return grid.findCell(index / size, index % size);
+    }
+
+    @Benchmark
+    public int findStartIndex() {
+        return grid.findStartIndex(next++ % puzzle.getWordCount() + 1);
+    }
+
+    @Benchmark
+    public LegacyLoader.LegacyCase findCellLegacy() {
+        int index = next++ % grid.size();
+        return LegacyLoader.findCell(legacyCells, index / size, index % size);
+    }
+
+    @Benchmark
+    public LegacyLoader.LegacyCase findStartCellLegacy() {
+        return LegacyLoader.findStartCell(legacyCells, next++ % puzzle.getWordCount() + 1);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.model.AnswerNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.Normalizer;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Folding one guess: AnswerNormalizer into a reused array, the per-letter toUpperCase of the first
+// guess path (which ignores accents), and Normalizer plus a regex on every guess. ascii is plain
+// input, latin French words with accents and apostrophes, mixed adds other scripts, full-width
+// letters and ligatures, which take the slow path of AnswerNormalizer.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizerBenchmark {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    @Param({"ascii", "latin", "mixed"})
+    String input;
+
+    private String[] guesses;
+    private final byte[] folded = new byte[64];
+    private final char[] upperCased = new char[64];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        guesses = switch (input) {
+            case "ascii" -> new String[]{"soixante", "AMORTI", "Monaco", "patrick", "Formule 1", "porte-cles",
+                    "reglementaire", "STRATOSPHERE"};
+            case "latin" -> new String[]{"règlementaire", "l'Été", "Brésil", "porte-clés", "ÉCOLOGIE", "aujourd’hui",
+                    "Noël", "garçon"};
+            case "mixed" -> new String[]{"règlementaire", "Москва", "Ελλάδα", "東京", "ＦＯＲＭＵＬＥ", "œuvre",
+                    "Straße", "ﬁnale"};
+            default -> throw new IllegalArgumentException("Unknown input: " + input);
+        };
+    }
+
+    @Benchmark
+    public int fold() {
+        return AnswerNormalizer.fold(guesses[next++ & 7], folded);
+    }
+
+    @Benchmark
+    public int upperCaseLegacy() {
+        String guess = guesses[next++ & 7];
+        for (int i = 0; i < guess.length(); i++) {
+            upperCased[i] = Character.toUpperCase(guess.charAt(i));
+        }
+        return guess.length();
+    }
+
+    @Benchmark
+    public String normalizerPerGuess() {
+        String decomposed = Normalizer.normalize(guesses[next++ & 7], Normalizer.Form.NFKD);
+        return MARKS.matcher(decomposed).replaceAll("").replace("'", "").replace(' ', '*').toUpperCase();
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.io.DirectoryPuzzleRepository;
+import org.example.crossword.io.PackPuzzleRepository;
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzlePackWriter;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.io.PuzzleRepository;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.SyntheticPuzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Loading every puzzle of a 100k puzzle collection, as text (a directory of data files sharing
+// one grid.txt, the layout PuzzleGenerator writes) and as a pack holding the same puzzles. Each
+// call opens the repository again, so the pack is mapped afresh. The cold runs are the first call
+// of a fresh JVM, before any JIT compilation; the files are still in the page cache of the OS,
+// drop it between forks to include the disk. The warm runs follow a few warm-up calls.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PackBenchmark {
+    private static final int PUZZLES = 100_000;
+    private static final int VARIANTS = 1_000;     // distinct fills, the puzzles repeat them
+
+    private Path directory;
+    private Path packFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("puzzles");
+        packFile = Files.createTempFile("puzzles", ".pack");
+        Puzzle template = SyntheticPuzzle.of(15, 15, 1);
+        byte[] gridText = Fixtures.gridText(template);
+        Files.write(directory.resolve("grid.txt"), gridText);
+
+        PuzzleParser parser = new PuzzleParser();
+        ParseReport report = new ParseReport();
+        CrosswordGrid grid = parser.parseGrid(gridText, "grid", report);
+        byte[][] dataTexts = new byte[VARIANTS][];
+        for (int i = 0; i < VARIANTS; i++) {
+            dataTexts[i] = Fixtures.dataText(SyntheticPuzzle.of(15, 15, i + 1));
+        }
+        PuzzlePackWriter writer = new PuzzlePackWriter();
+        for (int i = 0; i < PUZZLES; i++) {
+            byte[] dataText = dataTexts[i % VARIANTS];
+            Files.write(directory.resolve("data" + (i + 1) + ".txt"), dataText);
+            writer.add(template.getTheme(), grid, parser.parseWords(dataText, "data", report));
+        }
+        writer.write(packFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+        Files.delete(packFile);
+    }
+
+    @Benchmark
+    @Fork(5)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void coldText(Blackhole blackhole) throws IOException {
+        loadAll(DirectoryPuzzleRepository.open(directory), blackhole);
+    }
+
+    @Benchmark
+    @Fork(5)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void coldPack(Blackhole blackhole) throws IOException {
+        loadAll(PackPuzzleRepository.open(packFile), blackhole);
+    }
+
+    @Benchmark
+    @Fork(1)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public void warmText(Blackhole blackhole) throws IOException {
+        loadAll(DirectoryPuzzleRepository.open(directory), blackhole);
+    }
+
+    @Benchmark
+    @Fork(1)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public void warmPack(Blackhole blackhole) throws IOException {
+        loadAll(PackPuzzleRepository.open(packFile), blackhole);
+    }
+
+    private static void loadAll(PuzzleRepository repository, Blackhole blackhole) throws IOException {
+        try (repository) {
+            for (String id : repository.ids()) {
+                blackhole.consume(repository.load(id));
+            }
+        }
+    }
+}
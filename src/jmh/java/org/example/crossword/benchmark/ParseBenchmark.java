@@ -0,0 +1,96 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzlePack;
+import org.example.crossword.io.PuzzlePackWriter;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.SyntheticPuzzle;
+import org.example.crossword.model.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Loading a puzzle of size x size cells: PuzzleParser on bytes and on files, the first
+// readLine/split loaders, and the same puzzle read from a binary pack. 255 is the largest
+// lattice a pack holds (word numbers up to 254).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"15", "101", "255"})
+    int size;
+
+    private final PuzzleParser parser = new PuzzleParser();
+    private byte[] gridBytes;
+    private byte[] dataBytes;
+    private Path gridFile;
+    private Path dataFile;
+    private Path packFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        Puzzle puzzle = SyntheticPuzzle.of(size, size, 1);
+        gridBytes = Fixtures.gridText(puzzle);
+        dataBytes = Fixtures.dataText(puzzle);
+        gridFile = Fixtures.tempFile("grid", gridBytes);
+        dataFile = Fixtures.tempFile("data", dataBytes);
+
+        PuzzlePackWriter writer = new PuzzlePackWriter();
+        writer.add(puzzle.getTheme(), puzzle.toGrid(), parser.parseWords(dataBytes, "data", new ParseReport()));
+        packFile = Files.createTempFile("puzzles", ".pack");
+        packFile.toFile().deleteOnExit();
+        writer.write(packFile);
+    }
+
+    @Benchmark
+    public CrosswordGrid parseGrid() {
+        return parser.parseGrid(gridBytes, "grid", new ParseReport());
+    }
+
+    @Benchmark
+    public List<Word> parseWords() {
+        return parser.parseWords(dataBytes, "data", new ParseReport());
+    }
+
+    // Both files read from disk, as the interface does
+    @Benchmark
+    public void loadText(Blackhole blackhole) throws IOException {
+        ParseReport report = new ParseReport();
+        blackhole.consume(parser.parseGrid(gridFile, report));
+        blackhole.consume(parser.parseWords(dataFile, report));
+    }
+
+    @Benchmark
+    public void loadTextLegacy(Blackhole blackhole) throws IOException {
+        blackhole.consume(LegacyLoader.loadGrid(gridFile));
+        blackhole.consume(LegacyLoader.loadWords(dataFile));
+    }
+
+    // Opening the pack and building the same model as loadText
+    @Benchmark
+    public void loadPack(Blackhole blackhole) throws IOException {
+        PuzzlePack.PackedPuzzle puzzle = PuzzlePack.open(packFile).get(0);
+        blackhole.consume(puzzle.toGrid());
+        blackhole.consume(puzzle.toWords());
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Word;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// PuzzleParser against the first loaders on files of lines lines: a grid of lines rows of COLS
+// cells and a word list of lines H/V lines. Unlike ParseBenchmark the files are not puzzles, only
+// their size matters: a numbered cell starts every row, the clues and solutions are random.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseLinesBenchmark {
+    private static final int COLS = 4;
+    private static final String LETTERS = "EEEEEEAAAAISSSNNRRTTOOLLUUDCMPGBVHFQJXYZKW";
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int lines;
+
+    private final PuzzleParser parser = new PuzzleParser();
+    private Path gridFile;
+    private Path dataFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(1);
+        StringBuilder grid = new StringBuilder("# Lines Theme\n").append(lines).append(',').append(COLS).append('\n');
+        for (int row = 0; row < lines; row++) {
+            grid.append(row % Short.MAX_VALUE + 1);
+            for (int col = 1; col < COLS; col++) {
+                grid.append(',').append(random.nextBoolean() ? "0" : "-1");
+            }
+            grid.append('\n');
+        }
+        gridFile = Fixtures.tempFile("grid", grid.toString().getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder data = new StringBuilder("# Lines Theme\n");
+        for (int line = 0; line < lines; line++) {
+            data.append(random.nextBoolean() ? 'H' : 'V').append(";\"Clue number ").append(line).append("\";");
+            for (int i = random.nextInt(3, 12); i > 0; i--) {
+                data.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            data.append('\n');
+        }
+        dataFile = Fixtures.tempFile("data", data.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public CrosswordGrid parseGrid() throws IOException {
+        return parser.parseGrid(gridFile, new ParseReport());
+    }
+
+    @Benchmark
+    public List<LegacyLoader.LegacyCase> parseGridLegacy() throws IOException {
+        return LegacyLoader.loadGrid(gridFile);
+    }
+
+    @Benchmark
+    public List<Word> parseWords() throws IOException {
+        return parser.parseWords(dataFile, new ParseReport());
+    }
+
+    @Benchmark
+    public List<Word> parseWordsLegacy() throws IOException {
+        return LegacyLoader.loadWords(dataFile);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.io.DirectoryPuzzleRepository;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.SyntheticPuzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// A directory of count 15x15 puzzles sharing one grid.txt: opening it, the titles of a dropdown
+// page, one load, and the time a change to a file takes to reach the listeners once watched.
+// The memory kept by an open repository shows with -prof gc on open.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+    private static final int PAGE = 20;         // rows of the theme dropdown on screen
+
+    @Param({"100", "10000"})
+    int count;
+
+    private Path directory;
+    private DirectoryPuzzleRepository repository;
+    private String loadedId;
+    private Path changedFile;
+    private volatile CountDownLatch reloaded;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("puzzles");
+        Files.write(directory.resolve("grid.txt"), Fixtures.gridText(SyntheticPuzzle.of(15, 15, 1)));
+        for (int i = 1; i <= count; i++) {
+            Puzzle puzzle = SyntheticPuzzle.of(15, 15, i);
+            Files.write(directory.resolve("data" + i + ".txt"), Fixtures.dataText(puzzle));
+        }
+        repository = DirectoryPuzzleRepository.open(directory);
+        loadedId = repository.ids().get(count / 2);
+        String changedId = repository.ids().get(count / 2 + 1);
+        changedFile = directory.resolve(changedId + ".txt");
+        repository.addListener(changed -> {
+            CountDownLatch latch = reloaded;
+            if (latch != null && changed.contains(changedId)) {
+                latch.countDown();
+            }
+        });
+        repository.watch();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        repository.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    // Only lists the directory
+    @Benchmark
+    public List<String> open() throws IOException {
+        try (DirectoryPuzzleRepository opened = DirectoryPuzzleRepository.open(directory)) {
+            return opened.ids();
+        }
+    }
+
+    // The titles are read on demand, so a fresh repository reads the first page of them
+    @Benchmark
+    public void openAndTitles(Blackhole blackhole) throws IOException {
+        try (DirectoryPuzzleRepository opened = DirectoryPuzzleRepository.open(directory)) {
+            for (String id : opened.ids().subList(0, Math.min(PAGE, count))) {
+                blackhole.consume(opened.title(id));
+            }
+        }
+    }
+
+    @Benchmark
+    public Puzzle load() throws IOException {
+        return repository.load(loadedId);
+    }
+
+    // From the write of a data file to its listeners, settling delay included
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public boolean reload() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        reloaded = latch;
+        Files.writeString(changedFile, "# Changed Theme\n", StandardOpenOption.APPEND);
+        return latch.await(10, TimeUnit.SECONDS);
+    }
+}
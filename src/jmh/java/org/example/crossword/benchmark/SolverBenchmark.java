@@ -0,0 +1,60 @@
+package org.example.crossword.benchmark;
+
+import org.example.crossword.model.PatternDictionary;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.SyntheticPuzzle;
+import org.example.crossword.solver.CrosswordSolver;
+import org.example.crossword.solver.SlotLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Filling the layout of a size x size synthetic puzzle from the solutions of the puzzle, so a fill
+// always exists, plus random words that cross them. The letters of the lattice are random too, so
+// with much more than a few thousand extra words the search backtracks for minutes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+    private static final int EXTRA_WORDS = 5_000;
+
+    @Param({"15", "25", "41"})
+    int size;
+
+    private PatternDictionary words;
+    private SlotLayout layout;
+
+    @Setup
+    public void setUp() {
+        Puzzle puzzle = SyntheticPuzzle.of(size, size, 1);
+        List<String> list = Fixtures.randomWords(EXTRA_WORDS, 3, size - 1, 1);
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            list.add(puzzle.getSolution(n));
+        }
+        words = new PatternDictionary(list);
+        layout = SlotLayout.fromPuzzle(puzzle);
+    }
+
+    @Benchmark
+    public CrosswordSolver.Result solve() {
+        CrosswordSolver.Result result = new CrosswordSolver(words, layout).solve();
+        if (!result.isSolved()) {
+            throw new IllegalStateException("No fill found for a " + size + "x" + size + " lattice");
+        }
+        return result;
+    }
+}
@@ -1,12 +1,24 @@
 module org.example.crossword {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.httpserver;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
 
 
     opens org.example.crossword to javafx.fxml;
     exports org.example.crossword;
     exports org.example.crossword.model;
     opens org.example.crossword.model to javafx.fxml;
+    exports org.example.crossword.io;
+    exports org.example.crossword.engine;
+    exports org.example.crossword.server;
+    exports org.example.crossword.journal;
+    exports org.example.crossword.analytics;
+    exports org.example.crossword.http;
+    exports org.example.crossword.solver;
+    exports org.example.crossword.metrics;
     exports org.example.crossword.controller;
     opens org.example.crossword.controller to javafx.fxml;
 }
\ No newline at end of file
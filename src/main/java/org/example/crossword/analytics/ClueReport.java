@@ -0,0 +1,314 @@
+package org.example.crossword.analytics;
+
+import org.example.crossword.io.DirectoryPuzzleRepository;
+import org.example.crossword.io.PuzzleRepository;
+import org.example.crossword.model.Puzzle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.zip.Inflater;
+
+// Finds the clues that are too hard from an EventLog: for each clue the share of the sessions that
+// selected it and solved it, solved it without help or needed a hint, the wrong guesses and the
+// time to solve it. The partitions of the log are scanned in parallel, each one chunk after chunk
+// in the order the events happened, with the state of the open sessions in a primitive hash table;
+// the counts of the partitions are then added up. A report ranks the clues of each theme from the
+// hardest (fewest sessions solving it without help) to the easiest.
+public final class ClueReport {
+    private static final byte SELECTED = (byte) EventType.SELECTED.ordinal();
+    private static final byte WRONG = (byte) EventType.WRONG.ordinal();
+    private static final byte SOLVED = (byte) EventType.SOLVED.ordinal();
+    private static final byte LETTERS = (byte) EventType.LETTERS.ordinal();
+    private static final byte SOLUTION = (byte) EventType.SOLUTION.ordinal();
+    private static final byte ENDED = (byte) EventType.ENDED.ordinal();
+
+    private final Map<String, ClueStats[]> clues = new HashMap<>();     // by puzzle id, word n at n - 1
+    private long events;
+
+    // A ranked line of a report
+    private record Row(String puzzle, int wordNumber, String clue, ClueStats stats) {
+    }
+
+    private ClueReport() {
+    }
+
+    public static ClueReport scan(Path eventDir) throws IOException {
+        Map<Integer, TreeMap<Long, Path>> partitions = new HashMap<>();
+        for (Path file : EventLog.chunkFiles(eventDir)) {
+            Matcher matcher = EventLog.CHUNK.matcher(file.getFileName().toString());
+            if (matcher.matches()) {
+                partitions.computeIfAbsent(Integer.parseInt(matcher.group(1)), partition -> new TreeMap<>())
+                        .put(Long.parseLong(matcher.group(2)), file);
+            }
+        }
+        try {
+            return partitions.values().parallelStream()
+                    .map(chunks -> scanPartition(chunks.values()))
+                    .reduce(ClueReport::merge)
+                    .orElseGet(ClueReport::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static ClueReport scanPartition(Iterable<Path> chunks) {
+        ClueReport report = new ClueReport();
+        OpenSessions open = new OpenSessions();
+        EventChunk chunk = new EventChunk(EventLog.CHUNK_EVENTS);
+        Inflater inflater = new Inflater();
+        try {
+            for (Path file : chunks) {
+                chunk.read(file, inflater);
+                report.add(chunk, open);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inflater.end();
+        }
+        return report;
+    }
+
+    private void add(EventChunk chunk, OpenSessions open) throws IOException {
+        ClueStats[][] puzzles = new ClueStats[chunk.puzzleIds.size()][];
+        for (int i = 0; i < chunk.size; i++) {
+            byte type = chunk.types[i];
+            long sessionId = chunk.sessions[i];
+            if (type == ENDED) {
+                open.remove(sessionId);
+                continue;
+            }
+            int puzzle = chunk.puzzles[i];
+            int word = chunk.words[i];
+            if (puzzle >= puzzles.length || word <= 0) {
+                throw new IOException("Invalid event " + i + ": puzzle " + puzzle + ", word " + word);
+            }
+            ClueStats[] puzzleClues = puzzles[puzzle];
+            if (puzzleClues == null || word > puzzleClues.length) {
+                puzzleClues = puzzles[puzzle] = cluesOf(chunk.puzzleIds.get(puzzle), word);
+            }
+            ClueStats clue = puzzleClues[word - 1];
+            long[] words = open.words(sessionId, word);
+            // the time of the first selection, shifted left, with the low bit set once a hint was shown
+            long state = words[word];
+            long time = chunk.times[i];
+            if (type == SELECTED) {
+                if (state >>> 1 == 0) {
+                    words[word] = time << 1 | (state & 1);
+                    clue.started++;
+                }
+            } else if (type == WRONG) {
+                clue.wrong++;
+            } else if (type == SOLVED) {
+                clue.solved++;
+                clue.attempts += chunk.attempts[i];
+                if ((state & 1) == 0) {
+                    clue.unaided++;
+                }
+                if (state >>> 1 != 0 && time >= state >>> 1) {
+                    clue.solveMillis += time - (state >>> 1);
+                    clue.timed++;
+                }
+            } else if (type == LETTERS || type == SOLUTION) {
+                if (type == LETTERS) {
+                    clue.letters++;
+                } else {
+                    clue.solutions++;
+                }
+                if ((state & 1) == 0) {
+                    words[word] = state | 1;
+                    clue.hinted++;
+                }
+            }
+        }
+        events += chunk.size;
+    }
+
+    // The clues of a puzzle, grown to hold the word
+    private ClueStats[] cluesOf(String puzzleId, int wordNumber) {
+        ClueStats[] puzzleClues = clues.get(puzzleId);
+        if (puzzleClues == null || wordNumber > puzzleClues.length) {
+            int from = puzzleClues == null ? 0 : puzzleClues.length;
+            puzzleClues = puzzleClues == null ? new ClueStats[wordNumber] : Arrays.copyOf(puzzleClues, wordNumber);
+            for (int i = from; i < wordNumber; i++) {
+                puzzleClues[i] = new ClueStats();
+            }
+            clues.put(puzzleId, puzzleClues);
+        }
+        return puzzleClues;
+    }
+
+    private static ClueReport merge(ClueReport left, ClueReport right) {
+        right.clues.forEach((puzzleId, puzzleClues) -> {
+            ClueStats[] sum = left.cluesOf(puzzleId, puzzleClues.length);
+            for (int i = 0; i < puzzleClues.length; i++) {
+                sum[i].add(puzzleClues[i]);
+            }
+        });
+        left.events += right.events;
+        return left;
+    }
+
+    public long getEventCount() {
+        return events;
+    }
+
+    // Writes <theme>.tsv in outDir for each theme, the clues ranked from the hardest. Puzzles are
+    // looked up in the repository by id, then by title (the id of the HTTP server); the others are
+    // reported under the Unknown theme without their clue.
+    public List<Path> write(PuzzleRepository repository, Path outDir) throws IOException {
+        Map<String, String> idOfTitle = new HashMap<>();
+        for (String id : repository.ids()) {
+            idOfTitle.put(repository.title(id), id);
+        }
+        Map<String, List<Row>> themes = new TreeMap<>();
+        for (Map.Entry<String, ClueStats[]> entry : clues.entrySet()) {
+            String id = repository.contains(entry.getKey()) ? entry.getKey() : idOfTitle.get(entry.getKey());
+            Puzzle puzzle = null;
+            if (id != null) {
+                try {
+                    puzzle = repository.load(id);
+                } catch (IOException e) {
+                    System.err.println("No clues for puzzle " + id + ": " + e.getMessage());
+                }
+            }
+            String theme = id == null ? "Unknown" : repository.theme(id);
+            String title = id == null ? entry.getKey() : repository.title(id);
+            ClueStats[] puzzleClues = entry.getValue();
+            for (int n = 1; n <= puzzleClues.length; n++) {
+                if (puzzleClues[n - 1].started > 0) {
+                    String clue = puzzle != null && puzzle.hasWord(n) ? puzzle.getClue(n) : "";
+                    themes.computeIfAbsent(theme, key -> new ArrayList<>()).add(new Row(title, n, clue, puzzleClues[n - 1]));
+                }
+            }
+        }
+
+        Files.createDirectories(outDir);
+        List<Path> files = new ArrayList<>();
+        Comparator<Row> hardestFirst = Comparator.<Row>comparingDouble(row -> row.stats().unaidedRate())
+                .thenComparing(row -> row.stats().hintRate(), Comparator.reverseOrder())
+                .thenComparing(row -> row.stats().wrongPerStart(), Comparator.reverseOrder());
+        for (Map.Entry<String, List<Row>> theme : themes.entrySet()) {
+            List<Row> rows = theme.getValue();
+            rows.sort(hardestFirst);
+            Path file = outDir.resolve(theme.getKey().replaceAll("[^\\p{L}\\p{N}_-]", "_") + ".tsv");
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                out.write("rank\tpuzzle\tword\tclue\tstarted\tsolve_rate\tunaided_rate\thint_rate"
+                        + "\twrong_per_start\tattempts_per_solve\tmean_solve_s\n");
+                for (int rank = 1; rank <= rows.size(); rank++) {
+                    Row row = rows.get(rank - 1);
+                    ClueStats stats = row.stats();
+                    out.write(String.format("%d\t%s\t%d\t%s\t%d\t%.3f\t%.3f\t%.3f\t%.2f\t%.2f\t%.1f%n", rank,
+                            row.puzzle(), row.wordNumber(), row.clue().replace('\t', ' '), stats.started,
+                            stats.solveRate(), stats.unaidedRate(), stats.hintRate(), stats.wrongPerStart(),
+                            stats.attemptsPerSolve(), stats.meanSolveSeconds()));
+                }
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    // The words started by each session not ended yet: open addressing with linear probing on the
+    // session id, the array of a session holds a long per word
+    private static final class OpenSessions {
+        private long[] keys = new long[1 << 12];
+        private long[][] values = new long[1 << 12][];
+        private int size;
+
+        long[] words(long sessionId, int wordNumber) {
+            int mask = keys.length - 1;
+            int slot = slotOf(sessionId, mask);
+            while (values[slot] != null && keys[slot] != sessionId) {
+                slot = (slot + 1) & mask;
+            }
+            long[] words = values[slot];
+            if (words == null) {
+                if (2 * (size + 1) > keys.length) {
+                    resize();
+                    return words(sessionId, wordNumber);
+                }
+                keys[slot] = sessionId;
+                words = values[slot] = new long[Math.max(wordNumber + 1, 32)];
+                size++;
+            } else if (wordNumber >= words.length) {
+                words = values[slot] = Arrays.copyOf(words, Math.max(wordNumber + 1, 2 * words.length));
+            }
+            return words;
+        }
+
+        void remove(long sessionId) {
+            int mask = keys.length - 1;
+            int slot = slotOf(sessionId, mask);
+            while (values[slot] != null && keys[slot] != sessionId) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == null) {
+                return;
+            }
+            size--;
+            // moves back the entries that probed past the freed slot
+            for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                int home = slotOf(keys[next], mask);
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    keys[slot] = keys[next];
+                    values[slot] = values[next];
+                    slot = next;
+                }
+            }
+            values[slot] = null;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[][] oldValues = values;
+            keys = new long[2 * oldKeys.length];
+            values = new long[2 * oldKeys.length][];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    int slot = slotOf(oldKeys[i], mask);
+                    while (values[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slotOf(long sessionId, int mask) {
+            long h = sessionId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    // Usage: ClueReport <eventDir> <puzzleDir> <outDir>
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: ClueReport <eventDir> <puzzleDir> <outDir>");
+            System.exit(2);
+        }
+        long begin = System.nanoTime();
+        ClueReport report = scan(Path.of(args[0]));
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("%d events scanned in %.2fs (%.1fM events/s)%n",
+                report.getEventCount(), seconds, report.getEventCount() / seconds / 1e6);
+        try (DirectoryPuzzleRepository repository = DirectoryPuzzleRepository.open(Path.of(args[1]))) {
+            for (Path file : report.write(repository, Path.of(args[2]))) {
+                System.out.println("Wrote " + file);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.crossword.analytics;
+
+// What the players did on one clue, summed over all sessions
+final class ClueStats {
+    long started;           // sessions that selected the word
+    long solved;            // sessions that solved it with a guess
+    long unaided;           // sessions that solved it before any hint
+    long hinted;            // sessions that were shown its letters or solution
+    long letters;           // letters hints shown
+    long solutions;         // solutions shown
+    long wrong;             // wrong guesses
+    long attempts;          // guesses it took the sessions that solved it
+    long solveMillis;       // time from the first selection to the solving guess
+    long timed;             // solves counted in solveMillis
+
+    void add(ClueStats other) {
+        started += other.started;
+        solved += other.solved;
+        unaided += other.unaided;
+        hinted += other.hinted;
+        letters += other.letters;
+        solutions += other.solutions;
+        wrong += other.wrong;
+        attempts += other.attempts;
+        solveMillis += other.solveMillis;
+        timed += other.timed;
+    }
+
+    double solveRate() {
+        return ratio(solved, started);
+    }
+
+    double unaidedRate() {
+        return ratio(unaided, started);
+    }
+
+    double hintRate() {
+        return ratio(hinted, started);
+    }
+
+    double wrongPerStart() {
+        return ratio(wrong, started);
+    }
+
+    double attemptsPerSolve() {
+        return ratio(attempts, solved);
+    }
+
+    double meanSolveSeconds() {
+        return ratio(solveMillis, timed) / 1000;
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0 : count / (double) total;
+    }
+}
@@ -0,0 +1,249 @@
+package org.example.crossword.analytics;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Events stored column by column: session, timestamp, puzzle, word, type and attempt. Sessions and
+// timestamps are stored as the zigzag varint of their difference with the previous row, the other
+// columns as varints or bytes, each column is then deflated on its own. Similar values sit next to
+// each other, so a chunk takes about 5 bytes per event. The puzzle ids are in a dictionary at the
+// start of the chunk, the puzzle column holds their index.
+// A chunk is reused for reading: its arrays only grow.
+final class EventChunk {
+    static final int MAGIC = 0x43574531;    // "CWE1"
+    private static final int COLUMNS = 6;
+
+    int size;
+    long[] sessions;
+    long[] times;           // epoch milliseconds
+    int[] puzzles;          // index in puzzleIds
+    int[] words;
+    byte[] types;           // EventType ordinals
+    int[] attempts;
+    final List<String> puzzleIds = new ArrayList<>();
+    private final Map<String, Integer> puzzleIndex = new HashMap<>();
+    private byte[] raw = new byte[1 << 16];     // one column before compression or after inflation
+    private int rawLength;
+    private int next;                           // position after the last varint read by varLongAt
+
+    EventChunk(int capacity) {
+        sessions = new long[capacity];
+        times = new long[capacity];
+        puzzles = new int[capacity];
+        words = new int[capacity];
+        types = new byte[capacity];
+        attempts = new int[capacity];
+    }
+
+    void add(long sessionId, String puzzleId, int wordNumber, EventType type, int attempt, long timeMillis) {
+        if (size == sessions.length) {
+            grow(2 * size);
+        }
+        Integer puzzle = puzzleIndex.get(puzzleId);
+        if (puzzle == null) {
+            puzzle = puzzleIds.size();
+            puzzleIds.add(puzzleId);
+            puzzleIndex.put(puzzleId, puzzle);
+        }
+        sessions[size] = sessionId;
+        times[size] = timeMillis;
+        puzzles[size] = puzzle;
+        words[size] = wordNumber;
+        types[size] = (byte) type.ordinal();
+        attempts[size] = attempt;
+        size++;
+    }
+
+    private void grow(int capacity) {
+        sessions = Arrays.copyOf(sessions, capacity);
+        times = Arrays.copyOf(times, capacity);
+        puzzles = Arrays.copyOf(puzzles, capacity);
+        words = Arrays.copyOf(words, capacity);
+        types = Arrays.copyOf(types, capacity);
+        attempts = Arrays.copyOf(attempts, capacity);
+    }
+
+    // Writes the chunk to a temporary file renamed at the end, a reader never sees half a chunk
+    void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(size);
+            out.writeInt(puzzleIds.size());
+            for (String puzzleId : puzzleIds) {
+                byte[] utf8 = puzzleId.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(utf8.length);
+                out.write(utf8);
+            }
+            byte[] compressed = new byte[1 << 16];
+            for (int column = 0; column < COLUMNS; column++) {
+                encode(column);
+                deflater.reset();
+                deflater.setInput(raw, 0, rawLength);
+                deflater.finish();
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == compressed.length) {
+                        compressed = Arrays.copyOf(compressed, 2 * length);
+                    }
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+                out.writeInt(rawLength);
+                out.writeInt(length);
+                out.write(compressed, 0, length);
+            }
+        } finally {
+            deflater.end();
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void encode(int column) {
+        rawLength = 0;
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            if (raw.length - rawLength < 10) {
+                raw = Arrays.copyOf(raw, 2 * raw.length);
+            }
+            switch (column) {
+                case 0 -> {
+                    putVarLong((sessions[i] - previous) << 1 ^ (sessions[i] - previous) >> 63);
+                    previous = sessions[i];
+                }
+                case 1 -> {
+                    putVarLong((times[i] - previous) << 1 ^ (times[i] - previous) >> 63);
+                    previous = times[i];
+                }
+                case 2 -> putVarLong(puzzles[i]);
+                case 3 -> putVarLong(words[i]);
+                case 4 -> raw[rawLength++] = types[i];
+                default -> putVarLong(attempts[i]);
+            }
+        }
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            raw[rawLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        raw[rawLength++] = (byte) value;
+    }
+
+    // Replaces the content of this chunk by the one of the file
+    void read(Path file, Inflater inflater) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (bytes.length < 12 || in.getInt() != MAGIC) {
+            throw new IOException("Not an event chunk: " + file);
+        }
+        size = in.getInt();
+        if (size > sessions.length) {
+            grow(size);
+        }
+        puzzleIds.clear();
+        puzzleIndex.clear();
+        for (int i = in.getInt(); i > 0; i--) {
+            int length = in.getShort() & 0xFFFF;
+            puzzleIds.add(new String(bytes, in.position(), length, StandardCharsets.UTF_8));
+            in.position(in.position() + length);
+        }
+        for (int column = 0; column < COLUMNS; column++) {
+            rawLength = in.getInt();
+            int compressed = in.getInt();
+            if (raw.length < rawLength) {
+                raw = new byte[rawLength];
+            }
+            inflater.reset();
+            inflater.setInput(bytes, in.position(), compressed);
+            try {
+                if (inflater.inflate(raw, 0, rawLength) != rawLength || !inflater.finished()) {
+                    throw new IOException("Truncated column " + column + " in " + file);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt column " + column + " in " + file, e);
+            }
+            in.position(in.position() + compressed);
+            decode(column);
+        }
+    }
+
+    private void decode(int column) throws IOException {
+        switch (column) {
+            case 0 -> decodeDeltas(sessions);
+            case 1 -> decodeDeltas(times);
+            case 2 -> decodeInts(puzzles);
+            case 3 -> decodeInts(words);
+            case 4 -> {
+                if (rawLength != size) {
+                    throw new IOException("Type column of " + rawLength + " bytes for " + size + " events");
+                }
+                System.arraycopy(raw, 0, types, 0, size);
+            }
+            default -> decodeInts(attempts);
+        }
+    }
+
+    // One loop per column type, most values fit in one byte
+    private void decodeDeltas(long[] column) throws IOException {
+        long previous = 0;
+        for (int i = 0, at = 0; i < size; i++) {
+            long value;
+            if (at < rawLength && raw[at] >= 0) {
+                value = raw[at++];
+            } else {
+                value = varLongAt(at);
+                at = next;
+            }
+            column[i] = previous += (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private void decodeInts(int[] column) throws IOException {
+        for (int i = 0, at = 0; i < size; i++) {
+            if (at < rawLength && raw[at] >= 0) {
+                column[i] = raw[at++];
+            } else {
+                column[i] = (int) varLongAt(at);
+                at = next;
+            }
+        }
+    }
+
+    private long varLongAt(int at) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (at == rawLength) {
+                throw new IOException("Column of " + rawLength + " bytes ends before its " + size + " events");
+            }
+            byte b = raw[at++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                next = at;
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in an event column");
+    }
+
+    void clear() {
+        size = 0;
+        puzzleIds.clear();
+        puzzleIndex.clear();
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.crossword.analytics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Gameplay events written to columnar chunk files (see EventChunk) for ClueReport. The sessions are
+// split in a fixed number of partitions by their id: the events of a session all go to the chunks of
+// one partition, in order, so each partition can be scanned on its own. A partition fills a chunk
+// in memory and hands it to a background thread to compress and write, the caller writes it itself
+// when a few chunks are already waiting. Files are named events-<partition>-<seq>.chunk, seq
+// numbering the chunks in the order they were filled.
+// Recording is thread-safe and costs an array store under the partition lock. Events not written
+// yet are lost if the process dies; close writes them.
+public final class EventLog implements Closeable {
+    static final int PARTITIONS = 16;           // fixed: the sessions of earlier runs keep their partition
+    static final int CHUNK_EVENTS = 1 << 16;
+    static final Pattern CHUNK = Pattern.compile("events-(\\d+)-(\\d+)\\.chunk");
+
+    private final Path dir;
+    private final Partition[] partitions = new Partition[PARTITIONS];
+    private final AtomicLong nextSeq;
+    private final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(4), task -> {
+        Thread thread = new Thread(task, "event-writer");
+        thread.setDaemon(true);
+        return thread;
+    }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private static final class Partition {
+        final ReentrantLock lock = new ReentrantLock();
+        EventChunk chunk = new EventChunk(1 << 10);
+    }
+
+    private EventLog(Path dir, long nextSeq) {
+        this.dir = dir;
+        this.nextSeq = new AtomicLong(nextSeq);
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions[i] = new Partition();
+        }
+    }
+
+    // Opens the event log of a directory, created if needed; new chunks follow the ones already there
+    public static EventLog open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        long lastSeq = -1;
+        for (Path file : chunkFiles(dir)) {
+            Matcher matcher = CHUNK.matcher(file.getFileName().toString());
+            if (matcher.matches()) {
+                lastSeq = Math.max(lastSeq, Long.parseLong(matcher.group(2)));
+            }
+        }
+        return new EventLog(dir, lastSeq + 1);
+    }
+
+    static List<Path> chunkFiles(Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(dir)) {
+            list.filter(file -> CHUNK.matcher(file.getFileName().toString()).matches()).forEach(files::add);
+        }
+        return files;
+    }
+
+    public void record(long sessionId, String puzzleId, int wordNumber, EventType type, int attempt) {
+        record(sessionId, puzzleId, wordNumber, type, attempt, System.currentTimeMillis());
+    }
+
+    public void record(long sessionId, String puzzleId, int wordNumber, EventType type, int attempt, long timeMillis) {
+        long h = sessionId * 0x9E3779B97F4A7C15L;
+        int index = (int) ((h ^ (h >>> 32)) & (PARTITIONS - 1));
+        Partition partition = partitions[index];
+        EventChunk full = null;
+        long seq = 0;
+        partition.lock.lock();
+        try {
+            partition.chunk.add(sessionId, puzzleId, wordNumber, type, attempt, timeMillis);
+            if (partition.chunk.size == CHUNK_EVENTS) {
+                full = partition.chunk;
+                seq = nextSeq.getAndIncrement();
+                partition.chunk = new EventChunk(CHUNK_EVENTS);
+            }
+        } finally {
+            partition.lock.unlock();
+        }
+        if (full != null) {
+            submit(full, index, seq);
+        }
+    }
+
+    private void submit(EventChunk chunk, int partition, long seq) {
+        Path file = dir.resolve("events-" + partition + "-" + seq + ".chunk");
+        writer.execute(() -> {
+            try {
+                chunk.write(file);
+            } catch (IOException e) {
+                System.err.println("Dropping " + chunk.size + " events, cannot write " + file + ": " + e.getMessage());
+            }
+        });
+    }
+
+    // Writes the chunks being filled and waits for all chunks to be on disk
+    @Override
+    public void close() throws IOException {
+        for (int i = 0; i < PARTITIONS; i++) {
+            Partition partition = partitions[i];
+            partition.lock.lock();
+            try {
+                if (partition.chunk.size > 0) {
+                    submit(partition.chunk, i, nextSeq.getAndIncrement());
+                    partition.chunk = new EventChunk(1 << 10);
+                }
+            } finally {
+                partition.lock.unlock();
+            }
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                throw new IOException("Timed out writing the event chunks of " + dir);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the event chunks of " + dir, e);
+        }
+    }
+}
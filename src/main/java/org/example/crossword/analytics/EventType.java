@@ -0,0 +1,11 @@
+package org.example.crossword.analytics;
+
+// What a player did on a word, the ordinal is the code stored in the event chunks
+public enum EventType {
+    SELECTED,       // the word was selected
+    WRONG,          // a guess was checked and found wrong
+    SOLVED,         // a guess solved the word
+    LETTERS,        // the scrambled letters were shown
+    SOLUTION,       // the solution was shown
+    ENDED           // the session ended, its word is 0
+}
@@ -0,0 +1,120 @@
+package org.example.crossword.analytics;
+
+import org.example.crossword.io.DirectoryPuzzleRepository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Writes an event log of simulated players to measure ClueReport. Each clue of the puzzles gets a
+// random difficulty: the harder it is, the more wrong guesses and hints it takes. Many sessions are
+// played at once, their events interleave as on a server, and most of them end after a while.
+// Usage: SyntheticEventLog <eventDir> <events> [puzzleDir]
+public class SyntheticEventLog {
+    private static final int OPEN_SESSIONS = 10_000;
+
+    // A simulated player, going through the words of a puzzle in random order
+    private static final class Player {
+        long sessionId;
+        int puzzle;
+        int[] order;            // word numbers left to play, from next
+        int next;
+        int attempts;           // guesses on the current word
+        boolean selected;       // the current word is selected
+        boolean hinted;         // letters were shown for the current word
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticEventLog <eventDir> <events> [puzzleDir]");
+            System.exit(2);
+        }
+        long eventCount = Long.parseLong(args[1]);
+        List<String> puzzleIds = new ArrayList<>();
+        List<double[]> difficulties = new ArrayList<>();    // by puzzle, word n at n
+        SplittableRandom random = new SplittableRandom(42);
+        try (DirectoryPuzzleRepository repository = DirectoryPuzzleRepository.open(Path.of(args.length > 2 ? args[2] : "src"))) {
+            for (String id : repository.ids()) {
+                int words = repository.load(id).getWordCount();
+                double[] difficulty = new double[words + 1];
+                for (int n = 1; n <= words; n++) {
+                    difficulty[n] = Math.pow(random.nextDouble(), 2);   // most clues are easy
+                }
+                puzzleIds.add(id);
+                difficulties.add(difficulty);
+            }
+        }
+        if (puzzleIds.isEmpty()) {
+            System.err.println("No puzzle to play");
+            System.exit(1);
+        }
+
+        long begin = System.nanoTime();
+        long time = System.currentTimeMillis();
+        long nextSessionId = 1;
+        Player[] players = new Player[OPEN_SESSIONS];
+        try (EventLog log = EventLog.open(Path.of(args[0]))) {
+            long written = 0;
+            while (written < eventCount) {
+                int index = random.nextInt(players.length);
+                Player player = players[index];
+                if (player == null || player.next == player.order.length) {
+                    if (player != null) {
+                        log.record(player.sessionId, puzzleIds.get(player.puzzle), 0, EventType.ENDED, 0, time);
+                        written++;
+                    }
+                    player = players[index] = newPlayer(nextSessionId++, random, puzzleIds.size(), difficulties);
+                }
+                time += random.nextInt(20);
+                String puzzleId = puzzleIds.get(player.puzzle);
+                int word = player.order[player.next];
+                double difficulty = difficulties.get(player.puzzle)[word];
+                if (!player.selected) {
+                    log.record(player.sessionId, puzzleId, word, EventType.SELECTED, 0, time);
+                    player.selected = true;
+                } else if (random.nextDouble() < 0.002) {
+                    // gives up and leaves the game
+                    player.next = player.order.length;
+                    continue;
+                } else if (!player.hinted && player.attempts >= 2 && random.nextDouble() < difficulty) {
+                    log.record(player.sessionId, puzzleId, word, EventType.LETTERS, player.attempts, time);
+                    player.hinted = true;
+                } else if (player.attempts >= 5 && random.nextDouble() < difficulty) {
+                    log.record(player.sessionId, puzzleId, word, EventType.SOLUTION, player.attempts, time);
+                    player.attempts = 0;
+                    player.selected = false;
+                    player.hinted = false;
+                    player.next++;
+                } else if (random.nextDouble() < (player.hinted ? 0.8 : 1 - difficulty)) {
+                    log.record(player.sessionId, puzzleId, word, EventType.SOLVED, ++player.attempts, time);
+                    player.attempts = 0;
+                    player.selected = false;
+                    player.hinted = false;
+                    player.next++;
+                } else {
+                    log.record(player.sessionId, puzzleId, word, EventType.WRONG, ++player.attempts, time);
+                }
+                written++;
+            }
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("%d events of %d sessions written in %.1fs (%.1fM events/s)%n",
+                eventCount, nextSessionId - 1, seconds, eventCount / seconds / 1e6);
+    }
+
+    private static Player newPlayer(long sessionId, SplittableRandom random, int puzzles, List<double[]> difficulties) {
+        Player player = new Player();
+        player.sessionId = sessionId;
+        player.puzzle = random.nextInt(puzzles);
+        int words = difficulties.get(player.puzzle).length - 1;
+        player.order = new int[words];
+        for (int n = 1; n <= words; n++) {
+            int at = random.nextInt(n);
+            player.order[n - 1] = player.order[at];
+            player.order[at] = n;
+        }
+        return player;
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.crossword.controller;
+
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.layout.GridPane;
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.model.Puzzle;
+
+import java.util.Arrays;
+
+// One Button per cell in a GridPane. Cells are styled by the theme stylesheet: a style class
+// per kind of cell and a pseudo-class for the selection and the state of solved words.
+class ButtonGridView implements GridView {
+    private final GridPane pane = new GridPane();
+    private GameSession session;
+    private Button[] cellButtons = new Button[0];
+    private CellState[] wordStates = new CellState[0];     // state each word was last shown with
+    private Button selectedButton;
+
+    ButtonGridView() {
+        pane.setHgap(GAP);
+        pane.setVgap(GAP);
+    }
+
+    @Override
+    public Node getNode() {
+        return pane;
+    }
+
+    @Override
+    public void show(GameSession session, ThemeColors colors, WordClickHandler onWordClicked) {
+        clear();
+        this.session = session;
+        Puzzle puzzle = session.getPuzzle();
+        cellButtons = new Button[puzzle.getRows() * puzzle.getCols()];
+        wordStates = new CellState[puzzle.getWordCount() + 1];
+        Arrays.fill(wordStates, CellState.OPEN);
+
+        for (int row = 0; row < puzzle.getRows(); row++) {
+            for (int col = 0; col < puzzle.getCols(); col++) {
+                int value = puzzle.getCellValue(row, col);
+                Button cellButton = new Button();
+                cellButton.getStyleClass().add("cell");
+                cellButtons[row * puzzle.getCols() + col] = cellButton;
+
+                if (value < 0) {
+                    cellButton.getStyleClass().add("block-cell");
+                } else if (value > 0) {
+                    cellButton.getStyleClass().add("number-cell");
+                    cellButton.setText(String.valueOf(value));
+                    if (puzzle.hasWord(value)) {
+                        cellButton.setOnMouseClicked(event -> onWordClicked.clicked(value, event.getClickCount()));
+                    }
+                } else {
+                    cellButton.getStyleClass().add("letter-cell");
+                    char displayed = session.getCellDisplay(row * puzzle.getCols() + col);
+                    cellButton.setText(displayed == ' ' ? "" : String.valueOf(displayed));
+                }
+                pane.add(cellButton, col, row);
+            }
+        }
+        refreshWordStates();
+    }
+
+    @Override
+    public void clear() {
+        pane.getChildren().clear();
+        cellButtons = new Button[0];
+        selectedButton = null;
+    }
+
+    @Override
+    public void setSelectedWord(int wordNumber) {
+        if (selectedButton != null) {
+            selectedButton.pseudoClassStateChanged(CellState.SELECTED, false);
+            selectedButton = null;
+        }
+        if (wordNumber > 0) {
+            int start = startIndex(wordNumber);
+            if (start >= 0) {
+                selectedButton = cellButtons[start];
+                selectedButton.pseudoClassStateChanged(CellState.SELECTED, true);
+            }
+        }
+    }
+
+    // Index of the numbered cell of a word, -1 if the grid has none
+    private int startIndex(int wordNumber) {
+        Puzzle puzzle = session.getPuzzle();
+        for (int index = 0; index < cellButtons.length; index++) {
+            if (puzzle.getCellValue(index / puzzle.getCols(), index % puzzle.getCols()) == wordNumber) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void refreshWordStates() {
+        Puzzle puzzle = session.getPuzzle();
+        // crossing words completed by a guess are solved at the same time, a hint can change the state of a word
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            CellState state = CellState.ofWord(session, n);
+            if (state != wordStates[n]) {
+                wordStates[n] = state;
+                for (int i = 0; i < puzzle.getCellCount(n); i++) {
+                    int index = puzzle.getCell(n, i);
+                    CellState cellState = CellState.ofCell(session, index);
+                    for (CellState s : CellState.VALUES) {
+                        if (s.pseudoClass != null) {
+                            cellButtons[index].pseudoClassStateChanged(s.pseudoClass, s == cellState);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void renderDirtyCells() {
+        for (int slot = session.nextDirtySlot(0); slot >= 0; slot = session.nextDirtySlot(slot + 1)) {
+            if (slot < cellButtons.length) {
+                char displayed = session.getCellDisplay(slot);
+                cellButtons[slot].setText(displayed == ' ' ? "" : String.valueOf(displayed));
+            }
+        }
+        session.clearDirty();
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.crossword.controller;
+
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.model.Puzzle;
+
+import java.util.Arrays;
+
+// Whole grid painted on a single Canvas: one node whatever the grid size, so there is no CSS
+// nor layout pass per cell. Clicks are mapped to a cell with row/col arithmetic and only the
+// cells that changed are repainted, each one in its own rectangle.
+class CanvasGridView implements GridView {
+    private static final double PITCH = CELL_SIZE + GAP;
+    private static final double ARC = 10;
+    private static final Color BLOCK = Color.web("#e0e0e0");
+    private static final Color LETTER = Color.web("#f4f4f4");
+    private static final Color BORDER = Color.web("#b5b5b5");
+    private static final Color TEXT = Color.web("#333333");
+    private static final Font FONT = Font.font("Arial", FontWeight.BOLD, 14);
+
+    private final Canvas canvas = new Canvas();
+    private GameSession session;
+    private Puzzle puzzle;
+    private WordClickHandler onWordClicked;
+    private Color cellBg;
+    private Color highlight;
+    private Color lettersBg;
+    private Color revealedBg;
+    private CellState[] wordStates = new CellState[0];     // state each word was last painted with
+    private int selectedCell = -1;
+
+    CanvasGridView() {
+        canvas.addEventHandler(MouseEvent.MOUSE_CLICKED, this::handleClick);
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    @Override
+    public void show(GameSession session, ThemeColors colors, WordClickHandler onWordClicked) {
+        this.session = session;
+        this.puzzle = session.getPuzzle();
+        this.onWordClicked = onWordClicked;
+        this.cellBg = Color.web(colors.cellBg);
+        this.highlight = Color.web(colors.highlight);
+        this.lettersBg = Color.web(colors.lettersBg);
+        this.revealedBg = Color.web(colors.revealedBg);
+        this.wordStates = new CellState[puzzle.getWordCount() + 1];
+        Arrays.fill(wordStates, CellState.OPEN);
+        this.selectedCell = -1;
+
+        canvas.setWidth(puzzle.getCols() * PITCH - GAP);
+        canvas.setHeight(puzzle.getRows() * PITCH - GAP);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        gc.setFont(FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int index = 0; index < puzzle.getRows() * puzzle.getCols(); index++) {
+            paintCell(gc, index);
+        }
+    }
+
+    @Override
+    public void clear() {
+        canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        session = null;
+        puzzle = null;
+        selectedCell = -1;
+    }
+
+    private void handleClick(MouseEvent event) {
+        if (puzzle == null || event.getX() < 0 || event.getY() < 0) {
+            return;
+        }
+        int col = (int) (event.getX() / PITCH);
+        int row = (int) (event.getY() / PITCH);
+        // clicks in the gaps between cells are ignored
+        if (row >= puzzle.getRows() || col >= puzzle.getCols()
+                || event.getX() - col * PITCH >= CELL_SIZE || event.getY() - row * PITCH >= CELL_SIZE) {
+            return;
+        }
+        int value = puzzle.getCellValue(row, col);
+        if (value > 0 && puzzle.hasWord(value)) {
+            onWordClicked.clicked(value, event.getClickCount());
+        }
+    }
+
+    @Override
+    public void setSelectedWord(int wordNumber) {
+        int previous = selectedCell;
+        selectedCell = -1;
+        if (wordNumber > 0) {
+            for (int index = 0; index < puzzle.getRows() * puzzle.getCols(); index++) {
+                if (valueAt(index) == wordNumber) {
+                    selectedCell = index;
+                    break;
+                }
+            }
+        }
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        if (previous >= 0) {
+            paintCell(gc, previous);
+        }
+        if (selectedCell >= 0) {
+            paintCell(gc, selectedCell);
+        }
+    }
+
+    @Override
+    public void refreshWordStates() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            CellState state = CellState.ofWord(session, n);
+            if (state != wordStates[n]) {
+                wordStates[n] = state;
+                for (int i = 0; i < puzzle.getCellCount(n); i++) {
+                    paintCell(gc, puzzle.getCell(n, i));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void renderDirtyCells() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        int cells = puzzle.getRows() * puzzle.getCols();
+        for (int slot = session.nextDirtySlot(0); slot >= 0 && slot < cells; slot = session.nextDirtySlot(slot + 1)) {
+            paintCell(gc, slot);
+        }
+        session.clearDirty();
+    }
+
+    // Repaints the rectangle of one cell
+    private void paintCell(GraphicsContext gc, int index) {
+        double x = (index % puzzle.getCols()) * PITCH;
+        double y = (index / puzzle.getCols()) * PITCH;
+        int value = valueAt(index);
+        gc.clearRect(x, y, CELL_SIZE, CELL_SIZE);
+
+        String text;
+        CellState state = CellState.OPEN;
+        if (value < 0) {
+            gc.setFill(BLOCK);
+            text = null;
+        } else if (value > 0) {
+            gc.setFill(index == selectedCell ? highlight : cellBg);
+            text = String.valueOf(value);
+        } else {
+            char displayed = session.getCellDisplay(index);
+            state = CellState.ofCell(session, index);
+            gc.setFill(switch (state) {
+                case OPEN -> LETTER;
+                case SOLVED_CLEAN -> cellBg;
+                case SOLVED_WITH_LETTERS -> lettersBg;
+                case REVEALED -> revealedBg;
+            });
+            text = displayed == ' ' ? null : String.valueOf(displayed);
+        }
+        gc.fillRoundRect(x, y, CELL_SIZE, CELL_SIZE, ARC, ARC);
+        if (value == 0 && state == CellState.OPEN) {
+            gc.setStroke(BORDER);
+            gc.strokeRoundRect(x + 0.5, y + 0.5, CELL_SIZE - 1, CELL_SIZE - 1, ARC, ARC);
+        }
+        if (text != null) {
+            gc.setFill(TEXT);
+            gc.fillText(text, x + CELL_SIZE / 2, y + CELL_SIZE / 2);
+        }
+    }
+
+    private int valueAt(int index) {
+        return puzzle.getCellValue(index / puzzle.getCols(), index % puzzle.getCols());
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.crossword.controller;
+
+import javafx.css.PseudoClass;
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.model.Puzzle;
+
+// How a letter cell is shown once its word is solved or revealed, in increasing order of help.
+// A crossing cell takes the strongest state of its two words.
+enum CellState {
+    OPEN(null),
+    SOLVED_CLEAN(PseudoClass.getPseudoClass("solved-clean")),
+    SOLVED_WITH_LETTERS(PseudoClass.getPseudoClass("solved-with-letters")),
+    REVEALED(PseudoClass.getPseudoClass("revealed"));
+
+    static final PseudoClass SELECTED = PseudoClass.getPseudoClass("selected");
+    static final CellState[] VALUES = values();
+
+    final PseudoClass pseudoClass;      // null for OPEN
+
+    CellState(PseudoClass pseudoClass) {
+        this.pseudoClass = pseudoClass;
+    }
+
+    // State of a word: solved with or without a hint, or shown with the SOLUTION button
+    static CellState ofWord(GameSession session, int wordNumber) {
+        byte hint = session.getHint(wordNumber);
+        if (hint == GameSession.SOLUTION_HINT) {
+            return REVEALED;
+        }
+        if (!session.isSolved(wordNumber)) {
+            return OPEN;
+        }
+        return hint == GameSession.LETTERS_HINT ? SOLVED_WITH_LETTERS : SOLVED_CLEAN;
+    }
+
+    // State of a cell, the strongest state of the words going through it
+    static CellState ofCell(GameSession session, int index) {
+        Puzzle puzzle = session.getPuzzle();
+        CellState state = OPEN;
+        for (int k = 0; k < 2; k++) {
+            int letter = puzzle.getSlotLetter(index, k);
+            if (letter >= 0) {
+                CellState word = ofWord(session, puzzle.getLetterWord(letter));
+                if (word.compareTo(state) > 0) {
+                    state = word;
+                }
+            }
+        }
+        return state;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.crossword.controller;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+// Measures the time from a UI action to the end of the layout pass of the next pulse, which
+// covers the event handling and the CSS and layout work the action caused, and the bytes the
+// FX thread allocated meanwhile. measureCss times a CSS pass on its own. An action waiting for
+// a background task (startPending) ends at the first pulse after ready, which gives its time to
+// interactive. Enabled with -Dcrossword.frameTimes=true, the measures are printed on the standard output.
+final class FrameTimer {
+    static final boolean ENABLED = Boolean.getBoolean("crossword.frameTimes");
+
+    private final Supplier<String> renderer;    // name of the renderer in use, printed with each time
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private String action;
+    private long start;
+    private long startAllocated;
+    private long cssNanos = -1;
+    private boolean pending;                    // pulses are ignored until ready is called
+
+    FrameTimer(Supplier<String> renderer) {
+        this.renderer = renderer;
+    }
+
+    void install(Scene scene) {
+        if (ENABLED) {
+            scene.addPostLayoutPulseListener(this::pulse);
+        }
+    }
+
+    // Starts timing an action, an action still pending is replaced
+    void start(String action) {
+        if (ENABLED) {
+            this.action = action;
+            this.cssNanos = -1;
+            this.pending = false;
+            this.startAllocated = threads.getCurrentThreadAllocatedBytes();
+            this.start = System.nanoTime();
+        }
+    }
+
+    // Starts timing an action completed by a background task, see ready
+    void startPending(String action) {
+        start(action);
+        pending = true;
+    }
+
+    // The background task of the pending action is done and its result is on screen at the next
+    // pulse, detail is printed with the action (e.g. whether the result was cached)
+    void ready(String detail) {
+        if (ENABLED && action != null && pending) {
+            action = action + " (" + detail + ")";
+            pending = false;
+        }
+    }
+
+    // Applies the CSS of a node now instead of at the next pulse and times it
+    void measureCss(Parent node) {
+        if (ENABLED && action != null && node.getScene() != null) {
+            long begin = System.nanoTime();
+            node.applyCss();
+            cssNanos = System.nanoTime() - begin;
+        }
+    }
+
+    private void pulse() {
+        if (action != null && !pending) {
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - startAllocated;
+            System.out.printf("%s [%s]: %.2f ms, css %s, %d KB allocated%n", action, renderer.get(), elapsed / 1e6,
+                    cssNanos < 0 ? "-" : String.format("%.2f ms", cssNanos / 1e6), allocated / 1024);
+            action = null;
+        }
+    }
+}
@@ -1,133 +1,206 @@
 package org.example.crossword.controller;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
-import org.example.crossword.model.Case;
+import javafx.util.StringConverter;
+import org.example.crossword.analytics.EventLog;
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.engine.Outcome;
+import org.example.crossword.io.DirectoryPuzzleRepository;
+import org.example.crossword.io.PuzzleLoader;
+import org.example.crossword.io.PuzzleRepository;
+import org.example.crossword.journal.MoveJournal;
+import org.example.crossword.metrics.GameMetrics;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.SyntheticPuzzle;
 import org.example.crossword.model.Word;
+import org.example.crossword.server.GameServer;
+import org.example.crossword.server.SessionStore;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Puzzles are read from the directory given by -Dcrossword.puzzleDir (src by default), files added
+// or changed there show up in the dropdown while the game runs. It can also name a puzzle pack
+// written by PuzzlePackWriter, which never changes.
+// The moves are journaled to -Dcrossword.journalDir (~/.crossword/journal by default): each puzzle
+// resumes the game left on it, even after a crash. A puzzle whose file changes starts over.
+// The game metrics are published over JMX, -Dcrossword.metrics=true also prints them on exit.
 public class GraphicalInterface extends Application {
-    private final Map<String, String> gridFiles = Map.of(
-            "Sports", "src/grid.txt",
-            "Nature", "src/grid2.txt",
-            "History", "src/grid3.txt"
-    );
-
-    private final Map<String, String> dataFiles = Map.of(
-            "Sports", "src/data.txt",
-            "Nature", "src/data2.txt",
-            "History", "src/data3.txt"
-    );
+    private static final String DEFAULT_COLORS = "Default";     // colors of the themes not listed below
 
     private final Map<String, ThemeColors> themeColorSchemes = Map.of(
             "Sports", new ThemeColors("#ff4d4d", "#ffe6e6", "#ffcccc", "#ff8080", "#ff1a1a"),
             "Nature", new ThemeColors("#4CAF50", "#E8F5E9", "#C8E6C9", "#A5D6A7", "#81C784"),
-            "History", new ThemeColors("#9c27b0", "#F3E5F5", "#E1BEE7", "#CE93D8", "#BA68C8")
+            "History", new ThemeColors("#9c27b0", "#F3E5F5", "#E1BEE7", "#CE93D8", "#BA68C8"),
+            DEFAULT_COLORS, new ThemeColors("#1e88e5", "#e3f2fd", "#bbdefb", "#90caf9", "#64b5f6")
     );
 
-    private static class ThemeColors {
-        final String primary;      // Main theme color
-        final String background;   // Background color
-        final String gridBg;      // Grid background
-        final String cellBg;      // Normal cell background
-        final String highlight;    // Selected/highlighted cell
-
-        ThemeColors(String primary, String background, String gridBg, String cellBg, String highlight) {
-            this.primary = primary;
-            this.background = background;
-            this.gridBg = gridBg;
-            this.cellBg = cellBg;
-            this.highlight = highlight;
-        }
-    }
-
-    private final List<Word> words = new ArrayList<>();
-    private final List<Case> gridCells = new ArrayList<>();
-    private final Map<Integer, List<Button>> wordCellButtons = new HashMap<>();
-    private Word selectedWord = null;
-    private Button selectedButton = null;
+    private static final int CACHED_PUZZLES = 4;    // the current theme, the prefetched ones and the previous one
+    private static final int PREFETCHED_THEMES = 2; // themes after the current one in the dropdown
+    private static final PseudoClass NEAR_MISS = PseudoClass.getPseudoClass("near-miss");
+
+    private PuzzleRepository repository;
+    private final ExecutorService loaderThreads = Executors.newFixedThreadPool(2, task -> {
+        Thread thread = new Thread(task, "puzzle-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final PuzzleLoader puzzleLoader = new PuzzleLoader(this::readPuzzle, loaderThreads, CACHED_PUZZLES);
+    private GameServer game;                        // the sessions, one per puzzle played, null until recovered
+    private long sessionId;
+    private GameSession session;                    // read on the FX thread, changed through game
+    private final GridView buttonGridView = new ButtonGridView();
+    private final GridView canvasGridView = new CanvasGridView();
+    private GridView gridView = "buttons".equals(System.getProperty("crossword.renderer")) ? buttonGridView : canvasGridView;
+    private final FrameTimer frameTimer = new FrameTimer(() -> gridView == canvasGridView ? "Canvas" : "Buttons");
+    private int selectedWord = 0;                   // 0 when no word is selected
     private TextField guessInput;
+    private Label nearMissLabel;                    // shown under the guess while it is one letter off
     private Label scoreValue;
-    private int totalScore = 0;
+    private Label maxScoreValue;
     private VBox controlsBox;
-    private final double CELL_SIZE = 50;
-    private GridPane crosswordGrid;
-    private String currentTheme = "Sports";
-
-    private void resetGame() {
-        words.clear();
-        gridCells.clear();
-        wordCellButtons.clear();
-        selectedWord = null;
-        selectedButton = null;
-        totalScore = 0;
-        scoreValue.setText("0");
-        crosswordGrid.getChildren().clear();
-        loadWords(dataFiles.get(currentTheme));
-        loadGrid(gridFiles.get(currentTheme));
-        populateGridPane(crosswordGrid);
-        applyThemeColors(currentTheme);
+    private StackPane gridContainer;
+    private ComboBox<String> themeDropdown;          // ids of the puzzles, shown by title
+    private String currentPuzzle;                   // id of the puzzle shown or being loaded
+    private String shownPuzzle;                     // id of the puzzle on screen
+    private CompletableFuture<Puzzle> pendingPuzzle; // the load switchPuzzle last waited on
+
+    // Loads a puzzle in the background, only the swap of the grid runs on the FX thread. The
+    // current grid stays on screen, disabled, until then. If another puzzle is chosen meanwhile
+    // the result is dropped, it stays cached for later. So is the result of a load started before
+    // its file changed: puzzlesChanged switches to a new load of it.
+    private void switchPuzzle(String puzzleId) {
+        currentPuzzle = puzzleId;
+        gridContainer.setDisable(true);
+        CompletableFuture<Puzzle> puzzle = puzzleLoader.load(puzzleId);
+        pendingPuzzle = puzzle;
+        String origin = puzzle.isDone() ? "cached" : "loaded";
+        puzzle.whenCompleteAsync((loaded, error) -> {
+            if (puzzle != pendingPuzzle) {
+                return;
+            }
+            if (error != null) {
+                System.err.println("Error loading puzzle " + puzzleId + ": " + error.getMessage());
+                gridContainer.setDisable(false);
+                // back to the puzzle on screen, the failed one is loaded again if chosen again
+                currentPuzzle = shownPuzzle;
+                themeDropdown.setValue(shownPuzzle);
+                return;
+            }
+            startSession(puzzleId, loaded);
+            frameTimer.ready(origin);
+            prefetchPuzzlesAfter(puzzleId);
+        }, Platform::runLater);
     }
 
-    private void applyThemeColors(String theme) {
-        ThemeColors colors = themeColorSchemes.get(theme);
-
-        BorderPane root = (BorderPane) crosswordGrid.getParent();
-        root.setStyle("-fx-background-color: " + colors.background + ";");
-        crosswordGrid.setStyle("-fx-background-color: " + colors.gridBg + "; -fx-background-radius: 10;");
-
-        HBox topMenu = (HBox) root.getTop();
-        Label title = (Label) topMenu.getChildren().get(1);
-        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-padding: 0 0 0 225; -fx-text-fill: " + colors.primary + ";");
-
-        String buttonStyle = """
-            -fx-background-color: %s;
-            -fx-text-fill: white;
-            -fx-font-weight: bold;
-            -fx-padding: 10 20;
-            -fx-background-radius: 5;
-            -fx-cursor: hand;
-            -fx-font-size: 14px;
-            -fx-min-width: 200px;
-        """.formatted(colors.primary);
+    // Shows the game of a loaded puzzle, resumed where it was left or a new one once all its words
+    // are solved; the session holds the rules and the progress.
+    // It runs on the FX thread, its duration goes to GameMetrics as FX thread work.
+    private void startSession(String puzzleId, Puzzle puzzle) {
+        long begin = System.nanoTime();
+        shownPuzzle = puzzleId;
+        if (!game.getPuzzleIds().contains(puzzleId)) {
+            game.addPuzzle(puzzleId, puzzle);
+        }
+        List<Long> sessionIds = game.getSessionIds(puzzleId);
+        sessionId = sessionIds.isEmpty() ? game.createSession(puzzleId) : sessionIds.get(sessionIds.size() - 1);
+        session = game.withSession(sessionId, resumed -> resumed);
+        if (session.getScoreCard().getSolvedWords() == session.getPuzzle().getWordCount()) {
+            game.endSession(sessionId);
+            sessionId = game.createSession(puzzleId);
+            session = game.withSession(sessionId, started -> started);
+        }
+        selectedWord = session.getSelectedWord();
+        scoreValue.setText(String.valueOf(session.getScore()));
+        maxScoreValue.setText(String.valueOf(session.getPuzzle().getMaxScore()));
+        createGuessInputSection();
+        gridView.clear();
+        showGrid();
+        if (selectedWord > 0) {
+            gridView.setSelectedWord(selectedWord);
+        }
+        applyThemeColors(puzzle.getTheme());
+        gridContainer.setDisable(false);
+        GameMetrics.get().fxTask("new game", System.nanoTime() - begin);
+    }
 
-        VBox gameControlsSection = (VBox) controlsBox.getChildren().get(0);
-        gameControlsSection.getChildren().stream()
-                .filter(node -> node instanceof Button)
-                .map(node -> (Button) node)
-                .forEach(button -> button.setStyle(buttonStyle));
-
-        VBox scoreSection = (VBox) controlsBox.getChildren().get(2);
-        scoreSection.getChildren().stream()
-                .filter(node -> node instanceof Label && !(node.equals(scoreValue)))
-                .map(node -> (Label) node)
-                .forEach(label -> label.setStyle("""
-                -fx-background-color: %s;
-                -fx-padding: 8 15;
-                -fx-background-radius: 5;
-                -fx-font-weight: bold;
-                -fx-font-size: 14px;
-                -fx-min-width: 200px;
-                -fx-alignment: center;
-            """.formatted(colors.highlight)));
-
-        scoreValue.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-text-fill: " + colors.primary + "; -fx-alignment: center;");
+    // The next puzzles of the dropdown are likely the next ones chosen, they are loaded in advance
+    private void prefetchPuzzlesAfter(String puzzleId) {
+        List<String> puzzleIds = themeDropdown.getItems();
+        int index = puzzleIds.indexOf(puzzleId);
+        List<String> next = new ArrayList<>(PREFETCHED_THEMES);
+        for (int i = 1; i <= PREFETCHED_THEMES && i < puzzleIds.size(); i++) {
+            next.add(puzzleIds.get((index + i) % puzzleIds.size()));
+        }
+        puzzleLoader.prefetch(next);
+    }
+
+    // Called on the watcher thread: the changed puzzles are parsed again when they are played,
+    // the one on screen right away. Their games are over, the progress was made on the old grid.
+    private void puzzlesChanged(Set<String> puzzleIds) {
+        puzzleIds.forEach(puzzleLoader::invalidate);
+        Platform.runLater(() -> {
+            themeDropdown.getItems().setAll(repository.ids());
+            themeDropdown.setValue(currentPuzzle);
+            if (game == null) {
+                // still recovering, the first grid is loaded afterwards
+                return;
+            }
+            for (String puzzleId : puzzleIds) {
+                // a deleted puzzle stays playable while on screen
+                if (repository.contains(puzzleId) || !puzzleId.equals(shownPuzzle)) {
+                    game.removePuzzle(puzzleId);
+                }
+            }
+            if (puzzleIds.contains(currentPuzzle) && repository.contains(currentPuzzle)) {
+                frameTimer.startPending("reload");
+                switchPuzzle(currentPuzzle);
+            }
+        });
+    }
+
+    private String colorsOf(String theme) {
+        return themeColorSchemes.containsKey(theme) ? theme : DEFAULT_COLORS;
+    }
+
+    // Switches between the Canvas and the Button grid, the game goes on
+    private void setRenderer(GridView renderer) {
+        if (renderer == gridView) return;
+        gridView.clear();
+        gridView = renderer;
+        gridContainer.getChildren().setAll(gridView.getNode());
+        showGrid();
+        if (selectedWord > 0) {
+            gridView.setSelectedWord(selectedWord);
+        }
+    }
+
+    // Switches the theme of the whole window by toggling the theme class of the root node
+    private void applyThemeColors(String theme) {
+        Parent root = gridContainer.getParent();
+        root.getStyleClass().removeIf(styleClass -> styleClass.startsWith("theme-"));
+        root.getStyleClass().add(ThemeStylesheet.themeClass(colorsOf(theme)));
+        frameTimer.measureCss(root);
     }
 
     private void createGuessInputSection() {
         VBox gameControlsSection = (VBox) controlsBox.getChildren().get(0);
-        gameControlsSection.getChildren().removeIf(node -> node instanceof HBox && "guessBox".equals(node.getId()));
+        gameControlsSection.getChildren().removeIf(node -> "guessBox".equals(node.getId()) || "nearMiss".equals(node.getId()));
 
-        if (selectedWord != null && !selectedWord.isSolved()) {
+        if (selectedWord > 0 && !session.isSolved(selectedWord)) {
             HBox guessBox = new HBox(10);
             guessBox.setId("guessBox");
             guessBox.setAlignment(Pos.CENTER);
@@ -136,233 +209,108 @@ public class GraphicalInterface extends Application {
             guessInput = new TextField();
             guessInput.setPromptText("Enter your guess");
             guessInput.setPrefWidth(120);
-            guessInput.setStyle("""
-                -fx-padding: 8 15;
-                -fx-background-radius: 5;
-                -fx-font-size: 12px;
-            """);
+            guessInput.getStyleClass().add("guess-input");
 
-            ThemeColors colors = themeColorSchemes.get(currentTheme);
             Button submitButton = new Button("Submit");
             submitButton.setPrefWidth(70);
-            submitButton.setStyle("""
-                -fx-background-color: %s;
-                -fx-text-fill: white;
-                -fx-font-weight: bold;
-                -fx-padding: 8 15;
-                -fx-background-radius: 5;
-                -fx-cursor: hand;
-                -fx-font-size: 10px;
-            """.formatted(colors.primary));
+            submitButton.getStyleClass().add("submit-button");
 
             submitButton.setOnAction(e -> handleGuess());
 
             guessBox.getChildren().addAll(guessInput, submitButton);
-            gameControlsSection.getChildren().add(guessBox);
+
+            nearMissLabel = new Label("So close! One letter is off.");
+            nearMissLabel.setId("nearMiss");
+            nearMissLabel.getStyleClass().add("near-miss-label");
+            showNearMiss(false);
+            guessInput.textProperty().addListener((observable, before, after) -> showNearMiss(false));
+
+            gameControlsSection.getChildren().addAll(guessBox, nearMissLabel);
         }
     }
 
     private void handleGuess() {
-        if (selectedWord == null || guessInput == null) return;
+        if (selectedWord == 0 || guessInput == null) return;
 
-        String guess = guessInput.getText().toUpperCase();
-        String solution = selectedWord.getSolution().toUpperCase();
+        int wordNumber = selectedWord;
+        Outcome outcome = game.guess(sessionId, wordNumber, guessInput.getText());
+        showNearMiss(outcome == Outcome.NEAR_MISS);
 
-        if (guess.length() != solution.length()) {
+        if (outcome == Outcome.INVALID_LENGTH) {
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("Invalid Input");
             alert.setHeaderText(null);
-            alert.setContentText("Your guess must be " + solution.length() + " letters long!");
+            alert.setContentText("Your guess must be " + session.getPuzzle().getLength(wordNumber) + " letters long!");
             alert.showAndWait();
             return;
         }
+        if (outcome == Outcome.REJECTED) return;
 
-        selectedWord.setCurrentAnswer(guess);
-        List<Button> wordButtons = wordCellButtons.get(selectedWord.getWordNumber());
+        frameTimer.start("guess");
+        gridView.renderDirtyCells();
 
-        if (wordButtons != null) {
-            for (int i = 0; i < solution.length() && i < wordButtons.size(); i++) {
-                Button cellButton = wordButtons.get(i);
-                if (guess.charAt(i) == solution.charAt(i)) {
-                    cellButton.setText(String.valueOf(guess.charAt(i)));
-                } else {
-                    cellButton.setText("-");
-                }
-            }
-        }
-
-        if (guess.equalsIgnoreCase(solution)) {
-            selectedWord.setSolved(true);
-            totalScore += selectedWord.getScore();
-            scoreValue.setText(String.valueOf(totalScore));
+        if (outcome == Outcome.SOLVED) {
+            scoreValue.setText(String.valueOf(session.getScore()));
             createGuessInputSection();
-
-            ThemeColors colors = themeColorSchemes.get(currentTheme);
-            if (wordButtons != null) {
-                String solvedStyle = """
-                    -fx-background-color: %s;
-                    -fx-min-width: %fpx;
-                    -fx-min-height: %fpx;
-                    -fx-max-width: %fpx;
-                    -fx-max-height: %fpx;
-                """.formatted(colors.cellBg, CELL_SIZE, CELL_SIZE, CELL_SIZE, CELL_SIZE);
-
-                wordButtons.forEach(button -> button.setStyle(solvedStyle));
-            }
-
-            selectedWord = null;
-            selectedButton = null;
+            // crossing words completed by this one are solved at the same time
+            gridView.refreshWordStates();
+            gridView.setSelectedWord(0);
+            selectedWord = 0;
         }
     }
 
-    private void loadGrid(String filename) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            br.readLine();
-            String line = br.readLine();
-            if (line == null) {
-                throw new IOException("The grid file is empty.");
-            }
-
-            String[] gridSize = line.split(",");
-            if (gridSize.length < 2) {
-                throw new IOException("Invalid grid dimensions in the grid file.");
-            }
-
-            int rows = Integer.parseInt(gridSize[0].trim());
-            int cols = Integer.parseInt(gridSize[1].trim());
-
-            int rowCount = 0;
-            while ((line = br.readLine()) != null) {
-                rowCount++;
-                String[] lineValues = line.split(",");
-                if (lineValues.length != cols) {
-                    throw new IOException("Invalid number of columns at row " + rowCount);
-                }
-
-                for (int j = 0; j < cols; j++) {
-                    int cellValue = Integer.parseInt(lineValues[j].trim());
-                    Case cell = new Case(rowCount - 1, j);
-
-                    if (cellValue == -1) {
-                        cell.setPartOfWord(false, -1);
-                    } else if (cellValue == 0) {
-                        cell.setPartOfWord(true, -1);
-                    } else {
-                        cell.setPartOfWord(true, cellValue);
-                    }
+    // A guess one letter off is pointed out next to the input, without a dialog, so it can be fixed in place
+    private void showNearMiss(boolean nearMiss) {
+        guessInput.pseudoClassStateChanged(NEAR_MISS, nearMiss);
+        nearMissLabel.setVisible(nearMiss);
+        nearMissLabel.setManaged(nearMiss);
+    }
 
-                    gridCells.add(cell);
-                }
-            }
+    // Reads a puzzle, called on a loader thread. With -Dcrossword.syntheticGrid=N every puzzle
+    // is an N x N synthetic one instead, to measure theme switches on large grids.
+    private Puzzle readPuzzle(String puzzleId) throws IOException {
+        int size = Integer.getInteger("crossword.syntheticGrid", 0);
+        if (size > 0) {
+            Puzzle synthetic = SyntheticPuzzle.of(size, size, 1);
+            return Puzzle.of(repository.theme(puzzleId), synthetic.toGrid(), wordsOf(synthetic));
+        }
+        return repository.load(puzzleId);
+    }
 
-            if (rowCount != rows) {
-                throw new IOException("Invalid number of rows.");
-            }
-        } catch (IOException | NumberFormatException e) {
-            System.err.println("Error loading grid: " + e.getMessage());
-            e.printStackTrace();
+    private static List<Word> wordsOf(Puzzle puzzle) {
+        List<Word> words = new ArrayList<>(puzzle.getWordCount());
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            words.add(new Word(puzzle.getClue(n), puzzle.getSolution(n), puzzle.isHorizontal(n), -1, -1));
         }
+        return words;
     }
 
-    private void populateGridPane(GridPane crosswordGrid) {
-        Map<Case, Button> allButtons = new HashMap<>();
-        ThemeColors colors = themeColorSchemes.get(currentTheme);
-
-        for (Case cell : gridCells) {
-            Button cellButton = new Button();
-            cellButton.setMinSize(CELL_SIZE, CELL_SIZE);
-            cellButton.setMaxSize(CELL_SIZE, CELL_SIZE);
-
-            String baseStyle = """
-                -fx-background-radius: 5;
-                -fx-font-family: 'Arial';
-                -fx-font-weight: bold;
-                -fx-font-size: 14px;
-            """;
-
-            allButtons.put(cell, cellButton);
-
-            if (!cell.isPartOfWord()) {
-                cellButton.setStyle(baseStyle + "-fx-background-color: #e0e0e0;");
-            } else if (cell.getWordNumber() > 0) {
-                cellButton.setText(String.valueOf(cell.getWordNumber()));
-                cellButton.setStyle(baseStyle + "-fx-background-color: " + colors.cellBg + ";");
-
-                int wordIndex = cell.getWordNumber() - 1;
-                if (wordIndex < words.size()) {
-                    Word word = words.get(wordIndex);
-                    word.setWordNumber(cell.getWordNumber());
-                    wordCellButtons.put(cell.getWordNumber(), new ArrayList<>());
-
-                    cellButton.setOnMouseClicked(event -> {
-                        if (word.isSolved()) return;
-
-                        if (selectedWord != null && selectedWord != word && !selectedWord.isSolved()) {
-                            clearWordCells(selectedWord);
-                        }
-
-                        if (selectedButton != null) {
-                            selectedButton.setStyle(selectedButton.getStyle()
-                                    .replace("-fx-background-color: " + colors.highlight + ";",
-                                            "-fx-background-color: " + colors.cellBg + ";"));
-                        }
-
-                        cellButton.setStyle(baseStyle + "-fx-background-color: " + colors.highlight + ";");
-                        selectedWord = word;
-                        selectedButton = cellButton;
-                        createGuessInputSection();
-
-                        if (event.getClickCount() == 2) {
-                            showClueDialog(word);
-                        }
-                    });
-                }
-            }
+    private void showGrid() {
+        if (session == null) return;
+        gridView.show(session, themeColorSchemes.get(colorsOf(session.getPuzzle().getTheme())), this::handleWordClicked);
+    }
 
-            crosswordGrid.add(cellButton, cell.getCol(), cell.getRow());
-        }
+    private void handleWordClicked(int wordNumber, int clickCount) {
+        if (session == null || session.isSolved(wordNumber)) return;
 
-        // Second pass for word cells
-        for (Word word : words) {
-            Case startCell = findStartCell(word.getWordNumber());
-            if (startCell != null) {
-                List<Case> wordCells = new ArrayList<>();
-                if (word.isHorizontal()) {
-                    int col = startCell.getCol() + 1;
-                    int row = startCell.getRow();
-                    for (int i = 0; i < word.getSolution().length(); i++) {
-                        Case cell = findCell(row, col + i);
-                        if (cell != null) {
-                            wordCells.add(cell);
-                        }
-                    }
-                } else {
-                    int col = startCell.getCol();
-                    int row = startCell.getRow() + 1;
-                    for (int i = 0; i < word.getSolution().length(); i++) {
-                        Case cell = findCell(row + i, col);
-                        if (cell != null) {
-                            wordCells.add(cell);
-                        }
-                    }
-                }
+        frameTimer.start("select");
+        // the session clears the unvalidated letters of the previous word
+        game.select(sessionId, wordNumber);
+        gridView.renderDirtyCells();
+        gridView.setSelectedWord(wordNumber);
+        selectedWord = wordNumber;
+        createGuessInputSection();
 
-                List<Button> buttons = wordCellButtons.computeIfAbsent(word.getWordNumber(), k -> new ArrayList<>());
-                for (Case cell : wordCells) {
-                    Button button = allButtons.get(cell);
-                    if (button != null) {
-                        buttons.add(button);
-                    }
-                }
-            }
+        if (clickCount == 2) {
+            showClueDialog(session.getPuzzle().getClue(wordNumber));
         }
     }
 
-    private void showClueDialog(Word word) {
+    private void showClueDialog(String clue) {
         Alert clueDialog = new Alert(Alert.AlertType.INFORMATION);
         clueDialog.setTitle("Clue");
         clueDialog.setHeaderText("Word Clue");
-        clueDialog.setContentText(word.getClue());
+        clueDialog.setContentText(clue);
 
         DialogPane dialogPane = clueDialog.getDialogPane();
         dialogPane.setStyle("""
@@ -374,36 +322,32 @@ public class GraphicalInterface extends Application {
         clueDialog.showAndWait();
     }
 
-    private Case findStartCell(int wordNumber) {
-        return gridCells.stream()
-                .filter(cell -> cell.getWordNumber() == wordNumber)
-                .findFirst()
-                .orElse(null);
-    }
-
-    private Case findCell(int row, int col) {
-        return gridCells.stream()
-                .filter(cell -> cell.getRow() == row && cell.getCol() == col)
-                .findFirst()
-                .orElse(null);
-    }
-
-    private void clearWordCells(Word word) {
-        List<Button> wordButtons = wordCellButtons.get(word.getWordNumber());
-        if (wordButtons != null) {
-            for (Button btn : wordButtons) {
-                btn.setText("");
-            }
-        }
-    }
-
     @Override
     public void start(Stage primaryStage) {
         primaryStage.setTitle("Crossword Game");
+        GameMetrics.get().register();
+
+        Path puzzleDir = Path.of(System.getProperty("crossword.puzzleDir", "src"));
+        try {
+            repository = PuzzleRepository.open(puzzleDir);
+            repository.addListener(this::puzzlesChanged);
+            if (repository instanceof DirectoryPuzzleRepository directory) {
+                directory.watch();
+            }
+        } catch (IOException e) {
+            System.err.println("Error opening the puzzles of " + puzzleDir + ": " + e.getMessage());
+            Platform.exit();
+            return;
+        }
+        if (repository.ids().isEmpty()) {
+            System.err.println("No puzzle in " + puzzleDir);
+            Platform.exit();
+            return;
+        }
+        currentPuzzle = repository.ids().get(0);
 
         BorderPane root = new BorderPane();
         root.setPadding(new Insets(20));
-        root.setStyle("-fx-background-color: white;");
 
         // Top Menu Section with proper alignment
         HBox topMenu = new HBox(15);
@@ -413,30 +357,51 @@ public class GraphicalInterface extends Application {
         HBox themeSection = new HBox(10);
         themeSection.setAlignment(Pos.CENTER_LEFT);
         Label themeLabel = new Label("Choose Theme:");
-        themeLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
-
-        ComboBox<String> themeDropdown = new ComboBox<>();
-        themeDropdown.getItems().addAll("Sports", "Nature", "History");
-        themeDropdown.getSelectionModel().selectFirst();
-        themeDropdown.setStyle("""
-            -fx-background-radius: 5;
-            -fx-padding: 5;
-            -fx-background-color: #f5f5f5;
-        """);
+        themeLabel.getStyleClass().add("section-label");
+
+        themeDropdown = new ComboBox<>();
+        themeDropdown.getItems().setAll(repository.ids());
+        themeDropdown.setValue(currentPuzzle);
+        // the list is virtual, only the titles of the rows on screen are read
+        themeDropdown.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(String puzzleId) {
+                return puzzleId == null ? "" : repository.title(puzzleId);
+            }
+
+            @Override
+            public String fromString(String title) {
+                return null;
+            }
+        });
+        themeDropdown.getStyleClass().add("dropdown");
+        themeDropdown.setDisable(true);         // until the games are recovered
 
         // add the combobox to the theme section
         themeSection.getChildren().addAll(themeLabel, themeDropdown);
 
         themeDropdown.setOnAction(event -> {
-            String selectedTheme = themeDropdown.getValue();
-            if (!selectedTheme.equals(currentTheme)) {
-                currentTheme = selectedTheme;
-                resetGame();
+            String selectedPuzzle = themeDropdown.getValue();
+            if (selectedPuzzle != null && !selectedPuzzle.equals(currentPuzzle)) {
+                // timed until the first frame showing the new grid, loading included
+                frameTimer.startPending("theme switch");
+                switchPuzzle(selectedPuzzle);
             }
         });
 
+        // renderer of the grid, to compare frame times with -Dcrossword.frameTimes=true
+        ComboBox<String> rendererDropdown = new ComboBox<>();
+        rendererDropdown.getItems().addAll("Canvas", "Buttons");
+        rendererDropdown.setValue(gridView == canvasGridView ? "Canvas" : "Buttons");
+        rendererDropdown.getStyleClass().add("dropdown");
+        rendererDropdown.setOnAction(event -> {
+            frameTimer.start("renderer switch");
+            setRenderer(rendererDropdown.getValue().equals("Canvas") ? canvasGridView : buttonGridView);
+        });
+        themeSection.getChildren().add(rendererDropdown);
+
         Label title = new Label("Crossword Challenge");
-        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-padding: 0 0 0 225; -fx-text-fill: #2196F3;");
+        title.getStyleClass().add("title");
         HBox.setHgrow(title, Priority.ALWAYS);
         title.setAlignment(Pos.CENTER);
 
@@ -444,12 +409,11 @@ public class GraphicalInterface extends Application {
         root.setTop(topMenu);
 
         // Crossword Grid Section
-        crosswordGrid = new GridPane();
-        crosswordGrid.setPadding(new Insets(20));
-        crosswordGrid.setHgap(5);
-        crosswordGrid.setVgap(5);
-        crosswordGrid.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 10;");
-        root.setLeft(crosswordGrid);
+        gridContainer = new StackPane(gridView.getNode());
+        gridContainer.setAlignment(Pos.TOP_LEFT);
+        gridContainer.setPadding(new Insets(20));
+        gridContainer.getStyleClass().add("grid-container");
+        root.setLeft(gridContainer);
 
         // Controls Section
         controlsBox = new VBox(20);
@@ -461,13 +425,13 @@ public class GraphicalInterface extends Application {
         VBox gameControlsSection = new VBox(10);
         gameControlsSection.setAlignment(Pos.CENTER);
         gameControlsSection.setPadding(new Insets(15));
-        gameControlsSection.setStyle("-fx-background-color: #f5f5f5; -fx-background-radius: 10;");
+        gameControlsSection.getStyleClass().add("panel");
 
         // Score Section
         VBox scoreSection = new VBox(10);
         scoreSection.setAlignment(Pos.CENTER);
         scoreSection.setPadding(new Insets(15));
-        scoreSection.setStyle("-fx-background-color: #f5f5f5; -fx-background-radius: 10;");
+        scoreSection.getStyleClass().add("panel");
 
         // Style the buttons
         Button lettersButton = new Button("LETTERS");
@@ -475,58 +439,21 @@ public class GraphicalInterface extends Application {
         Button okButton = new Button("OK");
         Button helpButton = new Button("HELP");
 
-        String buttonStyle = """
-            -fx-background-color: #4CAF50;
-            -fx-text-fill: white;
-            -fx-font-weight: bold;
-            -fx-padding: 10 20;
-            -fx-background-radius: 5;
-            -fx-cursor: hand;
-            -fx-font-size: 14px;
-            -fx-min-width: 200px;
-        """;
-
-        String buttonHoverStyle = """
-            -fx-background-color: #45a049;
-            -fx-effect: dropshadow(three-pass-box, rgba(0,0,0,0.2), 5, 0, 0, 2);
-        """;
-
         for (Button btn : Arrays.asList(lettersButton, solutionButton, okButton, helpButton)) {
-            btn.setStyle(buttonStyle);
+            btn.getStyleClass().add("action-button");
             btn.setMaxWidth(Double.MAX_VALUE);
             btn.setPrefHeight(40); // Fixed height for buttons
-
-            btn.setOnMouseEntered(e -> btn.setStyle(buttonStyle + buttonHoverStyle));
-            btn.setOnMouseExited(e -> btn.setStyle(buttonStyle));
         }
 
-        // Style the score labels
-        String scoreLabelStyle = """
-            -fx-background-color: #FFC107;
-            -fx-padding: 8 15;
-            -fx-background-radius: 5;
-            -fx-font-weight: bold;
-            -fx-font-size: 14px;
-            -fx-min-width: 200px;
-            -fx-alignment: center;
-        """;
-
-        String scoreValueStyle = """
-            -fx-font-size: 24px;
-            -fx-font-weight: bold;
-            -fx-text-fill: #2196F3;
-            -fx-alignment: center;
-        """;
-
         Label scoreLabel = new Label("YOUR SCORE");
         scoreValue = new Label("0");
         Label maxScoreLabel = new Label("MAXIMUM");
-        Label maxScoreValue = new Label("125");
+        maxScoreValue = new Label("-");
 
-        scoreLabel.setStyle(scoreLabelStyle);
-        maxScoreLabel.setStyle(scoreLabelStyle);
-        scoreValue.setStyle(scoreValueStyle);
-        maxScoreValue.setStyle(scoreValueStyle);
+        scoreLabel.getStyleClass().add("score-label");
+        maxScoreLabel.getStyleClass().add("score-label");
+        scoreValue.getStyleClass().add("score-value");
+        maxScoreValue.getStyleClass().add("score-value");
 
         // Center align all labels
         scoreLabel.setAlignment(Pos.CENTER);
@@ -564,11 +491,13 @@ public class GraphicalInterface extends Application {
 
         // Button Actions
         solutionButton.setOnAction(event -> {
-            if (selectedWord != null) {
+            if (selectedWord > 0) {
+                String solution = game.revealSolution(sessionId, selectedWord);
+
                 Alert solutionDialog = new Alert(Alert.AlertType.INFORMATION);
                 solutionDialog.setTitle("Solution");
                 solutionDialog.setHeaderText("Solution for the Selected Word");
-                solutionDialog.setContentText("The solution is: " + selectedWord.getSolution());
+                solutionDialog.setContentText("The solution is: " + solution);
 
                 DialogPane dialogPane = solutionDialog.getDialogPane();
                 dialogPane.setStyle("""
@@ -578,38 +507,23 @@ public class GraphicalInterface extends Application {
 
                 solutionDialog.showAndWait();
 
-                // Reset selection without changing button size
-                if (selectedButton != null) {
-                    selectedButton.setStyle(selectedButton.getStyle()
-                            .replace("-fx-background-color: #FFA726;", "-fx-background-color: #FFF59D;"));
-                    selectedButton = null;
-                }
-                selectedWord = null;
+                gridView.refreshWordStates();
+                gridView.setSelectedWord(0);
+                selectedWord = 0;
 
-                // Remove guess box
-                VBox gameControlsSection1 = (VBox) controlsBox.getChildren().get(0);
-                gameControlsSection1.getChildren().removeIf(node ->
-                        node instanceof HBox && "guessBox".equals(node.getId()));
+                // Remove guess box and its near miss label, no word is selected
+                createGuessInputSection();
             }
         });
 
         lettersButton.setOnAction(event -> {
-            if (selectedWord != null) {
-                List<Character> shuffledLetters = new ArrayList<>();
-                for (char c : selectedWord.getSolution().toCharArray()) {
-                    shuffledLetters.add(c);
-                }
-                Collections.shuffle(shuffledLetters);
-
-                StringBuilder shuffledString = new StringBuilder();
-                for (char c : shuffledLetters) {
-                    shuffledString.append(c);
-                }
+            if (selectedWord > 0) {
+                String shuffledString = game.revealLetters(sessionId, selectedWord);
 
                 Alert lettersDialog = new Alert(Alert.AlertType.INFORMATION);
                 lettersDialog.setTitle("Shuffled Letters");
                 lettersDialog.setHeaderText("Here are the shuffled letters:");
-                lettersDialog.setContentText(shuffledString.toString());
+                lettersDialog.setContentText(shuffledString);
 
                 DialogPane dialogPane = lettersDialog.getDialogPane();
                 dialogPane.setStyle("""
@@ -619,18 +533,12 @@ public class GraphicalInterface extends Application {
 
                 lettersDialog.showAndWait();
 
-                // Reset selection without changing button size
-                if (selectedButton != null) {
-                    selectedButton.setStyle(selectedButton.getStyle()
-                            .replace("-fx-background-color: #FFA726;", "-fx-background-color: #FFF59D;"));
-                    selectedButton = null;
-                }
-                selectedWord = null;
+                gridView.refreshWordStates();
+                gridView.setSelectedWord(0);
+                selectedWord = 0;
 
-                // Remove guess box
-                VBox gameControlsSection2 = (VBox) controlsBox.getChildren().get(0);
-                gameControlsSection2.getChildren().removeIf(node ->
-                        node instanceof HBox && "guessBox".equals(node.getId()));
+                // Remove guess box and its near miss label, no word is selected
+                createGuessInputSection();
             }
         });
 
@@ -660,29 +568,79 @@ public class GraphicalInterface extends Application {
             helpDialog.showAndWait();
         });
 
-        loadWords("src/data.txt");
-        loadGrid("src/grid.txt");
-        applyThemeColors(currentTheme);
-        populateGridPane(crosswordGrid);
+        applyThemeColors(repository.theme(currentPuzzle));
 
         Scene scene = new Scene(root, 1100, 950); // Increased width to accommodate larger controls
+        scene.getStylesheets().add(ThemeStylesheet.url(themeColorSchemes));
+        frameTimer.install(scene);
         primaryStage.setScene(scene);
         primaryStage.show();
+
+        // the window shows up at once, the first grid follows when the journal is replayed and the
+        // puzzle loaded
+        frameTimer.startPending("startup");
+        CompletableFuture.supplyAsync(() -> {
+            GameServer server = openGame();
+            recordEvents(server);
+            return server;
+        }, loaderThreads).thenAcceptAsync(server -> {
+            game = server;
+            themeDropdown.setDisable(false);
+            switchPuzzle(currentPuzzle);
+        }, Platform::runLater);
     }
 
-    private void loadWords(String filename) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            String line = br.readLine(); // Reading the Theme
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(";", 3);
-                boolean isHorizontal = parts[0].trim().equalsIgnoreCase("H");
-                String clue = parts[1].replace("\"", "").trim();
-                String solution = parts[2].trim();
-                Word word = new Word(clue, solution, isHorizontal, -1, -1);
-                words.add(word);
+    // Replays the journal of the previous runs, on a loader thread. The moves are not waited for,
+    // the journal forces them to disk within a few milliseconds and the FX thread never blocks on
+    // it. If the journal cannot be opened the games are not saved.
+    private GameServer openGame() {
+        Path journalDir = Path.of(System.getProperty("crossword.journalDir",
+                Path.of(System.getProperty("user.home"), ".crossword", "journal").toString()));
+        MoveJournal journal = null;
+        try {
+            journal = MoveJournal.open(journalDir);
+            GameServer server = new GameServer(new SessionStore(1), journal, false);
+            server.recover(this::readPuzzle);
+            return server;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Progress will not be saved, cannot open the journal " + journalDir + ": " + e.getMessage());
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException ignored) {
+                    // already reported
+                }
+            }
+            return new GameServer(new SessionStore(1));
+        }
+    }
+
+    // With -Dcrossword.eventDir=dir the moves are also logged there for ClueReport
+    private static void recordEvents(GameServer server) {
+        String eventDir = System.getProperty("crossword.eventDir");
+        if (eventDir != null) {
+            try {
+                server.eventLog(EventLog.open(Path.of(eventDir)));
+            } catch (IOException e) {
+                System.err.println("Events will not be recorded, cannot open " + eventDir + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void stop() throws IOException {
+        if (Boolean.getBoolean("crossword.metrics")) {
+            System.out.print(GameMetrics.get().dump());
+        }
+        loaderThreads.shutdownNow();
+        try {
+            if (game != null) {
+                game.close();
+            }
+        } finally {
+            if (repository != null) {
+                repository.close();
             }
-        } catch (IOException e) {
-            System.err.println("Error loading words: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package org.example.crossword.controller;
+
+import javafx.scene.Node;
+import org.example.crossword.engine.GameSession;
+
+// Displays the cells of a game and reports the clicks on the numbered cells.
+// Cells are addressed by their row-major index, which is also their slot in the session.
+interface GridView {
+    double CELL_SIZE = 50;
+    double GAP = 5;
+
+    // Called with the number of the word whose start cell was clicked
+    interface WordClickHandler {
+        void clicked(int wordNumber, int clickCount);
+    }
+
+    Node getNode();
+
+    // Builds the cells of a new game
+    void show(GameSession session, ThemeColors colors, WordClickHandler onWordClicked);
+
+    // Removes every cell
+    void clear();
+
+    // Highlights the start cell of the selected word, 0 to remove the highlight
+    void setSelectedWord(int wordNumber);
+
+    // Restyles the cells of the words solved or revealed since the last call
+    void refreshWordStates();
+
+    // Repaints the cells whose displayed value changed in the session and marks them rendered
+    void renderDirtyCells();
+}
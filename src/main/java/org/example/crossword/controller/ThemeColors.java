@@ -0,0 +1,34 @@
+package org.example.crossword.controller;
+
+// Colors of a theme, as CSS color strings (#rrggbb)
+class ThemeColors {
+    final String primary;      // Main theme color
+    final String background;   // Background color
+    final String gridBg;      // Grid background
+    final String cellBg;      // Normal cell background
+    final String highlight;    // Selected/highlighted cell
+    final String lettersBg;    // Cell of a word solved after a LETTERS hint
+    final String revealedBg;   // Cell of a word whose solution was shown
+
+    ThemeColors(String primary, String background, String gridBg, String cellBg, String highlight) {
+        this.primary = primary;
+        this.background = background;
+        this.gridBg = gridBg;
+        this.cellBg = cellBg;
+        this.highlight = highlight;
+        this.lettersBg = mix(cellBg, "#ffffff", 0.55);
+        this.revealedBg = mix(cellBg, "#9e9e9e", 0.6);
+    }
+
+    // Color between a (t = 0) and b (t = 1)
+    static String mix(String a, String b, double t) {
+        int x = Integer.parseInt(a.substring(1), 16);
+        int y = Integer.parseInt(b.substring(1), 16);
+        int rgb = 0;
+        for (int shift = 16; shift >= 0; shift -= 8) {
+            int c = (int) Math.round(((x >> shift) & 0xFF) * (1 - t) + ((y >> shift) & 0xFF) * t);
+            rgb |= c << shift;
+        }
+        return String.format("#%06x", rgb);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.crossword.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+
+// Stylesheet of the game generated from the theme colors. The rules of a theme are scoped by
+// a style class on the root node, so switching theme toggles one class, and the state of a cell
+// is a pseudo-class: nothing is parsed after the stylesheet is loaded.
+final class ThemeStylesheet {
+    private static final String BASE = """
+        .title { -fx-font-size: 24px; -fx-font-weight: bold; -fx-padding: 0 0 0 225; }
+        .section-label { -fx-font-size: 14px; -fx-font-weight: bold; }
+        .dropdown { -fx-background-radius: 5; -fx-padding: 5; -fx-background-color: #f5f5f5; }
+        .grid-container { -fx-background-radius: 10; }
+        .panel { -fx-background-color: #f5f5f5; -fx-background-radius: 10; }
+        .action-button {
+            -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 20; -fx-background-radius: 5;
+            -fx-cursor: hand; -fx-font-size: 14px; -fx-min-width: 200px;
+        }
+        .action-button:hover { -fx-effect: dropshadow(three-pass-box, rgba(0,0,0,0.2), 5, 0, 0, 2); }
+        .score-label {
+            -fx-padding: 8 15; -fx-background-radius: 5; -fx-font-weight: bold; -fx-font-size: 14px;
+            -fx-min-width: 200px; -fx-alignment: center;
+        }
+        .score-value { -fx-font-size: 24px; -fx-font-weight: bold; -fx-alignment: center; }
+        .guess-input { -fx-padding: 8 15; -fx-background-radius: 5; -fx-font-size: 12px; }
+        .guess-input:near-miss { -fx-border-color: #f5a623; -fx-border-width: 2; -fx-border-radius: 5; }
+        .near-miss-label { -fx-text-fill: #b7791f; -fx-font-weight: bold; -fx-font-size: 12px; }
+        .submit-button {
+            -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 8 15; -fx-background-radius: 5;
+            -fx-cursor: hand; -fx-font-size: 10px;
+        }
+        .cell {
+            -fx-background-radius: 5; -fx-font-family: 'Arial'; -fx-font-weight: bold; -fx-font-size: 14px;
+            -fx-min-width: 50px; -fx-min-height: 50px; -fx-max-width: 50px; -fx-max-height: 50px;
+        }
+        .block-cell { -fx-background-color: #e0e0e0; }
+        """;
+
+    private ThemeStylesheet() {
+    }
+
+    // Style class of the root node for a theme
+    static String themeClass(String theme) {
+        return "theme-" + theme.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+
+    static String css(Map<String, ThemeColors> themes) {
+        StringBuilder css = new StringBuilder(BASE);
+        themes.forEach((theme, colors) -> {
+            String scope = "." + themeClass(theme);
+            css.append(scope).append(" { -fx-background-color: ").append(colors.background).append("; }\n");
+            rule(css, scope, ".grid-container", "-fx-background-color: " + colors.gridBg);
+            rule(css, scope, ".title", "-fx-text-fill: " + colors.primary);
+            rule(css, scope, ".action-button", "-fx-background-color: " + colors.primary);
+            rule(css, scope, ".action-button:hover", "-fx-background-color: " + ThemeColors.mix(colors.primary, "#000000", 0.1));
+            rule(css, scope, ".submit-button", "-fx-background-color: " + colors.primary);
+            rule(css, scope, ".score-label", "-fx-background-color: " + colors.highlight);
+            rule(css, scope, ".score-value", "-fx-text-fill: " + colors.primary);
+            rule(css, scope, ".number-cell", "-fx-background-color: " + colors.cellBg);
+            rule(css, scope, ".number-cell:selected", "-fx-background-color: " + colors.highlight);
+            rule(css, scope, ".letter-cell:solved-clean", "-fx-background-color: " + colors.cellBg);
+            rule(css, scope, ".letter-cell:solved-with-letters", "-fx-background-color: " + colors.lettersBg);
+            rule(css, scope, ".letter-cell:revealed", "-fx-background-color: " + colors.revealedBg);
+        });
+        return css.toString();
+    }
+
+    private static void rule(StringBuilder css, String scope, String selector, String declaration) {
+        css.append(scope).append(' ').append(selector).append(" { ").append(declaration).append("; }\n");
+    }
+
+    // data: URL of the stylesheet, to be added to a scene without writing a file
+    static String url(Map<String, ThemeColors> themes) {
+        return "data:text/css;base64," + Base64.getEncoder().encodeToString(css(themes).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.crossword.engine;
+
+import org.example.crossword.model.Puzzle;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+// Rules of the game for one puzzle, without any user interface.
+// The engine only holds the immutable puzzle and can be shared by any number of sessions.
+public class GameEngine {
+    private final Puzzle puzzle;
+
+    public GameEngine(Puzzle puzzle) {
+        this.puzzle = puzzle;
+    }
+
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    public GameSession newSession() {
+        return new GameSession(puzzle);
+    }
+
+    public GameSession newSession(long seed) {
+        return new GameSession(puzzle, seed);
+    }
+
+    // A session saved with GameSession.writeState on this puzzle
+    public GameSession restoreSession(DataInput in) throws IOException {
+        return GameSession.readState(puzzle, in);
+    }
+}
@@ -0,0 +1,453 @@
+package org.example.crossword.engine;
+
+import org.example.crossword.metrics.GameMetrics;
+import org.example.crossword.model.AnswerNormalizer;
+import org.example.crossword.model.Puzzle;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// State of one player on a puzzle: selection, current answers, solved words and score.
+// Answers are stored per slot (grid cell), so a letter typed where two words cross belongs
+// to both of them. Letters are checked as they change: a bitset tracks the correct letters,
+// so validating a word is a counter comparison and the guess path does not allocate.
+// Input is folded like the solutions (AnswerNormalizer): accents, apostrophes and case are ignored.
+// A wrong guess one edit away from the solution is a NEAR_MISS (see Puzzle.getDistance), it counts
+// as an attempt and its letters are placed when it has the right length.
+// The cells of a solved word are locked: they are never cleared nor overwritten.
+// A session is meant to be used by one thread at a time.
+public class GameSession {
+    public static final byte NO_HINT = 0;           // word not helped
+    public static final byte LETTERS_HINT = 1;      // scrambled letters shown
+    public static final byte SOLUTION_HINT = 2;     // solution shown
+
+    private final Puzzle puzzle;
+    private final char[] answers;       // current letter of each slot, ' ' if empty
+    private final long[] locked;        // bitset of the slots of solved words
+    private final long[] dirty;         // bitset of the slots whose displayed value changed
+    private final long[] correct;       // bitset of the letters (flat offsets) matching the solution
+    private final int[] correctCount;   // number of correct letters of each word
+    private final long[] solved;        // bitset of solved words, bit n - 1 for word n
+    private final int[] attempts;       // guesses checked for each word
+    private final byte[] folded;        // folded guess, one more than the longest solution
+    private final HintService hints;
+    private final ScoreCard scoreCard;
+    private int selectedWord;           // selected word number, 0 if none
+
+    GameSession(Puzzle puzzle) {
+        this(puzzle, new SplittableRandom().nextLong());
+    }
+
+    GameSession(Puzzle puzzle, long seed) {
+        this.puzzle = puzzle;
+        this.answers = new char[puzzle.getSlotCount()];
+        this.locked = new long[(answers.length + 63) >>> 6];
+        this.dirty = new long[(answers.length + 63) >>> 6];
+        this.correct = new long[(puzzle.getTotalLetters() + 63) >>> 6];
+        this.correctCount = new int[puzzle.getWordCount()];
+        this.solved = new long[(puzzle.getWordCount() + 63) >>> 6];
+        this.attempts = new int[puzzle.getWordCount()];
+        int longest = 0;
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            longest = Math.max(longest, puzzle.getLength(n));
+        }
+        this.folded = new byte[longest + 1];
+        this.hints = new HintService(puzzle, seed);
+        this.scoreCard = new ScoreCard(puzzle);
+        Arrays.fill(answers, ' ');
+    }
+
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    // Selects a word, the unvalidated answer of the previously selected word is cleared
+    public Outcome select(int wordNumber) {
+        if (!puzzle.hasWord(wordNumber) || puzzle.getCellCount(wordNumber) == 0 || isSolved(wordNumber)) {
+            return Outcome.REJECTED;
+        }
+        if (selectedWord != 0 && selectedWord != wordNumber && !isSolved(selectedWord)) {
+            clearAnswer(selectedWord);
+        }
+        selectedWord = wordNumber;
+        return Outcome.SELECTED;
+    }
+
+    // Checks a guess for the selected word, the word is unselected once solved.
+    // The validation time of each guess goes to GameMetrics.
+    public Outcome guess(CharSequence guess) {
+        long begin = System.nanoTime();
+        Outcome outcome = check(guess);
+        GameMetrics.get().guessed(begin, outcome.name());
+        return outcome;
+    }
+
+    private Outcome check(CharSequence guess) {
+        if (selectedWord == 0 || guess == null) {
+            return Outcome.REJECTED;
+        }
+        int length = puzzle.getLength(selectedWord);
+        int typed = AnswerNormalizer.fold(guess, folded);
+        if (typed != length) {
+            if (typed < 0 || Math.abs(typed - length) > 1 || puzzle.getDistance(selectedWord, folded, typed) != 1) {
+                return Outcome.INVALID_LENGTH;
+            }
+            attempts[selectedWord - 1]++;
+            return Outcome.NEAR_MISS;
+        }
+        // locked cells keep the letter of the solved word crossing them, the guess must match it too
+        int offset = puzzle.getLetterOffset(selectedWord);
+        boolean lockedMismatch = false;
+        for (int i = 0; i < length; i++) {
+            int slot = puzzle.getSlot(offset + i);
+            if (testBit(locked, slot) && folded[i] != puzzle.getExpectedLetter(offset + i)) {
+                lockedMismatch = true;
+            }
+            setSlot(slot, (char) folded[i]);
+        }
+        Outcome outcome;
+        if (lockedMismatch) {
+            attempts[selectedWord - 1]++;
+            outcome = Outcome.WRONG;
+        } else {
+            outcome = submit();
+        }
+        // a wrong guess leaves the word selected
+        return outcome == Outcome.WRONG && puzzle.getDistance(selectedWord, folded, length) == 1
+                ? Outcome.NEAR_MISS : outcome;
+    }
+
+    // Types one letter of the selected word, returns true if the cell now holds the right letter.
+    // An accent or an apostrophe alone changes nothing.
+    public boolean type(int position, char letter) {
+        byte typed = AnswerNormalizer.foldChar(letter);
+        if (selectedWord == 0 || position < 0 || position >= puzzle.getLength(selectedWord)
+                || typed == AnswerNormalizer.DROP) {
+            return false;
+        }
+        int at = puzzle.getLetterOffset(selectedWord) + position;
+        setSlot(puzzle.getSlot(at), (char) typed);
+        return testBit(correct, at);
+    }
+
+    // Erases one letter of the selected word, locked cells are kept
+    public void erase(int position) {
+        if (selectedWord != 0 && position >= 0 && position < puzzle.getLength(selectedWord)) {
+            setSlot(puzzle.getSlot(puzzle.getLetterOffset(selectedWord) + position), ' ');
+        }
+    }
+
+    // Validates the letters typed so far for the selected word, the word is unselected once solved
+    public Outcome submit() {
+        if (selectedWord == 0) {
+            return Outcome.REJECTED;
+        }
+        attempts[selectedWord - 1]++;
+        if (correctCount[selectedWord - 1] != puzzle.getLength(selectedWord)) {
+            return Outcome.WRONG;
+        }
+        solve(selectedWord);
+        selectedWord = 0;
+        return Outcome.SOLVED;
+    }
+
+    // Marks the word solved and locks its cells. A crossing word whose letters are now all
+    // correct is solved as well, which only takes a look at its counter.
+    private void solve(int wordNumber) {
+        solved[(wordNumber - 1) >>> 6] |= 1L << (wordNumber - 1);
+        scoreCard.solved(wordNumber, hints.getLevel(wordNumber));
+
+        int offset = puzzle.getLetterOffset(wordNumber);
+        for (int i = 0; i < puzzle.getLength(wordNumber); i++) {
+            int slot = puzzle.getSlot(offset + i);
+            locked[slot >>> 6] |= 1L << slot;
+        }
+        for (int i = 0; i < puzzle.getLength(wordNumber); i++) {
+            int crossing = crossingWord(puzzle.getSlot(offset + i), wordNumber);
+            if (crossing != 0 && !isSolved(crossing) && isComplete(crossing)) {
+                solve(crossing);
+            }
+        }
+    }
+
+    // The other word going through a slot, 0 if none
+    private int crossingWord(int slot, int wordNumber) {
+        for (int k = 0; k < 2; k++) {
+            int letter = puzzle.getSlotLetter(slot, k);
+            if (letter >= 0 && puzzle.getLetterWord(letter) != wordNumber) {
+                return puzzle.getLetterWord(letter);
+            }
+        }
+        return 0;
+    }
+
+    // Stores a letter in a slot and updates the words going through it
+    private void setSlot(int slot, char letter) {
+        if (answers[slot] == letter || testBit(locked, slot)) {
+            return;
+        }
+        char displayed = getCellDisplay(slot);
+        answers[slot] = letter;
+
+        for (int k = 0; k < 2; k++) {
+            int at = puzzle.getSlotLetter(slot, k);
+            if (at < 0) {
+                break;
+            }
+            boolean wasCorrect = testBit(correct, at);
+            boolean isCorrect = letter == puzzle.getExpectedLetter(at);
+            if (wasCorrect != isCorrect) {
+                correct[at >>> 6] ^= 1L << at;
+                correctCount[puzzle.getLetterWord(at) - 1] += isCorrect ? 1 : -1;
+            }
+        }
+        if (displayed != getCellDisplay(slot)) {
+            dirty[slot >>> 6] |= 1L << slot;
+        }
+    }
+
+    // Returns the letters of the selected word in random order and unselects it, null if none is selected.
+    // A word shows the same scramble every time.
+    public String revealLetters() {
+        if (selectedWord == 0) {
+            return null;
+        }
+        String letters = hints.letters(selectedWord);
+        useHint(LETTERS_HINT);
+        return letters;
+    }
+
+    // Returns the solution of the selected word and unselects it, null if none is selected
+    public String revealSolution() {
+        if (selectedWord == 0) {
+            return null;
+        }
+        String solution = puzzle.getSolution(selectedWord);
+        useHint(SOLUTION_HINT);
+        return solution;
+    }
+
+    private void useHint(byte hint) {
+        GameMetrics.get().hintShown(hint == SOLUTION_HINT);
+        takeHint(hint);
+    }
+
+    private void takeHint(byte hint) {
+        byte before = hints.getLevel(selectedWord);
+        hints.use(selectedWord, hint);
+        scoreCard.helped(selectedWord, before, hints.getLevel(selectedWord));
+        selectedWord = 0;
+    }
+
+    public Outcome apply(Move move) {
+        return switch (move.type()) {
+            case SELECT -> select(move.wordNumber());
+            case GUESS -> guess(move.guess());
+            case REVEAL_LETTERS -> revealLetters() != null ? Outcome.HINT : Outcome.REJECTED;
+            case REVEAL_SOLUTION -> revealSolution() != null ? Outcome.HINT : Outcome.REJECTED;
+        };
+    }
+
+    // Applies a move already counted in GameMetrics when it was first made, as recovering from
+    // a journal does: the session ends up in the same state as with apply
+    public Outcome replay(Move move) {
+        return switch (move.type()) {
+            case SELECT -> select(move.wordNumber());
+            case GUESS -> check(move.guess());
+            case REVEAL_LETTERS, REVEAL_SOLUTION -> {
+                if (selectedWord == 0) {
+                    yield Outcome.REJECTED;
+                }
+                takeHint(move.type() == Move.Type.REVEAL_SOLUTION ? SOLUTION_HINT : LETTERS_HINT);
+                yield Outcome.HINT;
+            }
+        };
+    }
+
+    // Applies the moves in order and returns how many of them were not rejected
+    public int applyBatch(List<Move> moves) {
+        int accepted = 0;
+        for (int i = 0, n = moves.size(); i < n; i++) {
+            if (apply(moves.get(i)) != Outcome.REJECTED) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    // Empties the cells of a word, except the locked ones shared with solved words
+    private void clearAnswer(int wordNumber) {
+        int offset = puzzle.getLetterOffset(wordNumber);
+        for (int i = 0; i < puzzle.getLength(wordNumber); i++) {
+            setSlot(puzzle.getSlot(offset + i), ' ');
+        }
+    }
+
+    // Writes what readState needs to rebuild the session: the seed, the selection, the letter of
+    // each slot, the hint level, attempts and state of each word. The rest is derived from them.
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(hints.getSeed());
+        out.writeInt(selectedWord);
+        out.writeInt(answers.length);
+        for (char letter : answers) {
+            out.writeByte(letter);
+        }
+        out.writeInt(puzzle.getWordCount());
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            out.writeByte(hints.getLevel(n) | (isSolved(n) ? 0x80 : 0));
+            out.writeInt(attempts[n - 1]);
+        }
+        out.writeInt(hints.getHintsUsed());
+    }
+
+    static GameSession readState(Puzzle puzzle, DataInput in) throws IOException {
+        GameSession session = new GameSession(puzzle, in.readLong());
+        int selectedWord = in.readInt();
+        if (in.readInt() != session.answers.length) {
+            throw new IOException("Saved session does not match the puzzle " + puzzle.getTheme());
+        }
+        // letters first, their correctness is computed as if they had been typed
+        for (int slot = 0; slot < session.answers.length; slot++) {
+            session.setSlot(slot, (char) in.readUnsignedByte());
+        }
+        if (in.readInt() != puzzle.getWordCount()) {
+            throw new IOException("Saved session does not match the puzzle " + puzzle.getTheme());
+        }
+        byte[] levels = new byte[puzzle.getWordCount()];
+        long[] solvedWords = new long[session.solved.length];
+        for (int n = 1; n <= levels.length; n++) {
+            int saved = in.readUnsignedByte();
+            levels[n - 1] = (byte) (saved & 0x7f);
+            if (levels[n - 1] > SOLUTION_HINT) {
+                throw new IOException("Invalid hint level " + levels[n - 1] + " for word " + n);
+            }
+            if ((saved & 0x80) != 0) {
+                solvedWords[(n - 1) >>> 6] |= 1L << (n - 1);
+            }
+            session.attempts[n - 1] = in.readInt();
+        }
+        session.hints.restore(levels, in.readInt());
+        // a word is never helped once solved, so its level is the one it was solved with
+        for (int n = 1; n <= levels.length; n++) {
+            session.scoreCard.helped(n, NO_HINT, levels[n - 1]);
+            if ((solvedWords[(n - 1) >>> 6] & (1L << (n - 1))) != 0) {
+                session.solved[(n - 1) >>> 6] |= 1L << (n - 1);
+                session.scoreCard.solved(n, levels[n - 1]);
+                int offset = puzzle.getLetterOffset(n);
+                for (int i = 0; i < puzzle.getLength(n); i++) {
+                    int slot = puzzle.getSlot(offset + i);
+                    session.locked[slot >>> 6] |= 1L << slot;
+                }
+            }
+        }
+        session.selectedWord = puzzle.hasWord(selectedWord) && !session.isSolved(selectedWord) ? selectedWord : 0;
+        return session;
+    }
+
+    public int getSelectedWord() {
+        return selectedWord;
+    }
+
+    public boolean isSolved(int wordNumber) {
+        return (solved[(wordNumber - 1) >>> 6] & (1L << (wordNumber - 1))) != 0;
+    }
+
+    // True if every letter of the word is right, solved or not
+    public boolean isComplete(int wordNumber) {
+        return correctCount[wordNumber - 1] == puzzle.getLength(wordNumber);
+    }
+
+    // True if the current answer has the right letter at the given position
+    public boolean isCorrectAt(int wordNumber, int position) {
+        return testBit(correct, puzzle.getLetterOffset(wordNumber) + position);
+    }
+
+    public boolean isLocked(int slot) {
+        return testBit(locked, slot);
+    }
+
+    // What a cell shows: ' ' if empty, the letter if it is right for every word through it, '-' otherwise
+    public char getCellDisplay(int slot) {
+        char letter = answers[slot];
+        if (letter == ' ') {
+            return ' ';
+        }
+        for (int k = 0; k < 2; k++) {
+            int at = puzzle.getSlotLetter(slot, k);
+            if (at >= 0 && !testBit(correct, at)) {
+                return '-';
+            }
+        }
+        return letter;
+    }
+
+    // What the cell of a letter of a word shows
+    public char getDisplayChar(int wordNumber, int position) {
+        return getCellDisplay(puzzle.getSlot(puzzle.getLetterOffset(wordNumber) + position));
+    }
+
+    // First slot from the given one whose displayed value changed since clearDirty, -1 if none
+    public int nextDirtySlot(int fromSlot) {
+        int word = fromSlot >>> 6;
+        if (word >= dirty.length) {
+            return -1;
+        }
+        long bits = dirty[word] & (-1L << fromSlot);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == dirty.length) {
+                return -1;
+            }
+            bits = dirty[word];
+        }
+    }
+
+    // Marks every cell as rendered
+    public void clearDirty() {
+        Arrays.fill(dirty, 0);
+    }
+
+    private static boolean testBit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public char getAnswerLetter(int wordNumber, int position) {
+        return answers[puzzle.getSlot(puzzle.getLetterOffset(wordNumber) + position)];
+    }
+
+    public String getCurrentAnswer(int wordNumber) {
+        int offset = puzzle.getLetterOffset(wordNumber);
+        char[] letters = new char[puzzle.getLength(wordNumber)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = answers[puzzle.getSlot(offset + i)];
+        }
+        return new String(letters);
+    }
+
+    // Guesses checked for the word, solving one included
+    public int getAttempts(int wordNumber) {
+        return attempts[wordNumber - 1];
+    }
+
+    public byte getHint(int wordNumber) {
+        return hints.getLevel(wordNumber);
+    }
+
+    public HintService getHints() {
+        return hints;
+    }
+
+    public int getScore() {
+        return scoreCard.getScore();
+    }
+
+    public ScoreCard getScoreCard() {
+        return scoreCard;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.crossword.engine;
+
+import org.example.crossword.model.Puzzle;
+
+// Hints of one session: the strongest hint used for each word, read by the scoring and the
+// display, and the scrambled letters of the LETTERS hint. A scramble only depends on the seed of
+// the session and the word number, so a word shows the same scramble every time it is asked for.
+// The last scrambles are cached as strings, one evicted from the cache is computed again and
+// comes out the same. Scrambling shuffles a reused char[] with an inline SplitMix64 generator,
+// the one behind SplittableRandom, so the only allocation is the string of a scramble not cached.
+public final class HintService {
+    static final int CACHE_SIZE = 16;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final Puzzle puzzle;
+    private final long seed;
+    private final byte[] levels;        // strongest hint used for each word, see GameSession.*_HINT
+    private final char[] buffer;        // letters being scrambled, as long as the longest solution
+    private final int[] cachedWords = new int[CACHE_SIZE];          // word of each cache entry, 0 if empty
+    private final String[] cachedScrambles = new String[CACHE_SIZE];
+    private int nextEviction;           // entries are replaced in a round robin
+    private int hintsUsed;
+
+    HintService(Puzzle puzzle, long seed) {
+        this.puzzle = puzzle;
+        this.seed = seed;
+        this.levels = new byte[puzzle.getWordCount()];
+        int longest = 0;
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            longest = Math.max(longest, puzzle.getSolution(n).length());
+        }
+        this.buffer = new char[longest];
+    }
+
+    // Scrambled letters of a word, the same string for a word as long as it stays in the cache
+    public String letters(int wordNumber) {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            if (cachedWords[i] == wordNumber) {
+                return cachedScrambles[i];
+            }
+        }
+        String scramble = new String(buffer, 0, scramble(wordNumber, buffer));
+        cachedWords[nextEviction] = wordNumber;
+        cachedScrambles[nextEviction] = scramble;
+        nextEviction = (nextEviction + 1) % CACHE_SIZE;
+        return scramble;
+    }
+
+    // Writes the scrambled letters of a word at the start of into and returns their number
+    public int scramble(int wordNumber, char[] into) {
+        String solution = puzzle.getSolution(wordNumber);
+        int length = solution.length();
+        solution.getChars(0, length, into, 0);
+        long state = mix(seed + wordNumber * GOLDEN_GAMMA);
+        for (int i = length - 1; i > 0; i--) {
+            state += GOLDEN_GAMMA;
+            // high bits of the random value times the bound, uniform enough for a word length
+            int j = (int) (((mix(state) >>> 32) * (i + 1)) >>> 32);
+            char tmp = into[i];
+            into[i] = into[j];
+            into[j] = tmp;
+        }
+        return length;
+    }
+
+    // SplitMix64 output function
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // Records a hint shown for a word, a weaker hint than one already used changes nothing
+    void use(int wordNumber, byte level) {
+        hintsUsed++;
+        if (level > levels[wordNumber - 1]) {
+            levels[wordNumber - 1] = level;
+        }
+    }
+
+    // Hint levels and count of a saved session, see GameSession.readState
+    void restore(byte[] savedLevels, int savedHintsUsed) {
+        System.arraycopy(savedLevels, 0, levels, 0, levels.length);
+        hintsUsed = savedHintsUsed;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    public byte getLevel(int wordNumber) {
+        return levels[wordNumber - 1];
+    }
+
+    // Number of hints shown, the same hint shown twice counts twice
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+}
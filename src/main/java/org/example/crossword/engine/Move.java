@@ -0,0 +1,25 @@
+package org.example.crossword.engine;
+
+// A player action, applied to a session with GameSession.apply or GameSession.applyBatch
+public record Move(Type type, int wordNumber, String guess) {
+    public enum Type {
+        SELECT, GUESS, REVEAL_LETTERS, REVEAL_SOLUTION
+    }
+
+    public static Move select(int wordNumber) {
+        return new Move(Type.SELECT, wordNumber, null);
+    }
+
+    // Guesses the selected word
+    public static Move guess(String guess) {
+        return new Move(Type.GUESS, 0, guess);
+    }
+
+    public static Move revealLetters() {
+        return new Move(Type.REVEAL_LETTERS, 0, null);
+    }
+
+    public static Move revealSolution() {
+        return new Move(Type.REVEAL_SOLUTION, 0, null);
+    }
+}
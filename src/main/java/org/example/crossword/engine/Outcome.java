@@ -0,0 +1,12 @@
+package org.example.crossword.engine;
+
+// Result of a move applied to a game session
+public enum Outcome {
+    SELECTED,           // the word is now selected
+    SOLVED,             // the guess matches the solution
+    WRONG,              // the guess has the right length but does not match
+    INVALID_LENGTH,     // the guess does not have the length of the solution
+    NEAR_MISS,          // the guess is one wrong, missing, extra or swapped letter from the solution
+    HINT,               // letters or solution have been revealed
+    REJECTED            // the move is not allowed (no selection, solved or unknown word)
+}
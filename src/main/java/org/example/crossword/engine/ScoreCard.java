@@ -0,0 +1,55 @@
+package org.example.crossword.engine;
+
+import org.example.crossword.model.Puzzle;
+
+// Score of one session. A word found from its clue alone is worth twice its length, once its
+// length after a LETTERS hint and nothing after a SOLUTION hint. The score and the best score
+// still reachable (what is left if every open word is found without more help) are both updated
+// in O(1) when a word is solved or helped, the hint level of each word is kept by HintService.
+public final class ScoreCard {
+    private static final int[] MULTIPLIERS = {2, 1, 0};    // indexed by GameSession.*_HINT
+
+    private final Puzzle puzzle;
+    private int score;
+    private int reachable;
+    private int solvedWords;
+
+    ScoreCard(Puzzle puzzle) {
+        this.puzzle = puzzle;
+        this.reachable = puzzle.getMaxScore();
+    }
+
+    // Points of a word of the given length solved with the given hint level
+    public static int points(int length, byte hintLevel) {
+        return length * MULTIPLIERS[hintLevel];
+    }
+
+    // A word went from one hint level to a stronger one, what it can still earn drops
+    void helped(int wordNumber, byte before, byte after) {
+        int length = puzzle.getLength(wordNumber);
+        reachable -= points(length, before) - points(length, after);
+    }
+
+    void solved(int wordNumber, byte hintLevel) {
+        score += points(puzzle.getLength(wordNumber), hintLevel);
+        solvedWords++;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    // Score reached if every word not solved yet is found without more help
+    public int getReachable() {
+        return reachable;
+    }
+
+    // Score when every word is found without help
+    public int getMaxScore() {
+        return puzzle.getMaxScore();
+    }
+
+    public int getSolvedWords() {
+        return solvedWords;
+    }
+}
@@ -0,0 +1,348 @@
+package org.example.crossword.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.crossword.analytics.EventLog;
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.engine.Outcome;
+import org.example.crossword.io.PuzzleRepository;
+import org.example.crossword.journal.MoveJournal;
+import org.example.crossword.metrics.GameMetrics;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.server.GameServer;
+import org.example.crossword.server.Leaderboard;
+import org.example.crossword.server.SessionStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// HTTP/JSON front end of the game server, built on the JDK server with one virtual thread per exchange.
+// Parameters are read from the query string or from a form-encoded body.
+//   GET    /themes                                  available themes
+//   POST   /sessions?theme=Sports                   creates a session
+//   GET    /sessions/{id}/grid                      layout, clues and progress of the session
+//   POST   /sessions/{id}/guess?word=1&guess=...    submits a guess
+//   POST   /sessions/{id}/hint?word=1&type=letters  scrambled letters (type=letters) or solution (type=solution)
+//   GET    /sessions/{id}/score                     current, still reachable and maximum score
+//   GET    /leaderboard?theme=Sports&top=10         best sessions and score aggregates of a theme
+//   DELETE /sessions/{id}                           ends the session
+//   GET    /metrics                                 text dump of the game metrics, also published over JMX
+public class GameHttpServer {
+    static final int MAX_BODY_SIZE = 4096;      // larger request bodies are refused with 413
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final GameServer game;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public GameHttpServer(GameServer game, InetSocketAddress address) throws IOException {
+        // headers and body are written separately, without TCP_NODELAY every keep-alive
+        // response waits for the delayed ACK of the client (about 40 ms on Linux)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.game = game;
+        this.server = HttpServer.create(address, 1024);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.close();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Response response;
+            try {
+                response = route(exchange);
+            } catch (BodyTooLargeException e) {
+                exchange.getResponseHeaders().set("Connection", "close");
+                response = error(413, e.getMessage());
+            } catch (NoSuchElementException e) {
+                response = error(404, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                response = error(400, e.getMessage());
+            } catch (RuntimeException e) {
+                // a bug or a failing journal, the details stay in the server log
+                System.err.println("Error handling " + exchange.getRequestMethod() + " " + exchange.getRequestURI());
+                e.printStackTrace();
+                response = error(500, "Internal server error");
+            }
+            send(exchange, response);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring(1).split("/");
+        Map<String, String> params = params(exchange);
+
+        if (path.length == 1 && path[0].equals("themes")) {
+            if (!method.equals("GET")) return error(405, "Method not allowed");
+            Json json = new Json().beginObject().beginArray("themes");
+            new TreeSet<>(game.getPuzzleIds()).forEach(json::value);
+            return ok(json.endArray().endObject());
+        }
+        if (path.length == 1 && path[0].equals("leaderboard")) {
+            if (!method.equals("GET")) return error(405, "Method not allowed");
+            Leaderboard leaderboard = game.getLeaderboard(required(params, "theme"));
+            int top = params.containsKey("top") ? parseInt(params.get("top"), "top") : 10;
+            Json json = new Json().beginObject()
+                    .field("sessions", leaderboard.getScoredSessions())
+                    .field("best", leaderboard.getBestScore())
+                    .field("mean", leaderboard.getMeanScore())
+                    .beginArray("top");
+            for (Leaderboard.Entry entry : leaderboard.top(top)) {
+                json.beginObject().field("session", entry.sessionId()).field("score", entry.score()).endObject();
+            }
+            return ok(json.endArray().endObject());
+        }
+        if (path.length == 1 && path[0].equals("metrics")) {
+            if (!method.equals("GET")) return error(405, "Method not allowed");
+            return new Response(200, "text/plain; charset=utf-8", GameMetrics.get().dump());
+        }
+        if (path.length == 1 && path[0].equals("sessions")) {
+            if (!method.equals("POST")) return error(405, "Method not allowed");
+            long id = game.createSession(required(params, "theme"));
+            return ok(new Json().beginObject().field("session", id).endObject());
+        }
+        if (path.length < 2 || !path[0].equals("sessions")) {
+            return error(404, "Not found");
+        }
+
+        long id = parseLong(path[1], "session");
+        String action = path.length == 3 ? path[2] : "";
+        return switch (method + " " + action) {
+            case "GET grid" -> ok(game.withSession(id, this::gridJson));
+            case "POST guess" -> {
+                int word = parseInt(required(params, "word"), "word");
+                Outcome outcome = game.guess(id, word, required(params, "guess"));
+                yield ok(game.withSession(id, session -> guessJson(session, word, outcome)));
+            }
+            case "POST hint" -> {
+                int word = parseInt(required(params, "word"), "word");
+                String type = params.getOrDefault("type", "letters");
+                String hint = switch (type) {
+                    case "letters" -> game.revealLetters(id, word);
+                    case "solution" -> game.revealSolution(id, word);
+                    default -> throw new IllegalArgumentException("Unknown hint type " + type);
+                };
+                yield hint == null
+                        ? error(409, "Word " + word + " cannot be selected")
+                        : ok(new Json().beginObject().field("word", word).field("hint", hint).endObject());
+            }
+            case "GET score" -> ok(game.withSession(id, session -> new Json().beginObject()
+                    .field("score", session.getScore())
+                    .field("reachable", session.getScoreCard().getReachable())
+                    .field("max", session.getPuzzle().getMaxScore())
+                    .endObject()));
+            case "DELETE " -> game.endSession(id)
+                    ? ok(new Json().beginObject().field("ended", true).endObject())
+                    : error(404, "Unknown session " + id);
+            default -> error(404, "Not found");
+        };
+    }
+
+    private Json gridJson(GameSession session) {
+        Puzzle puzzle = session.getPuzzle();
+        Json json = new Json().beginObject()
+                .field("theme", puzzle.getTheme())
+                .field("rows", puzzle.getRows())
+                .field("cols", puzzle.getCols())
+                .beginArray("cells");
+        for (int row = 0; row < puzzle.getRows(); row++) {
+            for (int col = 0; col < puzzle.getCols(); col++) {
+                json.value(puzzle.getCellValue(row, col));
+            }
+        }
+        json.endArray().beginArray("words");
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            json.beginObject()
+                    .field("number", n)
+                    .field("horizontal", puzzle.isHorizontal(n))
+                    .field("length", puzzle.getLength(n))
+                    .field("clue", puzzle.getClue(n))
+                    .field("solved", session.isSolved(n))
+                    .field("answer", session.getCurrentAnswer(n))
+                    .endObject();
+        }
+        return json.endArray().field("score", session.getScore()).endObject();
+    }
+
+    private Json guessJson(GameSession session, int word, Outcome outcome) {
+        Json json = new Json().beginObject().field("outcome", outcome.name());
+        if (outcome == Outcome.SOLVED || outcome == Outcome.WRONG || outcome == Outcome.NEAR_MISS) {
+            json.beginArray("correct");
+            for (int i = 0; i < session.getPuzzle().getLength(word); i++) {
+                json.value(session.isCorrectAt(word, i) ? 1 : 0);
+            }
+            json.endArray();
+        }
+        return json.field("score", session.getScore()).endObject();
+    }
+
+    // Query string and form body parameters, the body is read up to MAX_BODY_SIZE bytes
+    private static Map<String, String> params(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && Long.parseLong(length.trim()) > MAX_BODY_SIZE) {
+            throw new BodyTooLargeException();
+        }
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(MAX_BODY_SIZE + 1);
+            if (bytes.length > MAX_BODY_SIZE) {
+                throw new BodyTooLargeException();
+            }
+            if (bytes.length > 0) {
+                parseForm(new String(bytes, StandardCharsets.UTF_8), params);
+            }
+        }
+        return params;
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+        return value;
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static long parseLong(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private record Response(int status, String contentType, String body) {
+    }
+
+    private static Response ok(Json json) {
+        return new Response(200, JSON, json.toString());
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, JSON, new Json().beginObject().field("error", message).endObject().toString());
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.contentType());
+        // a fixed length keeps the connection open for the next request
+        exchange.sendResponseHeaders(response.status(), bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static final class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLargeException() {
+            super("Request body larger than " + MAX_BODY_SIZE + " bytes");
+        }
+    }
+
+    // Loads the puzzles shipped in src into a game server, keyed by title (Sports, Nature, History)
+    public static GameServer loadDefaultThemes() throws IOException {
+        return loadDefaultThemes(new GameServer());
+    }
+
+    public static GameServer loadDefaultThemes(GameServer game) throws IOException {
+        return loadThemes(game, Path.of("src"));
+    }
+
+    // Loads the puzzles of a directory or of a pack written by PuzzlePackWriter, keyed by title
+    public static GameServer loadThemes(GameServer game, Path puzzles) throws IOException {
+        try (PuzzleRepository repository = PuzzleRepository.open(puzzles)) {
+            for (String id : repository.ids()) {
+                game.addPuzzle(repository.title(id), repository.load(id));
+            }
+        }
+        return game;
+    }
+
+    // Usage: GameHttpServer [port], listens on the loopback interface only.
+    // The themes are read from -Dcrossword.puzzleDir, a directory or a puzzle pack (src by default).
+    // With -Dcrossword.journalDir=dir the sessions are journaled there and resumed on restart,
+    // a move is answered once it is on disk. With -Dcrossword.eventDir=dir the moves are also logged
+    // there for ClueReport.
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        GameMetrics.get().register();
+        String journalDir = System.getProperty("crossword.journalDir");
+        GameServer game = journalDir == null ? new GameServer()
+                : new GameServer(new SessionStore(), MoveJournal.open(Path.of(journalDir)), true);
+        String eventDir = System.getProperty("crossword.eventDir");
+        if (eventDir != null) {
+            game.eventLog(EventLog.open(Path.of(eventDir)));
+        }
+        loadThemes(game, Path.of(System.getProperty("crossword.puzzleDir", "src")));
+        if (journalDir != null || eventDir != null) {
+            if (journalDir != null) {
+                game.recover(theme -> {
+                    throw new IOException("Unknown theme " + theme);
+                });
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    game.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, "game-close"));
+        }
+        GameHttpServer server = new GameHttpServer(game,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        server.start();
+        System.out.println("Crossword server listening on http://" + server.getAddress().getHostString() + ":" + port);
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.crossword.http;
+
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.server.GameServer;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Local load generator for the HTTP front end. Starts a server on the loopback interface unless
+// a port is given, then runs virtual-thread clients that each play their own session over one
+// keep-alive connection. Requests are written with a single write so the client adds no latency.
+// Usage: HttpLoadGenerator [clients] [seconds] [port]
+public class HttpLoadGenerator {
+    private static final int MAX_SAMPLES = 1 << 18;     // latencies kept per client
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        GameServer game = GameHttpServer.loadDefaultThemes();
+        GameHttpServer server = null;
+        InetSocketAddress target;
+        if (args.length > 2) {
+            target = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[2]));
+        } else {
+            server = new GameHttpServer(game, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            server.start();
+            target = server.getAddress();
+        }
+        Puzzle puzzle = game.getPuzzle("Sports");
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int seed = c;
+                results.add(executor.submit(() -> runClient(target, puzzle, seed, deadline)));
+            }
+        }
+
+        long total = 0;
+        long errors = 0;
+        List<long[]> samples = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            total += latencies[0];
+            errors += latencies[1];
+            samples.add(Arrays.copyOfRange(latencies, 2, latencies.length));
+        }
+        long[] all = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("clients=%d duration=%ds target=%s%n", clients, seconds, target);
+        System.out.printf("requests=%d errors=%d throughput=%.0f req/s%n", total, errors, total / (double) seconds);
+        System.out.printf("latency p50=%dus p99=%dus p99.9=%dus%n",
+                percentile(all, 0.50) / 1000, percentile(all, 0.99) / 1000, percentile(all, 0.999) / 1000);
+
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    // Plays one session until the deadline, returns the request and error counts followed by the sampled latencies
+    private static long[] runClient(InetSocketAddress target, Puzzle puzzle, int seed, long deadline) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] latencies = new long[MAX_SAMPLES + 2];
+        long count = 0;
+        long errors = 0;
+
+        try (Socket socket = new Socket(target.getAddress(), target.getPort())) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+
+            String session = null;
+            while (System.nanoTime() < deadline) {
+                String request;
+                if (session == null) {
+                    request = request("POST", "/sessions", "theme=Sports");
+                } else {
+                    int word = 1 + random.nextInt(puzzle.getWordCount());
+                    String guess = random.nextBoolean() ? puzzle.getSolution(word) : "x".repeat(puzzle.getLength(word));
+                    request = switch (random.nextInt(10)) {
+                        case 0 -> request("GET", "/sessions/" + session + "/grid", null);
+                        case 1 -> request("GET", "/sessions/" + session + "/score", null);
+                        case 2 -> request("POST", "/sessions/" + session + "/hint", "type=letters&word=" + word);
+                        default -> request("POST", "/sessions/" + session + "/guess",
+                                "word=" + word + "&guess=" + URLEncoder.encode(guess, StandardCharsets.UTF_8));
+                    };
+                }
+
+                long begin = System.nanoTime();
+                out.write(request.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                int[] status = new int[1];
+                String body = readResponse(in, status);
+                long latency = System.nanoTime() - begin;
+
+                if (status[0] >= 400 && status[0] != 409) {
+                    errors++;
+                } else if (session == null) {
+                    session = body.substring(body.indexOf(':') + 1, body.indexOf('}'));
+                }
+                // reservoir sampling keeps an unbiased sample of long runs
+                if (count < MAX_SAMPLES) {
+                    latencies[2 + (int) count] = latency;
+                } else {
+                    long slot = random.nextLong(count + 1);
+                    if (slot < MAX_SAMPLES) {
+                        latencies[2 + (int) slot] = latency;
+                    }
+                }
+                count++;
+            }
+        }
+        long[] result = Arrays.copyOf(latencies, 2 + (int) Math.min(count, MAX_SAMPLES));
+        result[0] = count;
+        result[1] = errors;
+        return result;
+    }
+
+    private static String request(String method, String path, String form) {
+        StringBuilder sb = new StringBuilder(160)
+                .append(method).append(' ').append(path).append(" HTTP/1.1\r\n")
+                .append("Host: localhost\r\n");
+        if (form == null) {
+            return sb.append("\r\n").toString();
+        }
+        return sb.append("Content-Type: application/x-www-form-urlencoded\r\n")
+                .append("Content-Length: ").append(form.getBytes(StandardCharsets.UTF_8).length).append("\r\n\r\n")
+                .append(form).toString();
+    }
+
+    // Reads one response with a Content-Length body, stores the status code and returns the body
+    private static String readResponse(InputStream in, int[] status) throws IOException {
+        String statusLine = readLine(in);
+        status[0] = Integer.parseInt(statusLine.substring(9, 12));
+        int length = 0;
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                length = Integer.parseInt(line.substring(15).trim());
+            }
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder(64);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new IOException("Connection closed by the server");
+            }
+            if (b != '\r') {
+                sb.append((char) b);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+}
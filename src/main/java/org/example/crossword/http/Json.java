@@ -0,0 +1,121 @@
+package org.example.crossword.http;
+
+// Minimal JSON writer for the responses of the HTTP front end
+final class Json {
+    private final StringBuilder sb = new StringBuilder(128);
+    private boolean needsComma;
+
+    Json beginObject() {
+        comma();
+        sb.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    Json endObject() {
+        sb.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    Json beginArray(String name) {
+        name(name);
+        sb.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    Json endArray() {
+        sb.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    Json field(String name, String value) {
+        name(name);
+        string(value);
+        needsComma = true;
+        return this;
+    }
+
+    Json field(String name, long value) {
+        name(name);
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    // value must be finite, JSON has no NaN nor infinity
+    Json field(String name, double value) {
+        name(name);
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    Json field(String name, boolean value) {
+        name(name);
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    // Appends a value inside an array
+    Json value(long value) {
+        comma();
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    Json value(String value) {
+        comma();
+        string(value);
+        needsComma = true;
+        return this;
+    }
+
+    private void name(String name) {
+        comma();
+        string(name);
+        sb.append(':');
+        needsComma = false;
+    }
+
+    private void comma() {
+        if (needsComma) {
+            sb.append(',');
+        }
+    }
+
+    private void string(String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+}
@@ -0,0 +1,304 @@
+package org.example.crossword.io;
+
+import org.example.crossword.metrics.GameMetrics;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.Word;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Puzzles of a directory: every dataX.txt is a puzzle played on gridX.txt or, when there is no
+// such file, on grid.txt (the layout PuzzleGenerator writes). Opening the repository only lists
+// the directory. The theme of a puzzle, the '#' header of its data file, is read the first time
+// it is asked for and the files are parsed by load. Once watch is called, added, changed and
+// removed files are picked up and only the puzzles they belong to are reported to the listeners.
+public class DirectoryPuzzleRepository implements PuzzleRepository {
+    private static final String DATA = "data";
+    private static final String GRID = "grid";
+    private static final String TXT = ".txt";
+    private static final String SHARED_GRID = GRID + TXT;
+    private static final long SETTLE_MILLIS = 50;    // an editor saves a file in several events
+    // data, data2, data3... data10: shorter names first, so numbers sort by value
+    private static final Comparator<String> ID_ORDER = Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    private final Path directory;
+    private final PuzzleParser parser = new PuzzleParser();
+    private final Map<String, String> gridOfPuzzle = new ConcurrentHashMap<>();   // id -> file name of its grid
+    private final Set<String> gridFiles = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> themes = new ConcurrentHashMap<>();         // read on demand
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile List<String> ids = List.of();
+    private WatchService watchService;
+
+    private DirectoryPuzzleRepository(Path directory) {
+        this.directory = directory;
+    }
+
+    public static DirectoryPuzzleRepository open(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Not a directory: " + directory);
+        }
+        DirectoryPuzzleRepository repository = new DirectoryPuzzleRepository(directory);
+        repository.scan();
+        return repository;
+    }
+
+    @Override
+    public List<String> ids() {
+        return ids;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return gridOfPuzzle.containsKey(id);
+    }
+
+    @Override
+    public String theme(String id) {
+        return themes.computeIfAbsent(id, this::readTheme);
+    }
+
+    // The theme alone when the puzzle has its own grid, the theme and the id when the grid is shared
+    @Override
+    public String title(String id) {
+        String grid = gridOfPuzzle.get(id);
+        return grid == null || grid.equals(GRID + suffixOf(id, DATA) + TXT) ? theme(id) : theme(id) + " (" + id + ")";
+    }
+
+    // The load time, by theme, and the time building the puzzle from the parsed grid go to GameMetrics
+    @Override
+    public Puzzle load(String id) throws IOException {
+        String grid = gridOfPuzzle.get(id);
+        if (grid == null) {
+            throw new IOException("Unknown puzzle " + id + " in " + directory);
+        }
+        long begin = System.nanoTime();
+        ParseReport report = new ParseReport();
+        CrosswordGrid parsedGrid = parser.parseGrid(directory.resolve(grid), report);
+        List<Word> words = parser.parseWords(directory.resolve(id + TXT), report);
+        if (parsedGrid == null || words == null) {
+            throw new IOException("Cannot load puzzle " + id + System.lineSeparator() + report);
+        }
+        String theme = theme(id);
+        long parsed = System.nanoTime();
+        Puzzle puzzle = Puzzle.of(theme, parsedGrid, words);
+        long built = System.nanoTime();
+        GameMetrics metrics = GameMetrics.get();
+        metrics.gridBuilt(puzzle.getRows(), puzzle.getCols(), puzzle.getWordCount(), built - parsed);
+        metrics.puzzleLoaded(id, theme, built - begin);
+        return puzzle;
+    }
+
+    // Files a puzzle is read from, null if the id is unknown
+    Path dataFile(String id) {
+        return gridOfPuzzle.containsKey(id) ? directory.resolve(id + TXT) : null;
+    }
+
+    Path gridFile(String id) {
+        String grid = gridOfPuzzle.get(id);
+        return grid == null ? null : directory.resolve(grid);
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // Starts a daemon thread applying the changes of the directory, the listeners are called on it
+    public synchronized void watch() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        Thread watcher = new Thread(this::watchLoop, "puzzle-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<String> names = new HashSet<>();
+                boolean overflow = false;
+                // the events are gathered until the directory is quiet, a file saved in several
+                // writes is reported once
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else if (event.context().toString().endsWith(TXT)) {
+                            names.add(event.context().toString());
+                        }
+                    }
+                    if (!key.reset()) {
+                        return;     // the directory is gone
+                    }
+                } while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null);
+
+                Set<String> changed = overflow ? scan() : apply(names);
+                if (!changed.isEmpty()) {
+                    Set<String> reported = Set.copyOf(changed);
+                    for (Listener listener : listeners) {
+                        listener.changed(reported);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        } catch (IOException e) {
+            System.err.println("Stopped watching " + directory + ": " + e.getMessage());
+        }
+    }
+
+    // Lists the directory again, every puzzle is reported as changed since events were lost
+    private synchronized Set<String> scan() throws IOException {
+        Set<String> changed = new HashSet<>(gridOfPuzzle.keySet());
+        List<String> dataFiles = new ArrayList<>();
+        Set<String> grids = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + TXT)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (suffixOf(name, GRID) != null) {
+                    grids.add(name);
+                } else if (suffixOf(name, DATA) != null) {
+                    dataFiles.add(name);
+                }
+            }
+        }
+        gridFiles.retainAll(grids);
+        gridFiles.addAll(grids);
+        gridOfPuzzle.clear();
+        themes.clear();
+        for (String name : dataFiles) {
+            String id = name.substring(0, name.length() - TXT.length());
+            gridOfPuzzle.put(id, gridOf(id));
+            changed.add(id);
+        }
+        updateIds();
+        return changed;
+    }
+
+    // Applies the changes of some files, returns the ids of the puzzles they belong to
+    private synchronized Set<String> apply(Set<String> names) {
+        Set<String> changed = new HashSet<>();
+        // grids first, so the puzzles are paired with the grids as they are now
+        for (String name : names) {
+            String suffix = suffixOf(name, GRID);
+            if (suffix == null) {
+                continue;
+            }
+            if (Files.exists(directory.resolve(name))) {
+                gridFiles.add(name);
+            } else {
+                gridFiles.remove(name);
+            }
+            for (Map.Entry<String, String> puzzle : gridOfPuzzle.entrySet()) {
+                String id = puzzle.getKey();
+                if (puzzle.getValue().equals(name) || id.equals(DATA + suffix)) {
+                    puzzle.setValue(gridOf(id));
+                    changed.add(id);
+                }
+            }
+        }
+        boolean idsChanged = false;
+        for (String name : names) {
+            if (suffixOf(name, DATA) == null) {
+                continue;
+            }
+            String id = name.substring(0, name.length() - TXT.length());
+            themes.remove(id);
+            if (Files.exists(directory.resolve(name))) {
+                idsChanged |= gridOfPuzzle.put(id, gridOf(id)) == null;
+            } else {
+                idsChanged |= gridOfPuzzle.remove(id) != null;
+            }
+            changed.add(id);
+        }
+        if (idsChanged) {
+            updateIds();
+        }
+        return changed;
+    }
+
+    private void updateIds() {
+        List<String> sorted = new ArrayList<>(gridOfPuzzle.keySet());
+        sorted.sort(ID_ORDER);
+        ids = List.copyOf(sorted);
+    }
+
+    private String gridOf(String id) {
+        String own = GRID + suffixOf(id, DATA) + TXT;
+        return gridFiles.contains(own) ? own : SHARED_GRID;
+    }
+
+    // What follows the prefix in a file name or an id (without .txt), null if it does not start with it
+    private static String suffixOf(String name, String prefix) {
+        if (!name.startsWith(prefix)) {
+            return null;
+        }
+        int end = name.endsWith(TXT) ? name.length() - TXT.length() : name.length();
+        return end >= prefix.length() ? name.substring(prefix.length(), end) : null;
+    }
+
+    // "# Sports Theme" gives Sports, a file without header is named after its id
+    private String readTheme(String id) {
+        try (BufferedReader reader = Files.newBufferedReader(directory.resolve(id + TXT), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line != null && line.startsWith("#")) {
+                String theme = line.substring(1).strip();
+                if (theme.endsWith(" Theme")) {
+                    theme = theme.substring(0, theme.length() - " Theme".length()).strip();
+                }
+                if (!theme.isEmpty()) {
+                    return theme;
+                }
+            }
+        } catch (IOException e) {
+            // the puzzle is reported by load
+        }
+        return id;
+    }
+
+    // Usage: DirectoryPuzzleRepository <dir>
+    // Lists the puzzles of a directory with their titles.
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: DirectoryPuzzleRepository <dir>");
+            System.exit(2);
+        }
+        try (DirectoryPuzzleRepository repository = open(Path.of(args[0]))) {
+            for (String id : repository.ids()) {
+                System.out.println(id + "\t" + repository.title(id));
+            }
+        }
+    }
+}
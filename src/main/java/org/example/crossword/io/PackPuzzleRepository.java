@@ -0,0 +1,84 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.Puzzle;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Puzzles of a pack written by PuzzlePackWriter: puzzle n of the pack has the id "n", from 1.
+// Opening the pack maps it and reads the themes, a puzzle is built from its record by load.
+// A pack never changes once written, so the listeners are never called.
+public class PackPuzzleRepository implements PuzzleRepository {
+    private final Path file;
+    private final PuzzlePack pack;
+    private final List<String> ids;
+    private final Map<String, String> titles;       // the theme, numbered when several puzzles share it
+
+    private PackPuzzleRepository(Path file, PuzzlePack pack) {
+        this.file = file;
+        this.pack = pack;
+        List<String> ids = new ArrayList<>(pack.size());
+        Map<String, String> titles = new HashMap<>();
+        Map<String, Integer> themeCounts = new HashMap<>();
+        for (int index = 0; index < pack.size(); index++) {
+            String id = String.valueOf(index + 1);
+            String theme = pack.get(index).getTheme();
+            int count = themeCounts.merge(theme, 1, Integer::sum);
+            ids.add(id);
+            titles.put(id, count == 1 ? theme : theme + " (" + count + ")");
+        }
+        this.ids = List.copyOf(ids);
+        this.titles = titles;
+    }
+
+    public static PackPuzzleRepository open(Path file) throws IOException {
+        PuzzlePack pack = PuzzlePack.open(file);
+        try {
+            return new PackPuzzleRepository(file, pack);
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupted puzzle pack " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> ids() {
+        return ids;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return titles.containsKey(id);
+    }
+
+    @Override
+    public String theme(String id) {
+        return contains(id) ? pack.get(Integer.parseInt(id) - 1).getTheme() : id;
+    }
+
+    @Override
+    public String title(String id) {
+        return titles.getOrDefault(id, id);
+    }
+
+    @Override
+    public Puzzle load(String id) throws IOException {
+        if (!contains(id)) {
+            throw new IOException("Unknown puzzle " + id + " in " + file);
+        }
+        PuzzlePack.PackedPuzzle packed = pack.get(Integer.parseInt(id) - 1);
+        try {
+            return Puzzle.of(packed.getTheme(), packed.toGrid(), packed.toWords());
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            throw new IOException("Cannot load puzzle " + id + " of " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        // nothing to report
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.crossword.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Collects every error found while parsing puzzle files, with its position
+public class ParseReport {
+    // One error, line and column are 1-based (column counts bytes of the line)
+    public record ParseError(String source, int line, int column, String message) {
+        @Override
+        public String toString() {
+            return source + ":" + line + ":" + column + ": " + message;
+        }
+    }
+
+    private final List<ParseError> errors = new ArrayList<>();
+
+    public void error(String source, int line, int column, String message) {
+        errors.add(new ParseError(source, line, column, message));
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public int errorCount() {
+        return errors.size();
+    }
+
+    public List<ParseError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (ParseError error : errors) {
+            if (!sb.isEmpty()) {
+                sb.append(System.lineSeparator());
+            }
+            sb.append(error);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.Puzzle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Loads puzzles on a background executor and keeps the last ones in an LRU cache keyed by name.
+// The cache holds the futures, so a puzzle being prefetched is not loaded a second time when it
+// is requested, and a failed load is dropped to be retried on the next request.
+public class PuzzleLoader {
+    // Reads and builds one puzzle, called on the executor
+    @FunctionalInterface
+    public interface Source {
+        Puzzle load(String name) throws IOException;
+    }
+
+    private final Source source;
+    private final Executor executor;
+    private final LinkedHashMap<String, CompletableFuture<Puzzle>> cache;   // access order, guarded by this
+
+    public PuzzleLoader(Source source, Executor executor, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The cache capacity must be positive: " + capacity);
+        }
+        this.source = source;
+        this.executor = executor;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<Puzzle>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // Puzzle of the given name, completed on the executor unless it is cached
+    public CompletableFuture<Puzzle> load(String name) {
+        CompletableFuture<Puzzle> future;
+        synchronized (this) {
+            future = cache.get(name);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            cache.put(name, future);
+        }
+        CompletableFuture<Puzzle> result = future;
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(source.load(name));
+                } catch (IOException e) {
+                    fail(name, result, new UncheckedIOException(e));
+                } catch (RuntimeException e) {
+                    fail(name, result, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            fail(name, result, e);
+        }
+        return result;
+    }
+
+    // Starts loading the puzzles in the background, the ones already cached stay as they are.
+    // Unlike load, a cached puzzle is not moved to the most recently used end.
+    public void prefetch(Iterable<String> names) {
+        for (String name : names) {
+            boolean cached;
+            synchronized (this) {
+                cached = cache.containsKey(name);
+            }
+            if (!cached) {
+                load(name);
+            }
+        }
+    }
+
+    public synchronized void invalidate(String name) {
+        cache.remove(name);
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    private void fail(String name, CompletableFuture<Puzzle> future, RuntimeException e) {
+        synchronized (this) {
+            cache.remove(name, future);
+        }
+        future.completeExceptionally(e);
+    }
+}
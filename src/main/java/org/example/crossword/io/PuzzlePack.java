@@ -0,0 +1,169 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Word;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read-only access to a compiled puzzle pack, memory-mapped with FileChannel.map.
+// Puzzles are views over the mapping: nothing is parsed or copied until a field is read.
+//
+// Layout (little-endian, every section aligned on 4 bytes):
+//   header       magic, version, puzzle count, string pool offset and size
+//   offset table one int per puzzle, the file offset of its record
+//   records      theme ref, rows, cols, word count, then per word {flags, clue ref, solution ref},
+//                then rows * cols cell bytes (0 = block, 1 = letter, n + 1 = start of word n)
+//   string pool  strings as an unsigned short byte length followed by UTF-8 bytes
+public class PuzzlePack {
+    static final int MAGIC = 0x4B505743;        // "CWPK"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_HEADER_SIZE = 12;
+    static final int WORD_ENTRY_SIZE = 12;
+    static final int MAX_WORD_NUMBER = 254;     // largest number a cell byte can hold
+    static final byte HORIZONTAL = 1;           // word entry flag
+
+    private final ByteBuffer buffer;
+    private final int puzzleCount;
+    private final int poolOffset;
+    private final int poolSize;
+
+    private PuzzlePack(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a puzzle pack");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IOException("Unsupported puzzle pack version " + buffer.getShort(4));
+        }
+        this.puzzleCount = buffer.getInt(8);
+        this.poolOffset = buffer.getInt(12);
+        this.poolSize = buffer.getInt(16);
+        if (puzzleCount < 0 || HEADER_SIZE + 4L * puzzleCount > buffer.capacity()
+                || poolOffset < HEADER_SIZE || (long) poolOffset + poolSize > buffer.capacity()) {
+            throw new IOException("Corrupted puzzle pack header");
+        }
+    }
+
+    // Maps the whole file, the mapping stays valid after the channel is closed
+    public static PuzzlePack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Puzzle pack larger than 2 GB: " + file);
+            }
+            return new PuzzlePack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Wraps a pack already in memory, mostly useful for packs built on the fly
+    public static PuzzlePack wrap(ByteBuffer buffer) throws IOException {
+        return new PuzzlePack(buffer.duplicate());
+    }
+
+    public int size() {
+        return puzzleCount;
+    }
+
+    public PackedPuzzle get(int index) {
+        if (index < 0 || index >= puzzleCount) {
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + puzzleCount);
+        }
+        return new PackedPuzzle(buffer.getInt(HEADER_SIZE + 4 * index));
+    }
+
+    private String string(int ref) {
+        if (ref < 0 || ref > poolSize - 2) {
+            throw new IllegalStateException("Corrupted puzzle pack: string reference " + ref);
+        }
+        int at = poolOffset + ref;
+        int length = Short.toUnsignedInt(buffer.getShort(at));
+        if (length > poolSize - ref - 2) {
+            throw new IllegalStateException("Corrupted puzzle pack: string " + ref + " of " + length
+                    + " bytes past the pool end");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(at + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // View of one puzzle record of the pack
+    public class PackedPuzzle {
+        private final int offset;       // file offset of the record
+
+        private PackedPuzzle(int offset) {
+            this.offset = offset;
+        }
+
+        public String getTheme() {
+            return string(buffer.getInt(offset));
+        }
+
+        public int getRows() {
+            return Short.toUnsignedInt(buffer.getShort(offset + 4));
+        }
+
+        public int getCols() {
+            return Short.toUnsignedInt(buffer.getShort(offset + 6));
+        }
+
+        public int getWordCount() {
+            return Short.toUnsignedInt(buffer.getShort(offset + 8));
+        }
+
+        // Returns the cell value as written in grid.txt (-1 block, 0 letter, n word start)
+        public int getCellValue(int row, int col) {
+            int cells = offset + RECORD_HEADER_SIZE + WORD_ENTRY_SIZE * getWordCount();
+            return Byte.toUnsignedInt(buffer.get(cells + row * getCols() + col)) - 1;
+        }
+
+        public boolean isHorizontal(int word) {
+            return (buffer.get(wordEntry(word)) & HORIZONTAL) != 0;
+        }
+
+        public String getClue(int word) {
+            return string(buffer.getInt(wordEntry(word) + 4));
+        }
+
+        public String getSolution(int word) {
+            return string(buffer.getInt(wordEntry(word) + 8));
+        }
+
+        private int wordEntry(int word) {
+            if (word < 0 || word >= getWordCount()) {
+                throw new IndexOutOfBoundsException("Word " + word + " of " + getWordCount());
+            }
+            return offset + RECORD_HEADER_SIZE + WORD_ENTRY_SIZE * word;
+        }
+
+        // Builds the grid model the interface works with
+        public CrosswordGrid toGrid() {
+            int rows = getRows();
+            int cols = getCols();
+            int cells = offset + RECORD_HEADER_SIZE + WORD_ENTRY_SIZE * getWordCount();
+            CrosswordGrid grid = new CrosswordGrid(rows, cols);
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    grid.define(row, col, Byte.toUnsignedInt(buffer.get(cells++)) - 1);
+                }
+            }
+            return grid;
+        }
+
+        public List<Word> toWords() {
+            int count = getWordCount();
+            List<Word> words = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                words.add(new Word(getClue(i), getSolution(i), isHorizontal(i), -1, -1));
+            }
+            return words;
+        }
+    }
+}
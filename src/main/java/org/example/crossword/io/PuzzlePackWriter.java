@@ -0,0 +1,150 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Word;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compiles puzzles into the binary format read by PuzzlePack.
+// Usage: PuzzlePackWriter <output.pack> <theme> <grid.txt> <data.txt> [<theme> <grid.txt> <data.txt> ...]
+public class PuzzlePackWriter {
+    private final List<byte[]> records = new ArrayList<>();
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final Map<String, Integer> poolRefs = new HashMap<>();  // identical strings are stored once
+
+    public void add(String theme, CrosswordGrid grid, List<Word> words) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        if (rows > 0xFFFF || cols > 0xFFFF || words.size() > 0xFFFF) {
+            throw new IllegalArgumentException("Puzzle too large for a pack: " + theme);
+        }
+
+        int size = PuzzlePack.RECORD_HEADER_SIZE + PuzzlePack.WORD_ENTRY_SIZE * words.size() + rows * cols;
+        ByteBuffer record = ByteBuffer.allocate((size + 3) & ~3).order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(stringRef(theme));
+        record.putShort((short) rows);
+        record.putShort((short) cols);
+        record.putShort((short) words.size());
+        record.putShort((short) 0);
+
+        for (Word word : words) {
+            record.put(word.isHorizontal() ? PuzzlePack.HORIZONTAL : 0);
+            record.put((byte) 0).put((byte) 0).put((byte) 0);
+            record.putInt(stringRef(word.getClue()));
+            record.putInt(stringRef(word.getSolution()));
+        }
+
+        for (int index = 0; index < grid.size(); index++) {
+            int value = !grid.isPartOfWord(index) ? -1 : Math.max(grid.getWordNumber(index), 0);
+            if (value > PuzzlePack.MAX_WORD_NUMBER) {
+                throw new IllegalArgumentException("Word number " + value + " too large for a pack: " + theme);
+            }
+            record.put((byte) (value + 1));
+        }
+        records.add(record.array());
+    }
+
+    // Parses a grid.txt/data.txt pair and adds it, returns false and fills the report on errors
+    public boolean add(String theme, Path gridFile, Path dataFile, PuzzleParser parser, ParseReport report)
+            throws IOException {
+        CrosswordGrid grid = parser.parseGrid(gridFile, report);
+        List<Word> words = parser.parseWords(dataFile, report);
+        if (grid == null || words == null) {
+            return false;
+        }
+        add(theme, grid, words);
+        return true;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    public void write(Path file) throws IOException {
+        int tableSize = 4 * records.size();
+        long poolOffset = PuzzlePack.HEADER_SIZE + tableSize;
+        for (byte[] record : records) {
+            poolOffset += record.length;
+        }
+        if (poolOffset + pool.size() > Integer.MAX_VALUE) {
+            throw new IOException("Puzzle pack would be larger than 2 GB");
+        }
+
+        ByteBuffer head = ByteBuffer.allocate(PuzzlePack.HEADER_SIZE + tableSize).order(ByteOrder.LITTLE_ENDIAN);
+        head.putInt(PuzzlePack.MAGIC);
+        head.putShort(PuzzlePack.VERSION);
+        head.putShort((short) 0);
+        head.putInt(records.size());
+        head.putInt((int) poolOffset);
+        head.putInt(pool.size());
+        head.putInt(0);
+        int offset = PuzzlePack.HEADER_SIZE + tableSize;
+        for (byte[] record : records) {
+            head.putInt(offset);
+            offset += record.length;
+        }
+        head.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, head);
+            for (byte[] record : records) {
+                writeFully(channel, ByteBuffer.wrap(record));
+            }
+            writeFully(channel, ByteBuffer.wrap(pool.toByteArray()));
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private int stringRef(String value) {
+        Integer ref = poolRefs.get(value);
+        if (ref != null) {
+            return ref;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long for a pack: " + bytes.length + " bytes");
+        }
+        ref = pool.size();
+        pool.write(bytes.length & 0xFF);
+        pool.write(bytes.length >>> 8);
+        pool.write(bytes, 0, bytes.length);
+        poolRefs.put(value, ref);
+        return ref;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4 || (args.length - 1) % 3 != 0) {
+            System.err.println("Usage: PuzzlePackWriter <output.pack> <theme> <grid.txt> <data.txt> [...]");
+            System.exit(2);
+        }
+        PuzzlePackWriter writer = new PuzzlePackWriter();
+        PuzzleParser parser = new PuzzleParser();
+        ParseReport report = new ParseReport();
+        for (int i = 1; i < args.length; i += 3) {
+            writer.add(args[i], Path.of(args[i + 1]), Path.of(args[i + 2]), parser, report);
+        }
+        if (report.hasErrors()) {
+            System.err.println(report);
+            System.exit(1);
+        }
+        writer.write(Path.of(args[0]));
+        System.out.println("Wrote " + writer.size() + " puzzles to " + args[0]);
+    }
+}
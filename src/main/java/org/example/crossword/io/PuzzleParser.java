@@ -0,0 +1,292 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Word;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Parser for grid.txt and data.txt working directly on the bytes of the file.
+// Numbers are decoded in place and only the final clue/solution strings are allocated.
+// Blank lines and lines starting with '#' are ignored. Every error is added to the
+// report and parsing goes on with the next token or line, so one pass shows all of them.
+public class PuzzleParser {
+    private static final int NO_VALUE = Integer.MIN_VALUE;   // returned by readInt on error
+    private static final int MAX_VALUE = 1 << 24;            // larger numbers are rejected
+    static final int MAX_WORD_NUMBER = Short.MAX_VALUE;      // largest number CrosswordGrid holds
+    static final int MAX_CELLS = 1 << 22;                    // 2048x2048, about 20 MB of grid
+
+    public CrosswordGrid parseGrid(Path file, ParseReport report) throws IOException {
+        return parseGrid(Files.readAllBytes(file), file.toString(), report);
+    }
+
+    public List<Word> parseWords(Path file, ParseReport report) throws IOException {
+        return parseWords(Files.readAllBytes(file), file.toString(), report);
+    }
+
+    // Parses a grid ("rows,cols" then one line of cell values per row), returns null if there are errors
+    public CrosswordGrid parseGrid(byte[] data, String source, ParseReport report) {
+        int errorsBefore = report.errorCount();
+        Cursor c = new Cursor(data, source, report);
+
+        if (!c.nextContentLine()) {
+            report.error(source, c.line, 1, "The grid file is empty.");
+            return null;
+        }
+        int rows = c.readInt();
+        if (rows != NO_VALUE) c.expect(',');
+        int cols = rows != NO_VALUE ? c.readInt() : NO_VALUE;
+        if (cols != NO_VALUE) c.expectLineEnd();
+        if (rows == NO_VALUE || cols == NO_VALUE) {
+            return null;
+        }
+        if (rows <= 0 || cols <= 0) {
+            report.error(source, c.line, 1, "Invalid grid dimensions " + rows + "x" + cols);
+            return null;
+        }
+        if ((long) rows * cols > MAX_CELLS) {
+            report.error(source, c.line, 1, "Grid too large: " + rows + "x" + cols + " cells, at most " + MAX_CELLS);
+            return null;
+        }
+        c.endLine();
+
+        CrosswordGrid grid = new CrosswordGrid(rows, cols);
+        int row = 0;
+        while (c.nextContentLine()) {
+            if (row == rows) {
+                report.error(source, c.line, c.column(), "Invalid number of rows: expected " + rows);
+            }
+            int col = 0;
+            while (!c.atLineEnd()) {
+                int column = c.column();
+                int value = c.readInt();
+                if (value != NO_VALUE) {
+                    if (value < -1) {
+                        report.error(source, c.line, column, "Invalid cell value " + value);
+                    } else if (value > MAX_WORD_NUMBER) {
+                        report.error(source, c.line, column, "Word number too large: " + value + ", at most " + MAX_WORD_NUMBER);
+                    } else if (row < rows && col < cols) {
+                        grid.define(row, col, value);
+                    }
+                }
+                col++;
+                c.skipSpaces();
+                if (!c.atLineEnd() && !c.expect(',')) {
+                    c.skipTo(',');
+                    c.expect(',');
+                }
+            }
+            if (col != cols) {
+                report.error(source, c.line, c.column(),
+                        "Invalid number of columns at row " + (row + 1) + ": expected " + cols + ", found " + col);
+            }
+            row++;
+            c.endLine();
+        }
+        if (row < rows) {
+            report.error(source, c.line, 1, "Invalid number of rows: expected " + rows + ", found " + row);
+        }
+
+        return report.errorCount() == errorsBefore ? grid : null;
+    }
+
+    // Parses the word lines (H;"clue";solution), returns null if there are errors
+    public List<Word> parseWords(byte[] data, String source, ParseReport report) {
+        int errorsBefore = report.errorCount();
+        Cursor c = new Cursor(data, source, report);
+        List<Word> words = new ArrayList<>();
+
+        while (c.nextContentLine()) {
+            Word word = readWord(c);
+            if (word != null) {
+                words.add(word);
+            }
+            c.endLine();
+        }
+
+        return report.errorCount() == errorsBefore ? words : null;
+    }
+
+    private Word readWord(Cursor c) {
+        boolean isHorizontal;
+        byte orientation = c.data[c.pos];
+        if (orientation == 'H' || orientation == 'h') {
+            isHorizontal = true;
+        } else if (orientation == 'V' || orientation == 'v') {
+            isHorizontal = false;
+        } else {
+            c.error("Expected orientation H or V");
+            return null;
+        }
+        c.pos++;
+        c.skipSpaces();
+        if (!c.expect(';')) return null;
+
+        // clue, quoted or up to the next ';'
+        c.skipSpaces();
+        int clueStart;
+        int clueEnd;
+        if (!c.atLineEnd() && c.data[c.pos] == '"') {
+            int quoteColumn = c.column();
+            clueStart = ++c.pos;
+            c.skipTo('"');
+            if (c.atLineEnd()) {
+                c.report.error(c.source, c.line, quoteColumn, "Unterminated quoted clue");
+                return null;
+            }
+            clueEnd = c.pos++;
+            c.skipSpaces();
+        } else {
+            clueStart = c.pos;
+            c.skipTo(';');
+            clueEnd = c.pos;
+        }
+        if (!c.expect(';')) return null;
+
+        // solution, the rest of the line
+        c.skipSpaces();
+        int solutionStart = c.pos;
+        while (!c.atLineEnd()) {
+            c.pos++;
+        }
+        int solutionEnd = c.pos;
+
+        String clue = c.trimmed(clueStart, clueEnd);
+        String solution = c.trimmed(solutionStart, solutionEnd);
+        if (solution.isEmpty()) {
+            c.report.error(c.source, c.line, solutionStart - c.lineStart + 1, "Missing solution");
+            return null;
+        }
+        return new Word(clue, solution, isHorizontal, -1, -1);
+    }
+
+    // Position in the bytes of a file
+    private static final class Cursor {
+        final byte[] data;
+        final String source;
+        final ParseReport report;
+        int pos;
+        int line;
+        int lineStart;
+
+        Cursor(byte[] data, String source, ParseReport report) {
+            this.data = data;
+            this.source = source;
+            this.report = report;
+            this.line = 1;
+            // skip the UTF-8 byte order mark
+            if (data.length >= 3 && data[0] == (byte) 0xEF && data[1] == (byte) 0xBB && data[2] == (byte) 0xBF) {
+                pos = 3;
+                lineStart = 3;
+            }
+        }
+
+        int column() {
+            return pos - lineStart + 1;
+        }
+
+        void error(String message) {
+            report.error(source, line, column(), message);
+        }
+
+        boolean atLineEnd() {
+            return pos >= data.length || data[pos] == '\n' || data[pos] == '\r';
+        }
+
+        void skipSpaces() {
+            while (pos < data.length && (data[pos] == ' ' || data[pos] == '\t')) {
+                pos++;
+            }
+        }
+
+        // Moves to the given byte or to the end of the line
+        void skipTo(char b) {
+            while (!atLineEnd() && data[pos] != b) {
+                pos++;
+            }
+        }
+
+        // Moves to the start of the next line
+        void endLine() {
+            while (pos < data.length && data[pos] != '\n') {
+                pos++;
+            }
+            if (pos < data.length) {
+                pos++;
+                line++;
+                lineStart = pos;
+            }
+        }
+
+        // Moves to the first token of the next line that is not blank nor a comment
+        boolean nextContentLine() {
+            while (pos < data.length) {
+                skipSpaces();
+                if (atLineEnd()) {
+                    if (pos >= data.length) return false;
+                    endLine();
+                } else if (data[pos] == '#') {
+                    endLine();
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean expect(char b) {
+            skipSpaces();
+            if (pos < data.length && data[pos] == b) {
+                pos++;
+                return true;
+            }
+            error(atLineEnd() ? "Expected '" + b + "' before end of line" : "Expected '" + b + "'");
+            return false;
+        }
+
+        void expectLineEnd() {
+            skipSpaces();
+            if (!atLineEnd()) {
+                error("Unexpected content at end of line");
+            }
+        }
+
+        // Reads an optionally signed decimal number, reports and skips the token on error
+        int readInt() {
+            skipSpaces();
+            int start = pos;
+            boolean negative = false;
+            if (pos < data.length && (data[pos] == '-' || data[pos] == '+')) {
+                negative = data[pos] == '-';
+                pos++;
+            }
+            int value = 0;
+            int digits = 0;
+            while (pos < data.length && data[pos] >= '0' && data[pos] <= '9') {
+                value = value * 10 + (data[pos] - '0');
+                pos++;
+                if (++digits > 8 || value > MAX_VALUE) {
+                    break;
+                }
+            }
+            if (digits == 0 || digits > 8 || value > MAX_VALUE) {
+                pos = start;
+                error(digits == 0 ? "Expected a number" : "Number too large");
+                skipTo(',');
+                return NO_VALUE;
+            }
+            return negative ? -value : value;
+        }
+
+        // Decodes the bytes between start and end without the surrounding spaces
+        String trimmed(int start, int end) {
+            while (start < end && (data[start] == ' ' || data[start] == '\t')) start++;
+            while (end > start && (data[end - 1] == ' ' || data[end - 1] == '\t')) end--;
+            return new String(data, start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.Puzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+// Where the puzzles come from. A puzzle is known by its id, its theme and title are cheap to get
+// and the puzzle itself is parsed by load, so a large repository costs little until it is played.
+public interface PuzzleRepository extends Closeable {
+    // Called with the ids of the puzzles added, changed or removed since the last call
+    @FunctionalInterface
+    interface Listener {
+        void changed(Set<String> ids);
+    }
+
+    // Ids of the puzzles, in display order
+    List<String> ids();
+
+    boolean contains(String id);
+
+    // Theme of a puzzle (e.g. "Sports"), selects the colors
+    String theme(String id);
+
+    // Name of a puzzle in the UI, unique in the repository
+    String title(String id);
+
+    Puzzle load(String id) throws IOException;
+
+    void addListener(Listener listener);
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    // The puzzles of a pack written by PuzzlePackWriter for a file, of a directory otherwise
+    static PuzzleRepository open(Path path) throws IOException {
+        return Files.isRegularFile(path) ? PackPuzzleRepository.open(path) : DirectoryPuzzleRepository.open(path);
+    }
+}
@@ -0,0 +1,412 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.AnswerNormalizer;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Word;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Checks that the data file of a puzzle fits its grid, which the parser and Puzzle.of do not do.
+// The checks, named in the diagnostics:
+//   syntax       a line the parser rejects, located by file, line and column
+//   numbering    a word without a numbered cell, a number used twice or higher than the word count
+//   orientation  a word marked H whose cells run down, or the reverse; the other checks follow the cells
+//   geometry     a numbered cell with no letter cell right of it nor below it
+//   length       a solution longer or shorter than the run of letter cells after its number
+//   letters      a solution character with no letter, digit, space or hyphen: it folds to '?' like
+//                every other one, so "R&D" would accept "R%D"
+//   crossing     two words putting different letters in the cell they share, or running through it the same way
+//   orphan       a letter cell that no word goes through, a warning
+//   io           a file or a directory that cannot be read
+// Words, rows and columns are numbered from 1, rows and columns are the ones of the grid paired
+// with the data file as in DirectoryPuzzleRepository.
+public class PuzzleValidator {
+    private static final int BATCH = 32;        // puzzles validated by a task without splitting
+
+    public enum Severity { ERROR, WARNING }
+
+    // One problem found in a puzzle, the numbers that do not apply are 0
+    public record Diagnostic(Severity severity, String check, String file, int line, int column,
+                             int word, int row, int col, String message) {
+        // One line of JSON, without the numbers that are 0
+        public String toJson() {
+            StringBuilder sb = new StringBuilder(160);
+            sb.append("{\"severity\":");
+            quote(sb, severity.name().toLowerCase());
+            sb.append(",\"check\":");
+            quote(sb, check);
+            sb.append(",\"file\":");
+            quote(sb, file);
+            field(sb, "line", line);
+            field(sb, "column", column);
+            field(sb, "word", word);
+            field(sb, "row", row);
+            field(sb, "col", col);
+            sb.append(",\"message\":");
+            quote(sb, message);
+            return sb.append('}').toString();
+        }
+
+        private static void field(StringBuilder sb, String name, int value) {
+            if (value != 0) {
+                sb.append(",\"").append(name).append("\":").append(value);
+            }
+        }
+
+        private static void quote(StringBuilder sb, String value) {
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                    }
+                }
+            }
+            sb.append('"');
+        }
+    }
+
+    public record Summary(long puzzles, long errors, long warnings) {
+    }
+
+    // A grid file parsed once for all the puzzles of its directory, grid is null if it has errors
+    private record ParsedGrid(CrosswordGrid grid) {
+    }
+
+    private final PuzzleParser parser = new PuzzleParser();
+
+    // Checks a parsed puzzle, file is the name of its data file in the diagnostics
+    public List<Diagnostic> check(String file, CrosswordGrid grid, List<Word> words) {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        int count = words.size();
+        int size = grid.size();
+        int[] starts = new int[count + 1];
+        Arrays.fill(starts, -1);
+        for (int index = 0; index < size; index++) {
+            int n = grid.getWordNumber(index);
+            if (n <= 0) {
+                continue;
+            }
+            if (n > count) {
+                error(diagnostics, "numbering", file, 0, grid, index,
+                        "Cell numbered " + n + " but the data file has " + count + " words");
+            } else if (starts[n] >= 0) {
+                error(diagnostics, "numbering", file, n, grid, index,
+                        "Word " + n + " is numbered twice, first at " + at(grid, starts[n]));
+            } else {
+                starts[n] = index;
+            }
+        }
+
+        // the word running through each cell in each direction, and the letter it puts there
+        int[] across = new int[size];
+        int[] down = new int[size];
+        byte[] letters = new byte[size];
+        for (int n = 1; n <= count; n++) {
+            int start = starts[n];
+            if (start < 0) {
+                diagnostics.add(new Diagnostic(Severity.ERROR, "numbering", file, 0, 0, n, 0, 0,
+                        "Word " + n + " has no numbered cell in the grid"));
+                continue;
+            }
+            Word word = words.get(n - 1);
+            boolean horizontal = word.isHorizontal();
+            int run = run(grid, start, horizontal);
+            if (run == 0) {
+                run = run(grid, start, !horizontal);
+                if (run == 0) {
+                    error(diagnostics, "geometry", file, n, grid, start,
+                            "Word " + n + " has no letter cell right of its number nor below it");
+                    continue;
+                }
+                horizontal = !horizontal;
+                error(diagnostics, "orientation", file, n, grid, start, "Word " + n + " is marked "
+                        + (horizontal ? "V but its cells run right" : "H but its cells run down"));
+            }
+            byte[] folded = AnswerNormalizer.fold(word.getSolution());
+            if (folded.length != run) {
+                error(diagnostics, "length", file, n, grid, start, "Word " + n + " has " + folded.length
+                        + " letters (" + word.getSolution() + ") for " + run + " cells");
+            }
+            for (int i = 0; i < folded.length; i++) {
+                if (folded[i] == AnswerNormalizer.UNKNOWN) {
+                    error(diagnostics, "letters", file, n, grid, start, "Word " + n + " (" + word.getSolution()
+                            + ") has a character that is no letter, digit, space or hyphen");
+                    break;
+                }
+            }
+            int step = horizontal ? 1 : grid.getCols();
+            int[] sameWay = horizontal ? across : down;
+            int[] otherWay = horizontal ? down : across;
+            for (int i = 0, end = Math.min(folded.length, run); i < end; i++) {
+                int cell = start + (i + 1) * step;
+                if (sameWay[cell] != 0) {
+                    error(diagnostics, "crossing", file, n, grid, cell, "Words " + sameWay[cell] + " and " + n
+                            + " both run " + (horizontal ? "right" : "down") + " through " + at(grid, cell));
+                    continue;
+                }
+                sameWay[cell] = n;
+                if (otherWay[cell] != 0 && letters[cell] != folded[i]) {
+                    error(diagnostics, "crossing", file, n, grid, cell, "Word " + otherWay[cell] + " puts "
+                            + (char) letters[cell] + " and word " + n + " puts " + (char) folded[i] + " at " + at(grid, cell));
+                } else {
+                    letters[cell] = folded[i];
+                }
+            }
+        }
+
+        for (int index = 0; index < size; index++) {
+            if (isLetterCell(grid, index) && across[index] == 0 && down[index] == 0) {
+                diagnostics.add(new Diagnostic(Severity.WARNING, "orphan", file, 0, 0, 0,
+                        grid.rowOf(index) + 1, grid.colOf(index) + 1, "No word goes through " + at(grid, index)));
+            }
+        }
+        return diagnostics;
+    }
+
+    // Letter cells following a numbered cell in a direction, up to a block, a number or the edge
+    private static int run(CrosswordGrid grid, int start, boolean horizontal) {
+        int row = grid.rowOf(start);
+        int col = grid.colOf(start);
+        int run = 0;
+        while (true) {
+            row += horizontal ? 0 : 1;
+            col += horizontal ? 1 : 0;
+            if (!grid.contains(row, col) || !isLetterCell(grid, grid.indexOf(row, col))) {
+                return run;
+            }
+            run++;
+        }
+    }
+
+    private static boolean isLetterCell(CrosswordGrid grid, int index) {
+        return grid.isPartOfWord(index) && grid.getWordNumber(index) <= 0;
+    }
+
+    private static String at(CrosswordGrid grid, int index) {
+        return "row " + (grid.rowOf(index) + 1) + " col " + (grid.colOf(index) + 1);
+    }
+
+    private static void error(List<Diagnostic> diagnostics, String check, String file, int word,
+                              CrosswordGrid grid, int index, String message) {
+        diagnostics.add(new Diagnostic(Severity.ERROR, check, file, 0, 0, word,
+                grid.rowOf(index) + 1, grid.colOf(index) + 1, message));
+    }
+
+    private static Diagnostic ioError(Path file, IOException e) {
+        return new Diagnostic(Severity.ERROR, "io", file.toString(), 0, 0, 0, 0, 0, "Cannot read: " + e);
+    }
+
+    private static void addSyntaxErrors(List<Diagnostic> diagnostics, ParseReport report) {
+        for (ParseReport.ParseError error : report.getErrors()) {
+            diagnostics.add(new Diagnostic(Severity.ERROR, "syntax", error.source(), error.line(), error.column(),
+                    0, 0, 0, error.message()));
+        }
+    }
+
+    // Validates every puzzle of the directory tree on the pool. The directories are tasks forking
+    // one task per subdirectory and splitting their puzzles in batches, so idle workers steal
+    // from the large directories. The sink gets the diagnostics of each puzzle, or of a shared
+    // grid, at once, from several threads, and is not called for a puzzle without problems.
+    public Summary validateTree(Path root, ForkJoinPool pool, Consumer<List<Diagnostic>> sink) {
+        Run run = new Run(sink);
+        pool.invoke(new DirectoryTask(root, run));
+        return new Summary(run.puzzles.sum(), run.errors.sum(), run.warnings.sum());
+    }
+
+    private static final class Run {
+        final Consumer<List<Diagnostic>> sink;
+        final LongAdder puzzles = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder warnings = new LongAdder();
+
+        Run(Consumer<List<Diagnostic>> sink) {
+            this.sink = sink;
+        }
+
+        void report(List<Diagnostic> diagnostics) {
+            if (diagnostics.isEmpty()) {
+                return;
+            }
+            for (Diagnostic diagnostic : diagnostics) {
+                (diagnostic.severity() == Severity.ERROR ? errors : warnings).increment();
+            }
+            sink.accept(diagnostics);
+        }
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path directory;
+        private final transient Run run;
+
+        DirectoryTask(Path directory, Run run) {
+            this.directory = directory;
+            this.run = run;
+        }
+
+        @Override
+        protected void compute() {
+            List<RecursiveAction> tasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        tasks.add(new DirectoryTask(entry, run));
+                    }
+                }
+            } catch (IOException e) {
+                run.report(List.of(ioError(directory, e)));
+                return;
+            }
+            try (DirectoryPuzzleRepository repository = DirectoryPuzzleRepository.open(directory)) {
+                List<String> ids = repository.ids();
+                if (!ids.isEmpty()) {
+                    tasks.add(new BatchTask(repository, new ConcurrentHashMap<>(), ids, 0, ids.size(), run));
+                }
+                invokeAll(tasks);
+            } catch (IOException e) {
+                run.report(List.of(ioError(directory, e)));
+            }
+        }
+    }
+
+    // Validates the puzzles [from, to) of a directory, halving the range down to BATCH puzzles
+    private final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient DirectoryPuzzleRepository repository;
+        private final transient Map<Path, ParsedGrid> grids;
+        private final transient List<String> ids;
+        private final int from;
+        private final int to;
+        private final transient Run run;
+
+        BatchTask(DirectoryPuzzleRepository repository, Map<Path, ParsedGrid> grids, List<String> ids,
+                  int from, int to, Run run) {
+            this.repository = repository;
+            this.grids = grids;
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+            this.run = run;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BATCH) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask(repository, grids, ids, from, middle, run),
+                        new BatchTask(repository, grids, ids, middle, to, run));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                String id = ids.get(i);
+                ParsedGrid grid = grids.computeIfAbsent(repository.gridFile(id), this::parseGrid);
+                run.report(validate(repository.dataFile(id), grid.grid()));
+                run.puzzles.increment();
+            }
+        }
+
+        // The errors of a grid are reported once, not with each puzzle using it
+        private ParsedGrid parseGrid(Path file) {
+            ParseReport report = new ParseReport();
+            try {
+                CrosswordGrid grid = parser.parseGrid(file, report);
+                List<Diagnostic> diagnostics = new ArrayList<>();
+                addSyntaxErrors(diagnostics, report);
+                run.report(diagnostics);
+                return new ParsedGrid(grid);
+            } catch (IOException e) {
+                run.report(List.of(ioError(file, e)));
+                return new ParsedGrid(null);
+            }
+        }
+    }
+
+    // Diagnostics of one data file, only its syntax is checked when its grid has errors
+    private List<Diagnostic> validate(Path dataFile, CrosswordGrid grid) {
+        ParseReport report = new ParseReport();
+        List<Word> words;
+        try {
+            words = parser.parseWords(dataFile, report);
+        } catch (IOException e) {
+            return List.of(ioError(dataFile, e));
+        }
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        addSyntaxErrors(diagnostics, report);
+        if (words != null && grid != null) {
+            diagnostics.addAll(check(dataFile.toString(), grid, words));
+        }
+        return diagnostics;
+    }
+
+    // Usage: PuzzleValidator <dir> [threads]
+    // Prints the diagnostics of every puzzle under dir as JSON lines, then a summary on stderr.
+    // Exits with 1 when there are errors, warnings alone do not fail.
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: PuzzleValidator <dir> [threads]");
+            System.exit(2);
+        }
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) {
+            System.err.println("Not a directory: " + root);
+            System.exit(2);
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long begin = System.nanoTime();
+        Summary summary;
+        try {
+            summary = new PuzzleValidator().validateTree(root, pool, diagnostics -> {
+                synchronized (out) {
+                    try {
+                        for (Diagnostic diagnostic : diagnostics) {
+                            out.write(diagnostic.toJson());
+                            out.write('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        out.flush();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.err.printf("%d puzzles checked in %.2fs (%.0f puzzles/s) with %d threads: %d errors, %d warnings%n",
+                summary.puzzles(), seconds, summary.puzzles() / seconds, threads, summary.errors(), summary.warnings());
+        System.exit(summary.errors() > 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,685 @@
+package org.example.crossword.journal;
+
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.engine.Move;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+// Append-only journal of the game sessions: their creation, every move and their end, so that
+// progress survives a crash and a restart resumes every game.
+//
+// The records go to segment files moves-<seq>.log, each one framed as [length][crc32c][payload],
+// numbered by a log sequence number (lsn) that grows by one per record. Appending only copies the
+// record to a buffer; a flusher thread writes what accumulated and forces it to disk with one
+// FileChannel.force for the whole batch (group commit), sync waits for it. While a batch is
+// forced the next one fills, so the more moves come in, the more each force covers.
+//
+// A snapshot-<seq>.bin file holds the state of every live session and the lsn it was taken at.
+// Replay starts from the latest snapshot and only reads the records after it; the segments it
+// covers are deleted once it is on disk. A snapshot is taken every snapshotEvery bytes of records
+// and on demand. A record cut short by a crash is dropped with everything after it.
+public final class MoveJournal implements Closeable {
+    static final int SEGMENT_MAGIC = 0x43574a31;        // "CWJ1"
+    static final int SNAPSHOT_MAGIC = 0x43575331;       // "CWS1"
+    static final int SEGMENT_HEADER = 12;               // magic and lsn of the first record
+    static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+
+    private static final byte SELECT = 1;
+    private static final byte GUESS = 2;
+    private static final byte LETTERS = 3;
+    private static final byte SOLUTION = 4;
+    private static final byte CREATE = 5;
+    private static final byte END = 6;
+    private static final Pattern SEGMENT = Pattern.compile("moves-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    // Called by replay with the sessions of the snapshot, then the records after them in order
+    public interface Replay {
+        // A session as saved by GameSession.writeState
+        void restored(long sessionId, String puzzleId, DataInput state) throws IOException;
+
+        void created(long sessionId, String puzzleId, long seed);
+
+        void moved(long sessionId, Move move);
+
+        void ended(long sessionId);
+    }
+
+    // Writes every live session to a snapshot
+    @FunctionalInterface
+    public interface SnapshotSource {
+        void writeTo(Snapshot snapshot) throws IOException;
+    }
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dataReady = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final CRC32C crc = new CRC32C();
+
+    // guarded by lock
+    private byte[] pending = new byte[64 << 10];    // records not written yet
+    private byte[] spare = new byte[64 << 10];      // the batch being written by the flusher
+    private int pendingLength;
+    private long lastLsn;                           // lsn of the last record appended
+    private long durableLsn;                        // lsn of the last record forced to disk
+    private boolean rollRequested;
+    private long rolledSeq;                         // last segment opened by a roll
+    private boolean closing;
+    private IOException failure;
+    private long appends;
+    private long flushes;
+
+    // owned by the flusher thread once replay is done
+    private FileChannel segment;
+    private long segmentSeq;
+    private long segmentSize;
+    private long bytesSinceSnapshot;
+
+    private Thread flusher;
+    private volatile SnapshotSource snapshotSource;
+    private volatile long snapshotBytes = Long.MAX_VALUE;
+
+    private MoveJournal(Path dir, long segmentBytes) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+    }
+
+    // Opens the journal of a directory, created if needed. Nothing can be appended until replay is done.
+    public static MoveJournal open(Path dir) throws IOException {
+        return open(dir, DEFAULT_SEGMENT_BYTES);
+    }
+
+    public static MoveJournal open(Path dir, long segmentBytes) throws IOException {
+        if (segmentBytes <= SEGMENT_HEADER) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentBytes);
+        }
+        Files.createDirectories(dir);
+        return new MoveJournal(dir, segmentBytes);
+    }
+
+    // Takes a snapshot in the background each time the records written since the last one reach bytes
+    public MoveJournal snapshotEvery(long bytes, SnapshotSource source) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Invalid snapshot interval: " + bytes);
+        }
+        this.snapshotSource = source;
+        this.snapshotBytes = bytes;
+        return this;
+    }
+
+    // Replays the latest snapshot and the records after it, then opens a new segment for the
+    // next records. A torn record at the end of the last segment is cut off.
+    public void replay(Replay replay) throws IOException {
+        if (flusher != null) {
+            throw new IllegalStateException("Journal already replayed");
+        }
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                Matcher matcher;
+                if ((matcher = SEGMENT.matcher(name)).matches()) {
+                    segments.put(Long.parseLong(matcher.group(1)), file);
+                } else if ((matcher = SNAPSHOT.matcher(name)).matches()) {
+                    snapshots.put(Long.parseLong(matcher.group(1)), file);
+                } else if (name.endsWith(".tmp")) {
+                    Files.delete(file);     // a snapshot cut short
+                }
+            }
+        }
+
+        Map<Long, Long> snapshotLsns = new HashMap<>();   // lsn each saved session was taken at
+        long firstSeq = 0;
+        long lsn = 0;
+        if (!snapshots.isEmpty()) {
+            firstSeq = snapshots.lastKey();
+            lsn = readSnapshot(snapshots.lastEntry().getValue(), replay, snapshotLsns);
+        }
+
+        long seq = firstSeq;
+        for (Map.Entry<Long, Path> entry : segments.tailMap(firstSeq, true).entrySet()) {
+            boolean last = entry.getKey().equals(segments.lastKey());
+            lsn = Math.max(lsn, readSegment(entry.getValue(), last, lsn, replay, snapshotLsns));
+            seq = entry.getKey() + 1;
+        }
+
+        lastLsn = lsn;
+        durableLsn = lsn;
+        openSegment(seq, lsn + 1);
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Returns the lsn after the last session of the snapshot
+    private static long readSnapshot(Path file, Replay replay, Map<Long, Long> snapshotLsns) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes, 0, Math.max(bytes.length - 4, 0));
+        if (bytes.length < 8 || ByteBuffer.wrap(bytes).getInt() != SNAPSHOT_MAGIC
+                || ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt() != (int) checksum.getValue()) {
+            throw new IOException("Corrupt snapshot " + file);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes, 4, bytes.length - 8);
+        while (in.get() != 0) {
+            long sessionId = readVarLong(in);
+            String puzzleId = readString(in);
+            long sessionLsn = readVarLong(in);
+            int length = (int) readVarLong(in);
+            snapshotLsns.put(sessionId, sessionLsn);
+            replay.restored(sessionId, puzzleId,
+                    new DataInputStream(new ByteArrayInputStream(bytes, in.position(), length)));
+            in.position(in.position() + length);
+        }
+        return in.getLong();
+    }
+
+    // Replays the records of a segment, returns the lsn of its last one
+    private static long readSegment(Path file, boolean last, long lsn, Replay replay, Map<Long, Long> snapshotLsns)
+            throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (bytes.length < SEGMENT_HEADER || in.getInt() != SEGMENT_MAGIC) {
+            if (!last) {
+                throw new IOException("Corrupt journal segment " + file);
+            }
+            Files.delete(file);     // created by a roll that did not finish
+            return lsn;
+        }
+        long recordLsn = in.getLong() - 1;
+        CRC32C checksum = new CRC32C();
+        while (in.remaining() > 0) {
+            int start = in.position();
+            int length = in.remaining() >= 8 ? in.getInt() : -1;
+            int expected = length >= 0 ? in.getInt() : 0;
+            if (length >= 0 && length <= in.remaining()) {
+                checksum.reset();
+                checksum.update(bytes, in.position(), length);
+            }
+            if (length < 0 || length > in.remaining() || (int) checksum.getValue() != expected) {
+                if (!last) {
+                    throw new IOException("Corrupt record in journal segment " + file + " at " + start);
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(start);
+                    channel.force(true);
+                }
+                break;
+            }
+            recordLsn++;
+            ByteBuffer payload = in.slice(in.position(), length);
+            in.position(in.position() + length);
+            long sessionId = readVarLong(payload);
+            Long saved = snapshotLsns.get(sessionId);
+            if (saved == null || recordLsn > saved) {
+                apply(payload, sessionId, replay);
+            }
+        }
+        return recordLsn;
+    }
+
+    private static void apply(ByteBuffer payload, long sessionId, Replay replay) throws IOException {
+        byte type = payload.get();
+        switch (type) {
+            case SELECT -> replay.moved(sessionId, Move.select((int) readVarLong(payload)));
+            case GUESS -> replay.moved(sessionId, Move.guess(readString(payload)));
+            case LETTERS -> replay.moved(sessionId, Move.revealLetters());
+            case SOLUTION -> replay.moved(sessionId, Move.revealSolution());
+            case CREATE -> replay.created(sessionId, readString(payload), payload.getLong());
+            case END -> replay.ended(sessionId);
+            default -> throw new IOException("Unknown journal record type " + type);
+        }
+    }
+
+    // Appends the start of a session, returns its lsn
+    public long created(long sessionId, String puzzleId, long seed) {
+        byte[] id = puzzleId.getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            int start = beginRecord(sessionId, CREATE, 5 + id.length + 8);
+            putString(id);
+            putLong(seed);
+            return endRecord(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Appends a move applied to a session, returns its lsn
+    public long moved(long sessionId, Move move) {
+        byte[] guess = move.type() == Move.Type.GUESS ? move.guess().getBytes(StandardCharsets.UTF_8) : null;
+        lock.lock();
+        try {
+            int start;
+            switch (move.type()) {
+                case SELECT -> {
+                    start = beginRecord(sessionId, SELECT, 5);
+                    putVarLong(move.wordNumber());
+                }
+                case GUESS -> {
+                    start = beginRecord(sessionId, GUESS, 5 + guess.length);
+                    putString(guess);
+                }
+                case REVEAL_LETTERS -> start = beginRecord(sessionId, LETTERS, 0);
+                case REVEAL_SOLUTION -> start = beginRecord(sessionId, SOLUTION, 0);
+                default -> throw new IllegalArgumentException("Unknown move " + move);
+            }
+            return endRecord(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Appends the end of a session, returns its lsn
+    public long ended(long sessionId) {
+        lock.lock();
+        try {
+            return endRecord(beginRecord(sessionId, END, 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Reserves the frame of a record and writes the start of its payload, returns where it begins
+    private int beginRecord(long sessionId, byte type, int size) {
+        if (flusher == null) {
+            throw new IllegalStateException("Journal not replayed yet");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Journal write failed", failure);
+        }
+        if (closing) {
+            throw new IllegalStateException("Journal closed");
+        }
+        int needed = pendingLength + 8 + 10 + 1 + size;
+        if (needed > pending.length) {
+            byte[] larger = new byte[Math.max(needed, 2 * pending.length)];
+            System.arraycopy(pending, 0, larger, 0, pendingLength);
+            pending = larger;
+        }
+        int start = pendingLength;
+        pendingLength += 8;
+        putVarLong(sessionId);
+        pending[pendingLength++] = type;
+        return start;
+    }
+
+    private long endRecord(int start) {
+        int length = pendingLength - start - 8;
+        crc.reset();
+        crc.update(pending, start + 8, length);
+        ByteBuffer.wrap(pending, start, 8).putInt(length).putInt((int) crc.getValue());
+        appends++;
+        dataReady.signal();
+        return ++lastLsn;
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            pending[pendingLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        pending[pendingLength++] = (byte) value;
+    }
+
+    private void putString(byte[] utf8) {
+        putVarLong(utf8.length);
+        System.arraycopy(utf8, 0, pending, pendingLength, utf8.length);
+        pendingLength += utf8.length;
+    }
+
+    private void putLong(long value) {
+        ByteBuffer.wrap(pending, pendingLength, 8).putLong(value);
+        pendingLength += 8;
+    }
+
+    private static long readVarLong(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed journal record");
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    // Waits until the record of the lsn is on disk
+    public void sync(long lsn) {
+        lock.lock();
+        try {
+            while (durableLsn < lsn && failure == null) {
+                flushed.awaitUninterruptibly();
+            }
+            if (durableLsn < lsn) {
+                throw new UncheckedIOException("Journal write failed", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Waits until every record appended so far is on disk
+    public void sync() {
+        sync(getLastLsn());
+    }
+
+    public long getLastLsn() {
+        lock.lock();
+        try {
+            return lastLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Number of records appended and of batches forced to disk since the journal was opened
+    public long getAppendCount() {
+        lock.lock();
+        try {
+            return appends;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getFlushCount() {
+        lock.lock();
+        try {
+            return flushes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes the pending records in batches until closed. A roll starts a new segment after the batch.
+    private void flushLoop() {
+        while (true) {
+            int length;
+            long upTo;
+            boolean roll;
+            lock.lock();
+            try {
+                while (pendingLength == 0 && !rollRequested && !closing) {
+                    dataReady.awaitUninterruptibly();
+                }
+                if (pendingLength == 0 && !rollRequested) {
+                    return;
+                }
+                byte[] batch = pending;
+                pending = spare;
+                spare = batch;
+                length = pendingLength;
+                pendingLength = 0;
+                upTo = lastLsn;
+                roll = rollRequested || segmentSize + length >= segmentBytes;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(spare, 0, length);
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer);
+                }
+                segment.force(false);
+                segmentSize += length;
+                bytesSinceSnapshot += length;
+                if (roll) {
+                    segment.close();
+                    openSegment(segmentSeq + 1, upTo + 1);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableLsn = upTo;
+                    flushes++;
+                    if (roll) {
+                        rollRequested = false;
+                        rolledSeq = segmentSeq;
+                    }
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+            if (bytesSinceSnapshot >= snapshotBytes && snapshotSource != null) {
+                snapshotInBackground();
+            }
+        }
+    }
+
+    // Called by the flusher, and by replay before it starts
+    private void openSegment(long seq, long firstLsn) throws IOException {
+        Path file = dir.resolve("moves-" + seq + ".log");
+        segment = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER).putInt(SEGMENT_MAGIC).putLong(firstLsn);
+        header.flip();
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        segment.force(true);
+        forceDirectory();
+        segmentSeq = seq;
+        segmentSize = SEGMENT_HEADER;
+    }
+
+    private void snapshotInBackground() {
+        if (!snapshotRunning.compareAndSet(false, true)) {
+            return;
+        }
+        bytesSinceSnapshot = 0;
+        Thread thread = new Thread(() -> {
+            try {
+                snapshot(snapshotSource);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Journal snapshot failed: " + e.getMessage());
+            } finally {
+                snapshotRunning.set(false);
+            }
+        }, "journal-snapshot");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Saves every live session, then deletes the segments and snapshots it makes useless.
+    // The journal rolls to a new segment first: the records of the older ones are all in the
+    // snapshot, those of the new one are replayed after it when newer than their session's lsn.
+    public void snapshot(SnapshotSource source) throws IOException {
+        snapshotLock.lock();
+        try {
+            long seq = roll();
+            Path file = dir.resolve("snapshot-" + seq + ".bin");
+            Path tmp = dir.resolve("snapshot-" + seq + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32C());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+                out.writeInt(SNAPSHOT_MAGIC);
+                source.writeTo(new Snapshot(this, out));
+                out.writeByte(0);
+                // not below the lsn of any session, the records after a restart are numbered from it
+                out.writeLong(getLastLsn());
+                out.flush();
+                out.writeInt((int) checked.getChecksum().getValue());
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory();
+            compact(seq);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // Has the flusher start a new segment and returns its number
+    private long roll() {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Journal write failed", failure);
+            }
+            if (flusher == null || closing) {
+                throw new IllegalStateException(flusher == null ? "Journal not replayed yet" : "Journal closed");
+            }
+            long before = rolledSeq;
+            rollRequested = true;
+            dataReady.signal();
+            while (rolledSeq == before && failure == null) {
+                flushed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Journal write failed", failure);
+            }
+            return rolledSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Deletes the segments and snapshots older than the snapshot of seq
+    private void compact(long seq) throws IOException {
+        List<Path> obsolete = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher segmentName = SEGMENT.matcher(file.getFileName().toString());
+                Matcher snapshotName = SNAPSHOT.matcher(file.getFileName().toString());
+                if ((segmentName.matches() && Long.parseLong(segmentName.group(1)) < seq)
+                        || (snapshotName.matches() && Long.parseLong(snapshotName.group(1)) < seq)) {
+                    obsolete.add(file);
+                }
+            }
+        }
+        for (Path file : obsolete) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Makes the creation, rename or deletion of files durable, where the platform allows it
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported for directories on Windows
+        }
+    }
+
+    // Writes the pending records and stops the flusher
+    @Override
+    public void close() throws IOException {
+        snapshotLock.lock();
+        try {
+            lock.lock();
+            try {
+                closing = true;
+                dataReady.signal();
+            } finally {
+                lock.unlock();
+            }
+            if (flusher != null) {
+                flusher.join();
+            }
+            if (segment != null) {
+                segment.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the journal", e);
+        } finally {
+            snapshotLock.unlock();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // The sessions of a snapshot, written by a SnapshotSource
+    public static final class Snapshot {
+        private final MoveJournal journal;
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream state = new ByteArrayOutputStream(1 << 10);
+        private final DataOutputStream stateOut = new DataOutputStream(state);
+
+        private Snapshot(MoveJournal journal, DataOutputStream out) {
+            this.journal = journal;
+            this.out = out;
+        }
+
+        // Saves a session. The caller holds the lock its moves are journaled under, so the
+        // session holds every record of its own up to the current lsn and none after it.
+        public void session(long sessionId, String puzzleId, GameSession session) throws IOException {
+            long lsn = journal.getLastLsn();
+            state.reset();
+            session.writeState(stateOut);
+            out.writeByte(1);
+            writeVarLong(sessionId);
+            byte[] id = puzzleId.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(id.length);
+            out.write(id);
+            writeVarLong(lsn);
+            writeVarLong(state.size());
+            state.writeTo(out);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.crossword.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Flight Recorder events of the game, written by GameMetrics. They are instant events carrying the
+// measured duration: GameMetrics already has it, and an event is only created when a recording
+// wants it, so the guess path stays allocation free otherwise. Guess and hint events are disabled
+// by default, a recording turns them on with e.g. -XX:StartFlightRecording:+crossword.Guess#enabled=true.
+final class GameEvents {
+    static final EventType GUESS = EventType.getEventType(Guess.class);
+    static final EventType HINT = EventType.getEventType(Hint.class);
+    static final EventType PUZZLE_LOAD = EventType.getEventType(PuzzleLoad.class);
+    static final EventType GRID_BUILD = EventType.getEventType(GridBuild.class);
+    static final EventType FX_STALL = EventType.getEventType(FxStall.class);
+
+    private GameEvents() {
+    }
+
+    @Name("crossword.Guess")
+    @Label("Guess")
+    @Category("Crossword")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class Guess extends Event {
+        @Label("Validation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long validation;
+
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("crossword.Hint")
+    @Label("Hint")
+    @Category("Crossword")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class Hint extends Event {
+        @Label("Hint")
+        @Description("LETTERS or SOLUTION")
+        String hint;
+    }
+
+    @Name("crossword.PuzzleLoad")
+    @Label("Puzzle Load")
+    @Category("Crossword")
+    @StackTrace(false)
+    static final class PuzzleLoad extends Event {
+        @Label("Puzzle")
+        String puzzle;
+
+        @Label("Theme")
+        String theme;
+
+        @Label("Load Time")
+        @Description("Files read and parsed, grid built")
+        @Timespan(Timespan.NANOSECONDS)
+        long load;
+    }
+
+    @Name("crossword.GridBuild")
+    @Label("Grid Build")
+    @Category("Crossword")
+    @StackTrace(false)
+    static final class GridBuild extends Event {
+        @Label("Rows")
+        int rows;
+
+        @Label("Columns")
+        int cols;
+
+        @Label("Words")
+        int words;
+
+        @Label("Build Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long build;
+    }
+
+    @Name("crossword.FxStall")
+    @Label("FX Thread Stall")
+    @Category("Crossword")
+    @Description("Work on the JavaFX application thread longer than the stall threshold")
+    static final class FxStall extends Event {
+        @Label("Action")
+        String action;
+
+        @Label("Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long stall;
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.crossword.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency histograms of the game, shared by the whole JVM: guesses and their
+// validation time, hints, puzzle loads per theme, grid builds and the work done on the FX thread.
+// Recording a guess or a hint adds to striped counters and does not allocate. Each measure is
+// also written as a Flight Recorder event when a recording asks for it, see GameEvents.
+// The values are read through JMX (register) or as text (dump).
+public final class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "org.example.crossword:type=GameMetrics";
+    private static final int RATE_SECONDS = 10;                 // window of the guess rate
+    private static final GameMetrics INSTANCE = new GameMetrics();
+
+    private final long fxStallThreshold =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("crossword.fxStallMillis", 16));  // one frame at 60 Hz
+    private final LatencyHistogram guesses = new LatencyHistogram();
+    private final RateMeter guessRate = new RateMeter(RATE_SECONDS);
+    private final LongAdder lettersHints = new LongAdder();
+    private final LongAdder solutionHints = new LongAdder();
+    private final LatencyHistogram gridBuilds = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> puzzleLoads = new ConcurrentHashMap<>();    // by theme
+    private final LatencyHistogram fxTasks = new LatencyHistogram();
+    private final LongAdder fxStalls = new LongAdder();
+
+    private GameMetrics() {
+    }
+
+    public static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    // Registers the metrics with the platform MBean server, once per JVM
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // registered by another front end of the same JVM
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    // A guess validated since begin (System.nanoTime), outcome is the name of its Outcome
+    public void guessed(long begin, String outcome) {
+        long end = System.nanoTime();
+        guesses.record(end - begin);
+        guessRate.mark(end);
+        if (GameEvents.GUESS.isEnabled()) {
+            GameEvents.Guess event = new GameEvents.Guess();
+            event.validation = end - begin;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    public void hintShown(boolean solution) {
+        (solution ? solutionHints : lettersHints).increment();
+        if (GameEvents.HINT.isEnabled()) {
+            GameEvents.Hint event = new GameEvents.Hint();
+            event.hint = solution ? "SOLUTION" : "LETTERS";
+            event.commit();
+        }
+    }
+
+    public void puzzleLoaded(String puzzleId, String theme, long nanos) {
+        puzzleLoads.computeIfAbsent(theme, key -> new LatencyHistogram()).record(nanos);
+        if (GameEvents.PUZZLE_LOAD.isEnabled()) {
+            GameEvents.PuzzleLoad event = new GameEvents.PuzzleLoad();
+            event.puzzle = puzzleId;
+            event.theme = theme;
+            event.load = nanos;
+            event.commit();
+        }
+    }
+
+    public void gridBuilt(int rows, int cols, int words, long nanos) {
+        gridBuilds.record(nanos);
+        if (GameEvents.GRID_BUILD.isEnabled()) {
+            GameEvents.GridBuild event = new GameEvents.GridBuild();
+            event.rows = rows;
+            event.cols = cols;
+            event.words = words;
+            event.build = nanos;
+            event.commit();
+        }
+    }
+
+    // Work done on the FX thread, which draws nothing meanwhile. Above the stall threshold
+    // (-Dcrossword.fxStallMillis, 16 ms by default) it counts as a stall.
+    public void fxTask(String action, long nanos) {
+        fxTasks.record(nanos);
+        if (nanos < fxStallThreshold) {
+            return;
+        }
+        fxStalls.increment();
+        if (GameEvents.FX_STALL.isEnabled()) {
+            GameEvents.FxStall event = new GameEvents.FxStall();
+            event.action = action;
+            event.stall = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public long getGuessCount() {
+        return guesses.getCount();
+    }
+
+    @Override
+    public double getGuessesPerSecond() {
+        return guessRate.perSecond();
+    }
+
+    @Override
+    public long getGuessLatencyP50() {
+        return guesses.percentile(0.50);
+    }
+
+    @Override
+    public long getGuessLatencyP99() {
+        return guesses.percentile(0.99);
+    }
+
+    @Override
+    public long getGuessLatencyMax() {
+        return guesses.getMax();
+    }
+
+    @Override
+    public long getLettersHints() {
+        return lettersHints.sum();
+    }
+
+    @Override
+    public long getSolutionHints() {
+        return solutionHints.sum();
+    }
+
+    @Override
+    public long getGridBuildCount() {
+        return gridBuilds.getCount();
+    }
+
+    @Override
+    public long getGridBuildP99() {
+        return gridBuilds.percentile(0.99);
+    }
+
+    @Override
+    public Map<String, Long> getPuzzleLoadP99() {
+        Map<String, Long> p99 = new TreeMap<>();
+        puzzleLoads.forEach((theme, histogram) -> p99.put(theme, histogram.percentile(0.99)));
+        return p99;
+    }
+
+    @Override
+    public long getFxStallCount() {
+        return fxStalls.sum();
+    }
+
+    @Override
+    public long getFxTaskMax() {
+        return fxTasks.getMax();
+    }
+
+    @Override
+    public long getFxStallThreshold() {
+        return fxStallThreshold;
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("guesses: %.1f/s over %d s, validation %s%n",
+                guessRate.perSecond(), RATE_SECONDS, guesses));
+        sb.append(String.format("hints: letters=%d solution=%d%n", lettersHints.sum(), solutionHints.sum()));
+        sb.append(String.format("grid builds: %s%n", gridBuilds));
+        new TreeMap<>(puzzleLoads).forEach((theme, histogram) ->
+                sb.append(String.format("puzzle loads [%s]: %s%n", theme, histogram)));
+        sb.append(String.format("fx thread: stalls=%d over %s, tasks %s%n",
+                fxStalls.sum(), LatencyHistogram.format(fxStallThreshold), fxTasks));
+        return sb.toString();
+    }
+
+    @Override
+    public void reset() {
+        guesses.reset();
+        guessRate.reset();
+        lettersHints.reset();
+        solutionHints.reset();
+        gridBuilds.reset();
+        puzzleLoads.clear();
+        fxTasks.reset();
+        fxStalls.reset();
+    }
+
+    @Override
+    public String toString() {
+        return dump();
+    }
+}
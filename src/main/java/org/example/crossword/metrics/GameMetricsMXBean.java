@@ -0,0 +1,39 @@
+package org.example.crossword.metrics;
+
+import java.util.Map;
+
+// Management interface of GameMetrics, registered as org.example.crossword:type=GameMetrics.
+// Durations are in nanoseconds.
+public interface GameMetricsMXBean {
+    long getGuessCount();
+
+    double getGuessesPerSecond();
+
+    long getGuessLatencyP50();
+
+    long getGuessLatencyP99();
+
+    long getGuessLatencyMax();
+
+    long getLettersHints();
+
+    long getSolutionHints();
+
+    long getGridBuildCount();
+
+    long getGridBuildP99();
+
+    // p99 of the load time of each theme
+    Map<String, Long> getPuzzleLoadP99();
+
+    long getFxStallCount();
+
+    long getFxTaskMax();
+
+    long getFxStallThreshold();
+
+    // The text dump of every metric
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,60 @@
+package org.example.crossword.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Events per second over the last complete seconds. Each second of System.nanoTime counts in a
+// slot of a ring, the slot of an old second is cleared by the first event of a new one. An event
+// racing with the clearing may be lost, which is fine for a rate.
+public final class RateMeter {
+    private static final long SECOND = 1_000_000_000L;
+
+    private final int seconds;
+    private final LongAdder[] counts;
+    private final AtomicLongArray stamps;       // second counted by each slot, Long.MIN_VALUE if none
+
+    public RateMeter(int seconds) {
+        if (seconds < 1) {
+            throw new IllegalArgumentException("Invalid window: " + seconds + " s");
+        }
+        this.seconds = seconds;
+        // one more slot for the second in progress
+        this.counts = new LongAdder[seconds + 1];
+        this.stamps = new AtomicLongArray(seconds + 1);
+        for (int i = 0; i <= seconds; i++) {
+            counts[i] = new LongAdder();
+            stamps.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    // Counts an event at the given System.nanoTime
+    public void mark(long nanoTime) {
+        long second = Math.floorDiv(nanoTime, SECOND);
+        int slot = (int) Math.floorMod(second, (long) counts.length);
+        long stamp = stamps.get(slot);
+        if (stamp != second && stamps.compareAndSet(slot, stamp, second)) {
+            counts[slot].reset();
+        }
+        counts[slot].increment();
+    }
+
+    // Mean rate over the window, the second in progress excluded
+    public double perSecond() {
+        long now = Math.floorDiv(System.nanoTime(), SECOND);
+        long events = 0;
+        for (int slot = 0; slot < counts.length; slot++) {
+            long stamp = stamps.get(slot);
+            if (stamp < now && stamp >= now - seconds) {
+                events += counts[slot].sum();
+            }
+        }
+        return events / (double) seconds;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            stamps.set(i, Long.MIN_VALUE);
+            counts[i].reset();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.crossword.model;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+// Folds solutions and player input to the form answers are compared in, one byte per letter:
+// A-Z, 0-9, '*' for a space and '-' for a hyphen, which counts as one letter. Accents and
+// apostrophes are dropped and case is ignored ("l'Été" and "LETE" are the same answer), anything
+// else becomes '?', which PuzzleValidator rejects in a solution.
+// The folding of the characters below U+0250 (Latin-1 and Latin Extended) is computed once with
+// java.text.Normalizer into a lookup table, so input written with them is folded without
+// allocating. The other characters, and the ones folding to several letters like 'œ', take the
+// slow path: each one is decomposed with Normalizer and its parts are folded.
+public final class AnswerNormalizer {
+    public static final byte UNKNOWN = '?';         // a character with no letter, digit, space or hyphen
+    public static final byte DROP = 0;              // accents and apostrophes, folded to nothing
+    private static final byte SLOW = -1;            // characters the table cannot fold to one byte
+    private static final int TABLE_END = 0x250;
+    private static final byte[] TABLE = new byte[TABLE_END];
+
+    static {
+        byte[] folded = new byte[8];
+        for (int c = 0; c < TABLE_END; c++) {
+            int length = foldCodePoint(c, folded, 0);
+            TABLE[c] = length == 0 ? DROP : length == 1 ? folded[0] : SLOW;
+        }
+    }
+
+    private AnswerNormalizer() {
+    }
+
+    // Folded form of a solution
+    public static byte[] fold(CharSequence text) {
+        // a character folds to 2 letters at most, except a few compatibility forms like U+3392
+        for (int size = 2 * text.length() + 1; ; size *= 4) {
+            byte[] folded = new byte[size];
+            int length = fold(text, folded);
+            if (length >= 0) {
+                return Arrays.copyOf(folded, length);
+            }
+        }
+    }
+
+    // Folds the text at the start of into and returns the folded length, -1 if it does not fit
+    public static int fold(CharSequence text, byte[] into) {
+        int length = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            byte b = c < TABLE_END ? TABLE[c] : SLOW;
+            if (b == SLOW) {
+                return foldSlow(text, i, into, length);
+            }
+            if (b != DROP) {
+                if (length == into.length) {
+                    return -1;
+                }
+                into[length++] = b;
+            }
+        }
+        return length;
+    }
+
+    // Folded form of one typed character: DROP if it folds to nothing, UNKNOWN if to several letters
+    public static byte foldChar(char c) {
+        byte b = c < TABLE_END ? TABLE[c] : SLOW;
+        if (b != SLOW) {
+            return b;
+        }
+        byte[] folded = new byte[4];
+        int length = foldCodePoint(c, folded, 0);
+        return length == 0 ? DROP : length == 1 ? folded[0] : UNKNOWN;
+    }
+
+    private static int foldSlow(CharSequence text, int from, byte[] into, int length) {
+        for (int i = from, n = text.length(); i < n && length >= 0; ) {
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint);
+            byte b = codePoint < TABLE_END ? TABLE[codePoint] : SLOW;
+            if (b == SLOW) {
+                length = foldCodePoint(codePoint, into, length);
+            } else if (b != DROP) {
+                length = append(into, length, b);
+            }
+        }
+        return length;
+    }
+
+    // Appends the folded form of a character after length, returns the new length or -1
+    private static int foldCodePoint(int codePoint, byte[] into, int length) {
+        if (codePoint < 0x80) {
+            byte b = foldAscii((char) codePoint);
+            return b == DROP ? length : append(into, length, b);
+        }
+        int type = Character.getType(codePoint);
+        if (isApostrophe(codePoint) || type == Character.MODIFIER_SYMBOL || type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK || type == Character.ENCLOSING_MARK) {
+            return length;
+        }
+        String letters = lettersOf(codePoint);
+        if (letters == null) {
+            // accents split from their letter, compatibility forms (full width, ligatures, ...) replaced
+            String decomposed = Normalizer.normalize(Character.toString(codePoint), Normalizer.Form.NFKD);
+            if (decomposed.codePointAt(0) != codePoint) {
+                for (int i = 0; i < decomposed.length() && length >= 0; ) {
+                    int part = decomposed.codePointAt(i);
+                    i += Character.charCount(part);
+                    length = foldCodePoint(part, into, length);
+                }
+                return length;
+            }
+            letters = Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint) ? "*" : "?";
+        }
+        for (int i = 0; i < letters.length() && length >= 0; i++) {
+            length = append(into, length, (byte) letters.charAt(i));
+        }
+        return length;
+    }
+
+    private static byte foldAscii(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return (byte) (c - 'a' + 'A');
+        }
+        if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '*' || c == '-') {
+            return (byte) c;
+        }
+        if (c == ' ' || c == '\t') {
+            return '*';
+        }
+        return c == '\'' || c == '`' ? DROP : UNKNOWN;
+    }
+
+    private static int append(byte[] into, int length, byte b) {
+        if (length < 0 || length == into.length) {
+            return -1;
+        }
+        into[length] = b;
+        return length + 1;
+    }
+
+    // Latin letters Normalizer does not decompose
+    private static String lettersOf(int codePoint) {
+        return switch (codePoint) {
+            case '\u00C6', '\u00E6' -> "AE";                        // Æ æ
+            case '\u0152', '\u0153' -> "OE";                        // Œ œ
+            case '\u00DF', '\u1E9E' -> "SS";                        // ß ẞ
+            case '\u00DE', '\u00FE' -> "TH";                        // Þ þ
+            case '\u00D8', '\u00F8' -> "O";                         // Ø ø
+            case '\u0110', '\u0111', '\u00D0', '\u00F0' -> "D";     // Đ đ Ð ð
+            case '\u0141', '\u0142' -> "L";                         // Ł ł
+            case '\u0131' -> "I";                                   // dotless ı
+            default -> null;
+        };
+    }
+
+    // Typographic apostrophes and quotes, the modifier letter apostrophe
+    private static boolean isApostrophe(int codePoint) {
+        return codePoint == '\u2019' || codePoint == '\u2018' || codePoint == '\u02BC';
+    }
+}
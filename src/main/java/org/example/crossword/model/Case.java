@@ -1,48 +1,67 @@
 package org.example.crossword.model;
 
+// Lightweight view over one cell of a CrosswordGrid, the state lives in the grid arrays
 public class Case {
-    private final int row;            // row of the case
-    private final int col;            // column of the case
-    private char currentChar;   // current character of the case
-    private boolean isPartOfWord;   // is the case part of a word
-    private int wordNumber;         // number of the word the case is part of
+    private final CrosswordGrid grid;   // grid holding the state of the case
+    private final int index;            // row-major index of the case in the grid
 
     // Constructor
-    public Case(int row, int col) {
-        this.row = row;
-        this.col = col;
-        this.currentChar = ' ';
-        this.isPartOfWord = false;
-        this.wordNumber = -1;
+    Case(CrosswordGrid grid, int index) {
+        this.grid = grid;
+        this.index = index;
     }
 
     // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
     public int getRow() {
-        return row;
+        return grid.rowOf(index);
     }
 
     public int getCol() {
-        return col;
+        return grid.colOf(index);
     }
 
     public char getCurrentChar() {
-        return currentChar;
+        return grid.getCurrentChar(index);
     }
 
     public void setCurrentChar(char currentChar) {
-        this.currentChar = currentChar;
+        grid.setCurrentChar(index, currentChar);
     }
 
     public boolean isPartOfWord() {
-        return isPartOfWord;
+        return grid.isPartOfWord(index);
     }
 
     public void setPartOfWord(boolean partOfWord, int wordNumber) {
-        this.isPartOfWord = partOfWord;
-        this.wordNumber = wordNumber;
+        grid.setPartOfWord(index, partOfWord, wordNumber);
     }
 
     public int getWordNumber() {
-        return wordNumber;
+        return grid.getWordNumber(index);
+    }
+
+    public boolean isLocked() {
+        return grid.isLocked(index);
+    }
+
+    public void setLocked(boolean locked) {
+        grid.setLocked(index, locked);
+    }
+
+    // Two views are equal when they point to the same cell of the same grid
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Case other)) return false;
+        return grid == other.grid && index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(grid) + index;
     }
 }
@@ -0,0 +1,169 @@
+package org.example.crossword.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Grid stored as parallel primitive arrays in row-major order (index = row * cols + col).
+// Case objects are only views over these arrays and are created on demand.
+public class CrosswordGrid implements Iterable<Case> {
+    static final byte PART_OF_WORD = 1;     // the cell holds a letter or a word number
+    static final byte LOCKED = 1 << 1;      // the cell belongs to a validated word
+
+    private final int rows;             // number of rows of the grid
+    private final int cols;             // number of columns of the grid
+    private final char[] letters;       // current character of each cell
+    private final short[] wordNumbers;  // word number of each cell, -1 if none
+    private final byte[] flags;         // PART_OF_WORD / LOCKED bits of each cell
+    private int[] startIndex;           // index of the start cell of each word, -1 if none
+
+    // Constructor, every cell starts as an empty block
+    public CrosswordGrid(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Invalid grid dimensions: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        int size = rows * cols;
+        this.letters = new char[size];
+        this.wordNumbers = new short[size];
+        this.flags = new byte[size];
+        this.startIndex = new int[16];
+        Arrays.fill(letters, ' ');
+        Arrays.fill(wordNumbers, (short) -1);
+        Arrays.fill(startIndex, -1);
+    }
+
+    // Defines the cell at the given position, using the values of grid.txt (-1 block, 0 letter, n word start)
+    public void define(int row, int col, int value) {
+        if (!contains(row, col)) {
+            throw new IndexOutOfBoundsException("Case outside of the grid: " + row + "," + col);
+        }
+        if (value < -1) {
+            throw new IllegalArgumentException("Invalid cell value " + value + " at " + row + "," + col);
+        }
+        setPartOfWord(row * cols + col, value != -1, value > 0 ? value : -1);
+    }
+
+    // Returns the case at the given position, or null if outside the grid
+    public Case findCell(int row, int col) {
+        if (!contains(row, col)) {
+            return null;
+        }
+        return new Case(this, row * cols + col);
+    }
+
+    // Returns the numbered case a word starts from, or null if there is none
+    public Case findStartCell(int wordNumber) {
+        int index = findStartIndex(wordNumber);
+        return index < 0 ? null : new Case(this, index);
+    }
+
+    // Returns the index of the numbered cell a word starts from, or -1 if there is none
+    public int findStartIndex(int wordNumber) {
+        if (wordNumber <= 0 || wordNumber >= startIndex.length) {
+            return -1;
+        }
+        return startIndex[wordNumber];
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int size() {
+        return letters.length;
+    }
+
+    public int indexOf(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    // Index based accessors, used by Case and by code that walks the grid without views
+
+    public char getCurrentChar(int index) {
+        return letters[index];
+    }
+
+    public void setCurrentChar(int index, char currentChar) {
+        letters[index] = currentChar;
+    }
+
+    public boolean isPartOfWord(int index) {
+        return (flags[index] & PART_OF_WORD) != 0;
+    }
+
+    public int getWordNumber(int index) {
+        return wordNumbers[index];
+    }
+
+    public boolean isLocked(int index) {
+        return (flags[index] & LOCKED) != 0;
+    }
+
+    public void setLocked(int index, boolean locked) {
+        flags[index] = (byte) (locked ? flags[index] | LOCKED : flags[index] & ~LOCKED);
+    }
+
+    public void setPartOfWord(int index, boolean partOfWord, int wordNumber) {
+        if (wordNumber > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Word number too large: " + wordNumber);
+        }
+        int previous = wordNumbers[index];
+        if (previous > 0 && startIndex[previous] == index) {
+            startIndex[previous] = -1;
+        }
+
+        flags[index] = (byte) (partOfWord ? flags[index] | PART_OF_WORD : flags[index] & ~PART_OF_WORD);
+        wordNumbers[index] = (short) (wordNumber > 0 ? wordNumber : -1);
+
+        if (wordNumber > 0) {
+            if (wordNumber >= startIndex.length) {
+                int oldLength = startIndex.length;
+                startIndex = Arrays.copyOf(startIndex, Math.max(wordNumber + 1, oldLength * 2));
+                Arrays.fill(startIndex, oldLength, startIndex.length, -1);
+            }
+            // keep the first cell in row-major order, like a linear scan would
+            if (startIndex[wordNumber] < 0 || startIndex[wordNumber] > index) {
+                startIndex[wordNumber] = index;
+            }
+        }
+    }
+
+    // Iterates over views of every cell in row-major order
+    @Override
+    public Iterator<Case> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < letters.length;
+            }
+
+            @Override
+            public Case next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new Case(CrosswordGrid.this, next++);
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.crossword.model;
+
+// Damerau-Levenshtein distance in its optimal string alignment form (an adjacent swap counts as
+// one edit) with the bit-parallel algorithm of Myers, extended to swaps by Hyyrö. Each letter of
+// the pattern is a bit of a 64-bit word: the column of the distance matrix for a text letter is
+// computed from the previous one with a few word operations, whatever the pattern length.
+// The pattern is given by the mask of its positions holding each letter, indexed by the low 6
+// bits of the letter: the folded letters (A-Z, 0-9, '*', '-', '?') are all distinct there.
+final class EditDistance {
+    static final int MAX_PATTERN = 64;
+    static final int ALPHABET = 64;             // masks of a pattern, one per low 6 bits of a letter
+
+    private EditDistance() {
+    }
+
+    // Adds the letters of a pattern to its masks, at from in masks
+    static void addMasks(long[] masks, int from, byte[] pattern) {
+        for (int position = 0, end = Math.min(pattern.length, MAX_PATTERN); position < end; position++) {
+            masks[from + (pattern[position] & 0x3F)] |= 1L << position;
+        }
+    }
+
+    // Distance between the pattern of m letters whose masks are at from and the first n letters of text
+    static int distance(long[] masks, int from, int m, byte[] text, int n) {
+        if (m == 0) {
+            return n;
+        }
+        long last = 1L << (m - 1);
+        long vp = -1;           // vertical differences of +1 in the current column
+        long vn = 0;            // vertical differences of -1
+        long d0 = 0;            // diagonal differences of 0 in the previous column
+        long previousMask = 0;
+        int score = m;
+        for (int j = 0; j < n; j++) {
+            long mask = masks[from + (text[j] & 0x3F)];
+            long swap = ((~d0 & mask) << 1) & previousMask;
+            d0 = (((mask & vp) + vp) ^ vp) | mask | vn | swap;
+            long hp = vn | ~(d0 | vp);
+            long hn = d0 & vp;
+            if ((hp & last) != 0) {
+                score++;
+            } else if ((hn & last) != 0) {
+                score--;
+            }
+            hp = (hp << 1) | 1;
+            hn <<= 1;
+            vp = hn | ~(d0 | hp);
+            vn = hp & d0;
+            previousMask = mask;
+        }
+        return score;
+    }
+}
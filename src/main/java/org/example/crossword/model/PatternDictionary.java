@@ -0,0 +1,284 @@
+package org.example.crossword.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+// Dictionary indexed for pattern lookups such as "S?X?A?TE".
+// Words are bucketed by length and identified by their rank in the bucket. For every length,
+// position and letter the index keeps a bitset of the words having that letter at that position,
+// so a pattern query is an AND of one bitset per fixed letter, 64 words at a time. Counting and
+// iterating the matches go block by block and do not allocate.
+// Letters are stored as their index in the alphabet of the dictionary (64 letters at most), one
+// byte per letter; bitsets of letters never found at a position are not allocated.
+public final class PatternDictionary {
+    public static final char WILDCARD = '?';
+    public static final int MAX_LETTERS = 64;       // letters of the alphabet, one bit each in a long
+
+    private final char[] alphabet;              // letters found in the words
+    private final byte[] letterIndex;           // index of each char in the alphabet, -1 if absent
+    private final Bucket[] buckets;             // buckets by length, null if no word has that length
+    private final int size;
+
+    // Words of one length
+    private static final class Bucket {
+        final int length;
+        final int count;
+        final byte[] letters;                   // alphabet index of the letters, word after word
+        final long[][][] index;                 // [position][letter] -> bitset of words, null if none
+        final long[] present;                   // [position] -> bitmask of letters found at that position
+
+        Bucket(List<String> words, int length, byte[] letterIndex, int alphabetSize) {
+            this.length = length;
+            this.count = words.size();
+            this.letters = new byte[count * length];
+            this.index = new long[length][alphabetSize][];
+            this.present = new long[length];
+            int blocks = (count + 63) >>> 6;
+            for (int w = 0; w < count; w++) {
+                String word = words.get(w);
+                for (int position = 0; position < length; position++) {
+                    int letter = letterIndex[word.charAt(position)];
+                    letters[w * length + position] = (byte) letter;
+                    if (index[position][letter] == null) {
+                        index[position][letter] = new long[blocks];
+                    }
+                    index[position][letter][w >>> 6] |= 1L << w;
+                    present[position] |= 1L << letter;
+                }
+            }
+        }
+    }
+
+    // Words are upper-cased, duplicates are ignored
+    public PatternDictionary(Collection<String> words) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String word : words) {
+            String normalized = word.trim().toUpperCase(Locale.ROOT);
+            if (!normalized.isEmpty()) {
+                unique.add(normalized);
+            }
+        }
+
+        this.letterIndex = new byte[Character.MAX_VALUE + 1];
+        Arrays.fill(letterIndex, (byte) -1);
+        StringBuilder letters = new StringBuilder();
+        int maxLength = 0;
+        for (String word : unique) {
+            maxLength = Math.max(maxLength, word.length());
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                if (letterIndex[c] < 0) {
+                    if (letters.length() == MAX_LETTERS) {
+                        throw new IllegalArgumentException("More than " + MAX_LETTERS + " distinct letters in the dictionary");
+                    }
+                    letterIndex[c] = (byte) letters.length();
+                    letters.append(c);
+                }
+            }
+        }
+        this.alphabet = letters.toString().toCharArray();
+
+        List<List<String>> byLength = new ArrayList<>();
+        for (int length = 0; length <= maxLength; length++) {
+            byLength.add(new ArrayList<>());
+        }
+        for (String word : unique) {
+            byLength.get(word.length()).add(word);
+        }
+        this.buckets = new Bucket[maxLength + 1];
+        for (int length = 1; length <= maxLength; length++) {
+            if (!byLength.get(length).isEmpty()) {
+                buckets[length] = new Bucket(byLength.get(length), length, letterIndex, alphabet.length);
+            }
+        }
+        this.size = unique.size();
+    }
+
+    // Reads one word per line, anything after a ';' is ignored, blank lines and lines starting with '#' are skipped
+    public static PatternDictionary load(Path file) throws IOException {
+        List<String> words = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.isBlank() && !line.startsWith("#")) {
+                int separator = line.indexOf(';');
+                words.add(separator < 0 ? line : line.substring(0, separator));
+            }
+        }
+        return new PatternDictionary(words);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Number of words of the given length
+    public int count(int length) {
+        Bucket bucket = bucket(length);
+        return bucket == null ? 0 : bucket.count;
+    }
+
+    // Word of the given length and id, null if no word has that length
+    public String word(int length, int id) {
+        Bucket bucket = bucket(length);
+        if (bucket == null) {
+            return null;
+        }
+        char[] word = new char[length];
+        for (int position = 0; position < length; position++) {
+            word[position] = alphabet[bucket.letters[id * length + position]];
+        }
+        return new String(word);
+    }
+
+    // Letter of a word, 0 if no word has that length
+    public char letter(int length, int id, int position) {
+        Bucket bucket = bucket(length);
+        return bucket == null ? 0 : alphabet[bucket.letters[id * length + position]];
+    }
+
+    public boolean contains(CharSequence word) {
+        return word.length() > 0 && indexOf(word) >= 0;
+    }
+
+    // Id of the word in the bucket of its length, -1 if absent
+    public int indexOf(CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) == WILDCARD) {
+                return -1;
+            }
+        }
+        Bucket bucket = bucket(word.length());
+        if (bucket == null) {
+            return -1;
+        }
+        int blocks = (bucket.count + 63) >>> 6;
+        for (int b = 0; b < blocks; b++) {
+            long bits = matchBlock(bucket, word, b);
+            if (bits != 0) {
+                return (b << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    // Number of words matching the pattern, WILDCARD stands for any letter
+    public int count(CharSequence pattern) {
+        Bucket bucket = bucket(pattern.length());
+        if (bucket == null) {
+            return 0;
+        }
+        int count = 0;
+        int blocks = (bucket.count + 63) >>> 6;
+        for (int b = 0; b < blocks; b++) {
+            count += Long.bitCount(matchBlock(bucket, pattern, b));
+        }
+        return count;
+    }
+
+    // Passes the id of every word matching the pattern to the consumer, in id order
+    public void forEachMatch(CharSequence pattern, IntConsumer ids) {
+        Bucket bucket = bucket(pattern.length());
+        if (bucket == null) {
+            return;
+        }
+        int blocks = (bucket.count + 63) >>> 6;
+        for (int b = 0; b < blocks; b++) {
+            for (long bits = matchBlock(bucket, pattern, b); bits != 0; bits &= bits - 1) {
+                ids.accept((b << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        }
+    }
+
+    // Stores the bitset of the words matching the pattern into the given array, which needs
+    // wordBlocks(pattern.length()) longs. Returns the number of matches.
+    public int match(CharSequence pattern, long[] into) {
+        Bucket bucket = bucket(pattern.length());
+        if (bucket == null) {
+            return 0;
+        }
+        int count = 0;
+        int blocks = (bucket.count + 63) >>> 6;
+        for (int b = 0; b < blocks; b++) {
+            into[b] = matchBlock(bucket, pattern, b);
+            count += Long.bitCount(into[b]);
+        }
+        return count;
+    }
+
+    // Words of the block b matching the pattern
+    private long matchBlock(Bucket bucket, CharSequence pattern, int b) {
+        long bits = b == (bucket.count - 1) >>> 6 && (bucket.count & 63) != 0 ? (1L << bucket.count) - 1 : -1L;
+        for (int position = 0; position < bucket.length && bits != 0; position++) {
+            char c = pattern.charAt(position);
+            if (c == WILDCARD) {
+                continue;
+            }
+            int letter = letterIndex[Character.toUpperCase(c)];
+            long[] words = letter < 0 ? null : bucket.index[position][letter];
+            bits = words == null ? 0 : bits & words[b];
+        }
+        return bits;
+    }
+
+    // Number of longs of a bitset over the words of the given length
+    public int wordBlocks(int length) {
+        return (count(length) + 63) >>> 6;
+    }
+
+    // Bitset of the words of the given length having the letter (alphabet index) at the position,
+    // null if there is none. The array is shared and must not be modified.
+    public long[] wordsWith(int length, int position, int letter) {
+        Bucket bucket = bucket(length);
+        return bucket == null ? null : bucket.index[position][letter];
+    }
+
+    // Bitmask of the letters (alphabet index) found at the position in the words of the given
+    // length, 0 if there is none
+    public long lettersAt(int length, int position) {
+        Bucket bucket = bucket(length);
+        return bucket == null ? 0 : bucket.present[position];
+    }
+
+    public int alphabetSize() {
+        return alphabet.length;
+    }
+
+    public char alphabetLetter(int index) {
+        return alphabet[index];
+    }
+
+    // Index of the char in the alphabet, -1 if no word uses it
+    public int letterIndex(char c) {
+        return letterIndex[c];
+    }
+
+    // Approximate heap size of the words and of the index, in bytes
+    public long memoryBytes() {
+        long bytes = letterIndex.length + 2L * alphabet.length;
+        for (Bucket bucket : buckets) {
+            if (bucket == null) {
+                continue;
+            }
+            bytes += bucket.letters.length + 8L * bucket.present.length;
+            for (long[][] position : bucket.index) {
+                for (long[] words : position) {
+                    bytes += words == null ? 0 : 8L * words.length;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private Bucket bucket(int length) {
+        return length > 0 && length < buckets.length ? buckets[length] : null;
+    }
+}
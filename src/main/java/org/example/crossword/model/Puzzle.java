@@ -0,0 +1,226 @@
+package org.example.crossword.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Immutable definition of a puzzle: layout, clues and solutions.
+// Words are numbered from 1, word n is the n-th line of data.txt and starts right
+// after the cell numbered n, going right (H) or down (V).
+// Letters are addressed by their offset in the flat array of all letters and live in slots:
+// a slot is a grid cell (slot == cell index) or, for letters running out of the grid, a
+// virtual slot after the last cell. The crossing index gives the letters sharing a slot.
+public final class Puzzle {
+    private final String theme;             // name of the theme
+    private final int rows;                 // number of rows of the grid
+    private final int cols;                 // number of columns of the grid
+    private final short[] cellValues;       // grid.txt value of each cell (-1 block, 0 letter, n word start)
+    private final String[] clues;           // clue of each word
+    private final String[] solutions;       // solution of each word as written in data.txt
+    private final byte[] letters;           // folded letter at each flat offset, see AnswerNormalizer
+    private final boolean[] horizontal;     // orientation of each word
+    private final int[][] wordCells;        // row-major index of the cells of each word
+    private final int[] letterOffsets;      // offset of each word in a flat array of all letters
+    private final int[] letterWords;        // word number of each letter
+    private final int[] letterSlots;        // slot of each letter
+    private final int[] slotLetters;        // the two letters of each slot (2 * slot, 2 * slot + 1), -1 if none
+    private final int slotCount;            // number of cells plus number of virtual slots
+    private final long[] letterMasks;       // positions of each letter in each word, see EditDistance
+    private final int maxScore;             // score when every word is found without help
+
+    private Puzzle(String theme, CrosswordGrid grid, List<Word> words) {
+        this.theme = theme;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.cellValues = new short[grid.size()];
+        for (int index = 0; index < cellValues.length; index++) {
+            cellValues[index] = (short) (!grid.isPartOfWord(index) ? -1 : Math.max(grid.getWordNumber(index), 0));
+        }
+
+        int count = words.size();
+        this.clues = new String[count];
+        this.solutions = new String[count];
+        byte[][] folded = new byte[count][];
+        this.horizontal = new boolean[count];
+        this.wordCells = new int[count][];
+        this.letterOffsets = new int[count + 1];
+        int score = 0;
+        for (int i = 0; i < count; i++) {
+            Word word = words.get(i);
+            clues[i] = word.getClue();
+            solutions[i] = word.getSolution();
+            folded[i] = AnswerNormalizer.fold(word.getSolution());
+            horizontal[i] = word.isHorizontal();
+            wordCells[i] = layoutWord(grid, i + 1, folded[i].length, horizontal[i]);
+            letterOffsets[i + 1] = letterOffsets[i] + folded[i].length;
+            score += folded[i].length * 2;
+        }
+        this.maxScore = score;
+        this.letters = new byte[letterOffsets[count]];
+        this.letterMasks = new long[count * EditDistance.ALPHABET];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(folded[i], 0, letters, letterOffsets[i], folded[i].length);
+            EditDistance.addMasks(letterMasks, i * EditDistance.ALPHABET, folded[i]);
+        }
+
+        // crossing index, a letter gets a virtual slot when it is out of the grid, when its cell
+        // already belongs to two words or when the crossing word expects another letter there
+        // (the last two only happen with broken data, the shipped Nature and History themes have some)
+        int totalLetters = letterOffsets[count];
+        this.letterWords = new int[totalLetters];
+        this.letterSlots = new int[totalLetters];
+        int[] links = new int[2 * (cellValues.length + totalLetters)];
+        Arrays.fill(links, -1);
+        int nextVirtualSlot = cellValues.length;
+        for (int i = 0; i < count; i++) {
+            for (int position = 0; position < folded[i].length; position++) {
+                int letter = letterOffsets[i] + position;
+                int slot = position < wordCells[i].length ? wordCells[i][position] : -1;
+                letterWords[letter] = i + 1;
+                if (slot < 0 || links[2 * slot + 1] >= 0
+                        || (links[2 * slot] >= 0 && letters[links[2 * slot]] != folded[i][position])) {
+                    slot = nextVirtualSlot++;
+                }
+                links[links[2 * slot] < 0 ? 2 * slot : 2 * slot + 1] = letter;
+                letterSlots[letter] = slot;
+            }
+        }
+        this.slotCount = nextVirtualSlot;
+        this.slotLetters = Arrays.copyOf(links, 2 * slotCount);
+    }
+
+    public static Puzzle of(String theme, CrosswordGrid grid, List<Word> words) {
+        return new Puzzle(theme, grid, words);
+    }
+
+    // Cells of a word: the cells following its numbered start cell that are inside the grid
+    private static int[] layoutWord(CrosswordGrid grid, int wordNumber, int length, boolean isHorizontal) {
+        int start = grid.findStartIndex(wordNumber);
+        if (start < 0) {
+            return new int[0];
+        }
+        int row = grid.rowOf(start) + (isHorizontal ? 0 : 1);
+        int col = grid.colOf(start) + (isHorizontal ? 1 : 0);
+        int[] cells = new int[length];
+        int found = 0;
+        for (int i = 0; i < length; i++) {
+            int r = isHorizontal ? row : row + i;
+            int c = isHorizontal ? col + i : col;
+            if (grid.contains(r, c)) {
+                cells[found++] = grid.indexOf(r, c);
+            }
+        }
+        return found == length ? cells : Arrays.copyOf(cells, found);
+    }
+
+    // Builds a fresh mutable grid with the layout of the puzzle
+    public CrosswordGrid toGrid() {
+        CrosswordGrid grid = new CrosswordGrid(rows, cols);
+        for (int index = 0; index < cellValues.length; index++) {
+            grid.define(index / cols, index % cols, cellValues[index]);
+        }
+        return grid;
+    }
+
+    public String getTheme() {
+        return theme;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getCellValue(int row, int col) {
+        return cellValues[row * cols + col];
+    }
+
+    public int getWordCount() {
+        return clues.length;
+    }
+
+    public boolean hasWord(int wordNumber) {
+        return wordNumber >= 1 && wordNumber <= clues.length;
+    }
+
+    public String getClue(int wordNumber) {
+        return clues[wordNumber - 1];
+    }
+
+    public String getSolution(int wordNumber) {
+        return solutions[wordNumber - 1];
+    }
+
+    public boolean isHorizontal(int wordNumber) {
+        return horizontal[wordNumber - 1];
+    }
+
+    // Number of letters of the folded solution, a hyphen counts as one
+    public int getLength(int wordNumber) {
+        return letterOffsets[wordNumber] - letterOffsets[wordNumber - 1];
+    }
+
+    // Folded letter of the solution at the given position
+    public char getLetter(int wordNumber, int position) {
+        return (char) letters[letterOffsets[wordNumber - 1] + position];
+    }
+
+    // Edits (wrong, missing, extra or swapped letter) from the folded solution to the first length
+    // bytes of a folded text, Integer.MAX_VALUE for a solution longer than 64 letters. Costs a few
+    // operations per letter of the text and does not allocate.
+    public int getDistance(int wordNumber, byte[] text, int length) {
+        int m = getLength(wordNumber);
+        if (m > EditDistance.MAX_PATTERN) {
+            return Integer.MAX_VALUE;
+        }
+        return EditDistance.distance(letterMasks, (wordNumber - 1) * EditDistance.ALPHABET, m, text, length);
+    }
+
+    // Number of grid cells of the word, lower than its length if it runs out of the grid
+    public int getCellCount(int wordNumber) {
+        return wordCells[wordNumber - 1].length;
+    }
+
+    // Row-major index of the cell holding the given letter of the word
+    public int getCell(int wordNumber, int position) {
+        return wordCells[wordNumber - 1][position];
+    }
+
+    // Offset of the word in an array holding the letters of all the words one after the other
+    public int getLetterOffset(int wordNumber) {
+        return letterOffsets[wordNumber - 1];
+    }
+
+    public int getTotalLetters() {
+        return letterOffsets[letterOffsets.length - 1];
+    }
+
+    public int getLetterWord(int letter) {
+        return letterWords[letter];
+    }
+
+    // Folded letter of the solution at the given flat offset
+    public char getExpectedLetter(int letter) {
+        return (char) letters[letter];
+    }
+
+    // Slot holding the letter
+    public int getSlot(int letter) {
+        return letterSlots[letter];
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    // First (k = 0) or second (k = 1) letter of the slot, -1 if none
+    public int getSlotLetter(int slot, int k) {
+        return slotLetters[2 * slot + k];
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.crossword.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Puzzles of any size with random letters, to measure the code on grids larger than the shipped ones.
+// The grid is a lattice: a horizontal word on every odd row, numbered in column 0, and a vertical
+// word on every odd column, numbered in row 0, so every other letter is a crossing.
+public final class SyntheticPuzzle {
+    private static final String LETTERS = "EEEEEEAAAAISSSNNRRTTOOLLUUDCMPGBVHFQJXYZKW";
+
+    private SyntheticPuzzle() {
+    }
+
+    public static Puzzle of(int rows, int cols, long seed) {
+        if (rows < 2 || cols < 2) {
+            throw new IllegalArgumentException("Invalid grid dimensions: " + rows + "x" + cols);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        char[][] letters = new char[rows][cols];
+        for (char[] row : letters) {
+            for (int col = 0; col < cols; col++) {
+                row[col] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            }
+        }
+
+        CrosswordGrid grid = new CrosswordGrid(rows, cols);
+        List<Word> words = new ArrayList<>();
+        for (int row = 1; row < rows; row += 2) {
+            grid.define(row, 0, words.size() + 1);
+            StringBuilder solution = new StringBuilder();
+            for (int col = 1; col < cols; col++) {
+                grid.define(row, col, 0);
+                solution.append(letters[row][col]);
+            }
+            words.add(new Word("Row " + row, solution.toString(), true, row, 1));
+        }
+        for (int col = 1; col < cols; col += 2) {
+            grid.define(0, col, words.size() + 1);
+            StringBuilder solution = new StringBuilder();
+            for (int row = 1; row < rows; row++) {
+                grid.define(row, col, 0);
+                solution.append(letters[row][col]);
+            }
+            words.add(new Word("Column " + col, solution.toString(), false, 1, col));
+        }
+        return Puzzle.of("Synthetic " + rows + "x" + cols, grid, words);
+    }
+}
@@ -1,13 +1,12 @@
 package org.example.crossword.model;
 
+// Definition of a word of the puzzle, the progress of a player is kept in a GameSession
 public class Word {
     private final String clue;          // The clue for the word
     private final String solution;      // The correct answer
     private final boolean isHorizontal; // Is the word horizontal
     private final int row;              // The row of the first letter of the word
     private final int col;              // The column of the first letter of the word
-    private String currentAnswer;       // The current answer
-    private boolean solved;             // Is the word solved
     private int wordNumber;             // The number of the word
 
     // Constructor
@@ -17,8 +16,6 @@ public class Word {
         this.isHorizontal = isHorizontal;
         this.row = row;
         this.col = col;
-        this.currentAnswer = "";
-        this.solved = false;
     }
 
     // Getters and Setters
@@ -30,14 +27,6 @@ public class Word {
         return wordNumber;
     }
 
-    public void setSolved(boolean solved) {
-        this.solved = solved;
-    }
-
-    public boolean isSolved() {
-        return solved;
-    }
-
     public String getClue() {
         return clue;
     }
@@ -57,22 +46,5 @@ public class Word {
     public int getCol() {
         return col;
     }
-
-    public void setCurrentAnswer(String currentAnswer) {
-        this.currentAnswer = currentAnswer;
-    }
-
-    // Returns the score of the word
-    public int getScore() {
-        if (isSolved()) {
-            return solution.length() * 2; // Score if solved without hints
-        }
-        return 0;
-    }
-
-    // Returns the current answer with the correct number of spaces
-    public String getCurrentAnswer() {
-        return currentAnswer;
-    }
 }
 
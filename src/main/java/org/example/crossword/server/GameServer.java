@@ -0,0 +1,395 @@
+package org.example.crossword.server;
+
+import org.example.crossword.analytics.EventLog;
+import org.example.crossword.analytics.EventType;
+import org.example.crossword.engine.GameEngine;
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.engine.Move;
+import org.example.crossword.engine.Outcome;
+import org.example.crossword.journal.MoveJournal;
+import org.example.crossword.model.Puzzle;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Hosts many players at once. Each puzzle is loaded once and shared by all its sessions,
+// a session only holds the progress of its player. All methods are thread-safe.
+// With a MoveJournal, every session and move is journaled under the session's lock and recover
+// rebuilds the sessions after a restart. With an EventLog, selections, guesses, hints and session
+// ends are recorded for ClueReport.
+public class GameServer implements Closeable {
+    static final int LEADERBOARD_SIZE = 100;
+    static final long SNAPSHOT_BYTES = 16L << 20;      // records between two snapshots
+    static final int RUN_ID_SHIFT = 20;                 // session ids of a run without journal, see below
+
+    // Loads the puzzles of the sessions found by recover
+    @FunctionalInterface
+    public interface PuzzleSource {
+        Puzzle load(String puzzleId) throws IOException;
+    }
+
+    private final Map<String, GameEngine> engines = new ConcurrentHashMap<>();
+    private final Map<String, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+    private final Map<Puzzle, Leaderboard> leaderboardOfPuzzle = new ConcurrentHashMap<>();   // by identity
+    private final Map<Puzzle, String> puzzleIds = new ConcurrentHashMap<>();                  // by identity
+    private final SessionStore sessions;
+    private final MoveJournal journal;      // null if nothing is saved
+    private final boolean waitForDisk;      // calls return once their moves are on disk
+    private EventLog events;                // null if no events are recorded
+    private final AtomicLong nextSessionId;
+
+    public GameServer() {
+        this(new SessionStore());
+    }
+
+    public GameServer(SessionStore sessions) {
+        this(sessions, null, false);
+    }
+
+    // The journal must be replayed with recover before any session is created. Without a journal
+    // the sessions do not outlive the run, their ids start from the start time of the run in seconds
+    // shifted left by RUN_ID_SHIFT (below 2^53, exact in JSON): the events of several runs logged
+    // to the same directory never share a session id.
+    public GameServer(SessionStore sessions, MoveJournal journal, boolean waitForDisk) {
+        this.sessions = sessions;
+        this.journal = journal;
+        this.waitForDisk = waitForDisk;
+        this.nextSessionId = new AtomicLong(journal == null ? (System.currentTimeMillis() / 1000) << RUN_ID_SHIFT | 1 : 1);
+    }
+
+    // Records the gameplay events to the log from now on, it is closed with the server
+    public GameServer eventLog(EventLog events) {
+        this.events = events;
+        return this;
+    }
+
+    public void addPuzzle(String puzzleId, Puzzle puzzle) {
+        Leaderboard leaderboard = new Leaderboard(LEADERBOARD_SIZE);
+        engines.put(puzzleId, new GameEngine(puzzle));
+        leaderboards.put(puzzleId, leaderboard);
+        leaderboardOfPuzzle.put(puzzle, leaderboard);
+        puzzleIds.put(puzzle, puzzleId);
+    }
+
+    // Removes a puzzle and ends its sessions. The engine goes first: a session created meanwhile
+    // is either seen below, under its stripe lock, or finds the engine gone and is not added.
+    public void removePuzzle(String puzzleId) {
+        GameEngine engine = engines.remove(puzzleId);
+        if (engine == null) {
+            return;
+        }
+        Puzzle puzzle = engine.getPuzzle();
+        for (long sessionId : sessionIdsOf(puzzle)) {
+            endSession(sessionId);
+        }
+        Leaderboard leaderboard = leaderboardOfPuzzle.remove(puzzle);
+        leaderboards.remove(puzzleId, leaderboard);
+        puzzleIds.remove(puzzle);
+    }
+
+    // Replays the journal: the puzzles of the sessions found are loaded from source unless added
+    // before, the sessions of puzzles that cannot be loaded any more are dropped. Snapshots are
+    // then taken in the background as the journal grows.
+    public void recover(PuzzleSource source) throws IOException {
+        Map<Long, GameSession> recovered = new HashMap<>();
+        Set<String> unavailable = new HashSet<>();
+        long[] lastId = {0};
+        journal.replay(new MoveJournal.Replay() {
+            @Override
+            public void restored(long sessionId, String puzzleId, DataInput state) throws IOException {
+                GameEngine engine = engineFor(puzzleId);
+                lastId[0] = Math.max(lastId[0], sessionId);
+                if (engine != null) {
+                    try {
+                        recovered.put(sessionId, engine.restoreSession(state));
+                    } catch (IOException e) {
+                        System.err.println("Dropping session " + sessionId + ": " + e.getMessage());
+                    }
+                }
+            }
+
+            @Override
+            public void created(long sessionId, String puzzleId, long seed) {
+                GameEngine engine = engineFor(puzzleId);
+                lastId[0] = Math.max(lastId[0], sessionId);
+                if (engine != null) {
+                    recovered.put(sessionId, engine.newSession(seed));
+                }
+            }
+
+            @Override
+            public void moved(long sessionId, Move move) {
+                GameSession session = recovered.get(sessionId);
+                if (session != null) {
+                    session.replay(move);
+                }
+            }
+
+            @Override
+            public void ended(long sessionId) {
+                recovered.remove(sessionId);
+            }
+
+            private GameEngine engineFor(String puzzleId) {
+                if (!engines.containsKey(puzzleId) && unavailable.add(puzzleId)) {
+                    try {
+                        addPuzzle(puzzleId, source.load(puzzleId));
+                    } catch (IOException | RuntimeException e) {
+                        System.err.println("Dropping the sessions of puzzle " + puzzleId + ": " + e.getMessage());
+                    }
+                }
+                return engines.get(puzzleId);
+            }
+        });
+        recovered.forEach((sessionId, session) -> {
+            sessions.put(sessionId, session);
+            leaderboardOfPuzzle.get(session.getPuzzle()).record(sessionId, 0, session.getScore());
+        });
+        nextSessionId.set(lastId[0] + 1);
+        journal.snapshotEvery(SNAPSHOT_BYTES, this::writeSnapshot);
+    }
+
+    // Saves every session so that recover only replays the moves made after it
+    public void snapshot() throws IOException {
+        if (journal != null) {
+            journal.snapshot(this::writeSnapshot);
+        }
+    }
+
+    private void writeSnapshot(MoveJournal.Snapshot snapshot) throws IOException {
+        try {
+            sessions.forEach((sessionId, session) -> {
+                try {
+                    snapshot.session(sessionId, puzzleIds.get(session.getPuzzle()), session);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Takes a last snapshot, so that the next start replays nothing, and closes the journal and
+    // the event log
+    @Override
+    public void close() throws IOException {
+        try {
+            if (journal != null) {
+                try {
+                    snapshot();
+                } finally {
+                    journal.close();
+                }
+            }
+        } finally {
+            if (events != null) {
+                try {
+                    // the sessions end with the run unless the journal resumes them
+                    if (journal == null) {
+                        sessions.forEach((sessionId, session) ->
+                                events.record(sessionId, puzzleIds.get(session.getPuzzle()), 0, EventType.ENDED, 0));
+                    }
+                } finally {
+                    events.close();
+                }
+            }
+        }
+    }
+
+    public Set<String> getPuzzleIds() {
+        return engines.keySet();
+    }
+
+    public Puzzle getPuzzle(String puzzleId) {
+        return engine(puzzleId).getPuzzle();
+    }
+
+    // Starts a game on a puzzle and returns the id of the session
+    public long createSession(String puzzleId) {
+        GameEngine engine = engine(puzzleId);
+        long id = nextSessionId.getAndIncrement();
+        long seed = ThreadLocalRandom.current().nextLong();
+        // checked, journaled and added in one step under the stripe lock that snapshots and
+        // removePuzzle take too: a snapshot either saves the session or runs before the creation,
+        // which then goes to a segment it keeps; removePuzzle either ends the session or removed
+        // the engine before, the puzzle is then unknown
+        sessions.put(id, engine.newSession(seed), () -> {
+            if (engines.get(puzzleId) != engine) {
+                throw new NoSuchElementException("Unknown puzzle " + puzzleId);
+            }
+            if (journal != null) {
+                journal.created(id, puzzleId, seed);
+            }
+        });
+        awaitDisk();
+        return id;
+    }
+
+    public boolean endSession(long sessionId) {
+        GameSession ended = sessions.remove(sessionId);
+        if (ended == null) {
+            return false;
+        }
+        if (events != null) {
+            events.record(sessionId, puzzleIds.get(ended.getPuzzle()), 0, EventType.ENDED, 0);
+        }
+        if (journal != null) {
+            journal.ended(sessionId);
+            awaitDisk();
+        }
+        return true;
+    }
+
+    // Ids of the sessions of a puzzle, in creation order
+    public List<Long> getSessionIds(String puzzleId) {
+        return sessionIdsOf(engine(puzzleId).getPuzzle());
+    }
+
+    private List<Long> sessionIdsOf(Puzzle puzzle) {
+        List<Long> ids = new ArrayList<>();
+        sessions.forEach((sessionId, session) -> {
+            if (session.getPuzzle() == puzzle) {
+                ids.add(sessionId);
+            }
+        });
+        ids.sort(null);
+        return ids;
+    }
+
+    public Outcome select(long sessionId, int wordNumber) {
+        Outcome outcome = withSession(sessionId, session -> selectWord(sessionId, session, wordNumber));
+        awaitDisk();
+        return outcome;
+    }
+
+    // Selects the word and checks the guess in one step
+    public Outcome guess(long sessionId, int wordNumber, String guess) {
+        Outcome outcome = withSession(sessionId, session -> {
+            if (session.getSelectedWord() != wordNumber
+                    && selectWord(sessionId, session, wordNumber) == Outcome.REJECTED) {
+                return Outcome.REJECTED;
+            }
+            int before = session.getScore();
+            Outcome checked = session.guess(guess);
+            // an invalid length leaves the letters as they were
+            if (journal != null && checked != Outcome.REJECTED && checked != Outcome.INVALID_LENGTH) {
+                journal.moved(sessionId, Move.guess(guess));
+            }
+            if (events != null && (checked == Outcome.WRONG || checked == Outcome.NEAR_MISS || checked == Outcome.SOLVED)) {
+                record(sessionId, session, wordNumber, checked == Outcome.SOLVED ? EventType.SOLVED : EventType.WRONG);
+            }
+            leaderboardOfPuzzle.get(session.getPuzzle()).record(sessionId, before, session.getScore());
+            return checked;
+        });
+        awaitDisk();
+        return outcome;
+    }
+
+    // Returns the scrambled letters of the word, null if it cannot be selected
+    public String revealLetters(long sessionId, int wordNumber) {
+        String letters = withSession(sessionId, session -> {
+            if (selectWord(sessionId, session, wordNumber) == Outcome.REJECTED) {
+                return null;
+            }
+            if (journal != null) {
+                journal.moved(sessionId, Move.revealLetters());
+            }
+            byte before = session.getHint(wordNumber);
+            String shown = session.revealLetters();
+            if (events != null && session.getHint(wordNumber) != before) {
+                record(sessionId, session, wordNumber, EventType.LETTERS);
+            }
+            return shown;
+        });
+        awaitDisk();
+        return letters;
+    }
+
+    // Returns the solution of the word, null if it cannot be selected
+    public String revealSolution(long sessionId, int wordNumber) {
+        String solution = withSession(sessionId, session -> {
+            if (selectWord(sessionId, session, wordNumber) == Outcome.REJECTED) {
+                return null;
+            }
+            if (journal != null) {
+                journal.moved(sessionId, Move.revealSolution());
+            }
+            byte before = session.getHint(wordNumber);
+            String shown = session.revealSolution();
+            if (events != null && session.getHint(wordNumber) != before) {
+                record(sessionId, session, wordNumber, EventType.SOLUTION);
+            }
+            return shown;
+        });
+        awaitDisk();
+        return solution;
+    }
+
+    // Called under the session's lock
+    private Outcome selectWord(long sessionId, GameSession session, int wordNumber) {
+        Outcome outcome = session.select(wordNumber);
+        if (journal != null && outcome != Outcome.REJECTED) {
+            journal.moved(sessionId, Move.select(wordNumber));
+        }
+        if (events != null && outcome != Outcome.REJECTED) {
+            record(sessionId, session, wordNumber, EventType.SELECTED);
+        }
+        return outcome;
+    }
+
+    // Called under the session's lock, so the events of a session are recorded in order
+    private void record(long sessionId, GameSession session, int wordNumber, EventType type) {
+        events.record(sessionId, puzzleIds.get(session.getPuzzle()), wordNumber, type, session.getAttempts(wordNumber));
+    }
+
+    // Group commit: the moves of other sessions appended meanwhile go to disk with the same force
+    private void awaitDisk() {
+        if (waitForDisk) {
+            journal.sync();
+        }
+    }
+
+    // Best sessions and score aggregates of a puzzle
+    public Leaderboard getLeaderboard(String puzzleId) {
+        Leaderboard leaderboard = leaderboards.get(puzzleId);
+        if (leaderboard == null) {
+            throw new NoSuchElementException("Unknown puzzle " + puzzleId);
+        }
+        return leaderboard;
+    }
+
+    public int getScore(long sessionId) {
+        return withSession(sessionId, GameSession::getScore);
+    }
+
+    // Runs an action on the session under its lock, for reads that need several values at once
+    public <T> T withSession(long sessionId, Function<GameSession, T> action) {
+        return sessions.withSession(sessionId, action);
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private GameEngine engine(String puzzleId) {
+        GameEngine engine = engines.get(puzzleId);
+        if (engine == null) {
+            throw new NoSuchElementException("Unknown puzzle " + puzzleId);
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.crossword.server;
+
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.journal.MoveJournal;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.Word;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+// Write throughput and recovery time of the move journal on local disk. Many sessions on one
+// puzzle are played by several threads, each move waits for its batch to be forced to disk. The
+// journal is then closed without a final snapshot, as a crash would leave it, and replayed into
+// a new server; a second recovery starts from the snapshot taken when that server closes.
+// The journal goes to a new directory under <dir>.
+// Usage: JournalLoadTest <dir> [sessions] [threads] [seconds] [grid.txt] [data.txt]
+public class JournalLoadTest {
+    private static final int MAX_SAMPLES = 1 << 20;     // latencies kept per thread
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: JournalLoadTest <dir> [sessions] [threads] [seconds] [grid.txt] [data.txt]");
+            System.exit(2);
+        }
+        Files.createDirectories(Path.of(args[0]));
+        Path dir = Files.createTempDirectory(Path.of(args[0]), "journal-");
+        int sessionCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int threadCount = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        Path gridFile = Path.of(args.length > 4 ? args[4] : "src/grid.txt");
+        Path dataFile = Path.of(args.length > 5 ? args[5] : "src/data.txt");
+
+        PuzzleParser parser = new PuzzleParser();
+        ParseReport report = new ParseReport();
+        CrosswordGrid grid = parser.parseGrid(gridFile, report);
+        List<Word> words = parser.parseWords(dataFile, report);
+        if (grid == null || words == null) {
+            System.err.println(report);
+            System.exit(1);
+        }
+        Puzzle puzzle = Puzzle.of("load-test", grid, words);
+        String[] rightGuesses = new String[puzzle.getWordCount() + 1];
+        String[] wrongGuesses = new String[puzzle.getWordCount() + 1];
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            rightGuesses[n] = puzzle.getSolution(n);
+            wrongGuesses[n] = "x".repeat(puzzle.getLength(n));
+        }
+
+        MoveJournal journal = MoveJournal.open(dir);
+        GameServer server = new GameServer(new SessionStore(), journal, true);
+        server.addPuzzle("load-test", puzzle);
+        server.recover(id -> puzzle);
+        long firstId = server.createSession("load-test");
+        for (int i = 1; i < sessionCount; i++) {
+            server.createSession("load-test");
+        }
+        long appendsBefore = journal.getAppendCount();
+        long flushesBefore = journal.getFlushCount();
+
+        long[][] samples = new long[threadCount][];
+        long[] counts = new long[threadCount];
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(thread);
+                long[] latencies = new long[MAX_SAMPLES];
+                long count = 0;
+                awaitQuietly(start);
+                while (System.nanoTime() < deadline) {
+                    long sessionId = firstId + random.nextInt(sessionCount);
+                    int wordNumber = 1 + random.nextInt(puzzle.getWordCount());
+                    String guess = random.nextInt(4) == 0 ? rightGuesses[wordNumber] : wrongGuesses[wordNumber];
+
+                    long begin = System.nanoTime();
+                    server.guess(sessionId, wordNumber, guess);
+                    long latency = System.nanoTime() - begin;
+
+                    if (count < MAX_SAMPLES) {
+                        latencies[(int) count] = latency;
+                    } else {
+                        long slot = random.nextLong(count + 1);
+                        if (slot < MAX_SAMPLES) {
+                            latencies[(int) slot] = latency;
+                        }
+                    }
+                    count++;
+                }
+                samples[thread] = Arrays.copyOf(latencies, (int) Math.min(count, MAX_SAMPLES));
+                counts[thread] = count;
+            }, "journal-load-" + t);
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long appends = journal.getAppendCount() - appendsBefore;
+        long flushes = journal.getFlushCount() - flushesBefore;
+        long scores = totalScore(server, firstId, sessionCount);
+        journal.close();
+
+        long total = Arrays.stream(counts).sum();
+        long[] all = Arrays.stream(samples).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("journal=%s sessions=%d threads=%d duration=%ds%n", dir, sessionCount, threadCount, seconds);
+        System.out.printf("guesses=%d throughput=%.0f/s records=%d forces=%d records/force=%.1f size=%s%n",
+                total, total / (double) seconds, appends, flushes, appends / (double) Math.max(flushes, 1),
+                megabytes(sizeOf(dir)));
+        System.out.printf("latency p50=%dns p99=%dns max=%dns%n",
+                percentile(all, 0.50), percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1]);
+
+        // from the last periodic snapshot, if any, and the segments after it
+        long begin = System.nanoTime();
+        GameServer replayed = new GameServer(new SessionStore(), MoveJournal.open(dir), false);
+        replayed.recover(id -> puzzle);
+        long replayTime = System.nanoTime() - begin;
+        check(replayed, firstId, sessionCount, scores);
+        replayed.close();
+        System.out.printf("recovery from the log: %.1fms%n", replayTime / 1e6);
+
+        // from the snapshot written by close
+        begin = System.nanoTime();
+        GameServer resumed = new GameServer(new SessionStore(), MoveJournal.open(dir), false);
+        resumed.recover(id -> puzzle);
+        long resumeTime = System.nanoTime() - begin;
+        check(resumed, firstId, sessionCount, scores);
+        resumed.close();
+        System.out.printf("recovery from a snapshot: %.1fms size=%s%n", resumeTime / 1e6, megabytes(sizeOf(dir)));
+    }
+
+    private static long totalScore(GameServer server, long firstId, int sessionCount) {
+        long total = 0;
+        for (int i = 0; i < sessionCount; i++) {
+            total += server.getScore(firstId + i);
+        }
+        return total;
+    }
+
+    private static void check(GameServer server, long firstId, int sessionCount, long scores) {
+        if (server.getSessionCount() != sessionCount || totalScore(server, firstId, sessionCount) != scores) {
+            throw new IllegalStateException("Recovered " + server.getSessionCount() + " sessions scoring "
+                    + totalScore(server, firstId, sessionCount) + ", expected " + sessionCount + " scoring " + scores);
+        }
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            long size = 0;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1fMB", bytes / 1048576.0);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
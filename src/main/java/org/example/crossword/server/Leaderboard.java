@@ -0,0 +1,108 @@
+package org.example.crossword.server;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Best scores of a puzzle and aggregates over all its sessions, updated by many threads without
+// locks. The top entries are an immutable array sorted by decreasing score that is replaced with
+// a CAS. Once the board is full, a score too low to enter it is rejected after one volatile read,
+// which is what most updates do. The aggregates are striped counters.
+public class Leaderboard {
+    // Score of a session, an entry of the board
+    public record Entry(long sessionId, int score) {
+    }
+
+    private final int capacity;
+    private final AtomicReference<Entry[]> top = new AtomicReference<>(new Entry[0]);
+    private final LongAdder scoredSessions = new LongAdder();     // sessions with a score above 0
+    private final LongAdder totalScore = new LongAdder();         // sum of the last score of each session
+    private final LongAccumulator bestScore = new LongAccumulator(Math::max, 0);
+
+    public Leaderboard(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid leaderboard capacity: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    // Records the new score of a session, scores only grow
+    public void record(long sessionId, int previousScore, int score) {
+        if (score <= previousScore) {
+            return;
+        }
+        if (previousScore == 0) {
+            scoredSessions.increment();
+        }
+        totalScore.add(score - previousScore);
+        bestScore.accumulate(score);
+
+        while (true) {
+            Entry[] current = top.get();
+            // ties keep the session that got there first
+            if (current.length == capacity && score <= current[capacity - 1].score()) {
+                return;
+            }
+            Entry[] next = insert(current, sessionId, score);
+            if (next == current || top.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    // Copy of the entries with the session at its new rank, the same array if nothing changes
+    private Entry[] insert(Entry[] current, long sessionId, int score) {
+        Entry[] next = new Entry[Math.min(current.length + 1, capacity)];
+        int size = 0;
+        boolean inserted = false;
+        for (Entry entry : current) {
+            if (entry.sessionId() == sessionId) {
+                if (entry.score() >= score) {
+                    return current;     // a concurrent update of the session was higher
+                }
+                continue;
+            }
+            if (!inserted && score > entry.score()) {
+                if (size == next.length) break;
+                next[size++] = new Entry(sessionId, score);
+                inserted = true;
+            }
+            if (size == next.length) break;
+            next[size++] = entry;
+        }
+        if (!inserted && size < next.length) {
+            next[size++] = new Entry(sessionId, score);
+        }
+        return size == next.length ? next : Arrays.copyOf(next, size);
+    }
+
+    // Best sessions, highest score first
+    public List<Entry> top(int count) {
+        Entry[] entries = top.get();
+        return List.of(Arrays.copyOf(entries, Math.min(count, entries.length)));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getScoredSessions() {
+        return scoredSessions.sum();
+    }
+
+    public long getTotalScore() {
+        return totalScore.sum();
+    }
+
+    public long getBestScore() {
+        return bestScore.get();
+    }
+
+    // Mean score of the sessions that scored, 0 if none did
+    public double getMeanScore() {
+        long sessions = scoredSessions.sum();
+        return sessions == 0 ? 0 : (double) totalScore.sum() / sessions;
+    }
+}
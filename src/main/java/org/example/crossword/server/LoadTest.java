@@ -0,0 +1,117 @@
+package org.example.crossword.server;
+
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.Word;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+// Load test of the game server: many sessions on one shared puzzle, hammered by several threads.
+// Usage: LoadTest [sessions] [threads] [seconds] [grid.txt] [data.txt]
+public class LoadTest {
+    private static final int MAX_SAMPLES = 1 << 20;     // latencies kept per thread
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        Path gridFile = Path.of(args.length > 3 ? args[3] : "src/grid.txt");
+        Path dataFile = Path.of(args.length > 4 ? args[4] : "src/data.txt");
+
+        PuzzleParser parser = new PuzzleParser();
+        ParseReport report = new ParseReport();
+        CrosswordGrid grid = parser.parseGrid(gridFile, report);
+        List<Word> words = parser.parseWords(dataFile, report);
+        if (grid == null || words == null) {
+            System.err.println(report);
+            System.exit(1);
+        }
+        Puzzle puzzle = Puzzle.of("load-test", grid, words);
+        String[] rightGuesses = new String[puzzle.getWordCount() + 1];
+        String[] wrongGuesses = new String[puzzle.getWordCount() + 1];
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            rightGuesses[n] = puzzle.getSolution(n);
+            wrongGuesses[n] = "x".repeat(puzzle.getLength(n));
+        }
+
+        GameServer server = new GameServer();
+        server.addPuzzle("load-test", puzzle);
+        long firstId = server.createSession("load-test");
+        for (int i = 1; i < sessionCount; i++) {
+            server.createSession("load-test");
+        }
+
+        long[][] samples = new long[threadCount][];
+        long[] counts = new long[threadCount];
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(thread);
+                long[] latencies = new long[MAX_SAMPLES];
+                long count = 0;
+                awaitQuietly(start);
+                while (System.nanoTime() < deadline) {
+                    long sessionId = firstId + random.nextInt(sessionCount);
+                    int wordNumber = 1 + random.nextInt(puzzle.getWordCount());
+                    // half of the guesses are right, sessions slowly fill up like real games
+                    String guess = random.nextBoolean() ? rightGuesses[wordNumber] : wrongGuesses[wordNumber];
+
+                    long begin = System.nanoTime();
+                    server.guess(sessionId, wordNumber, guess);
+                    long latency = System.nanoTime() - begin;
+
+                    // reservoir sampling keeps an unbiased sample of long runs
+                    if (count < MAX_SAMPLES) {
+                        latencies[(int) count] = latency;
+                    } else {
+                        long slot = random.nextLong(count + 1);
+                        if (slot < MAX_SAMPLES) {
+                            latencies[(int) slot] = latency;
+                        }
+                    }
+                    count++;
+                }
+                samples[thread] = Arrays.copyOf(latencies, (int) Math.min(count, MAX_SAMPLES));
+                counts[thread] = count;
+            }, "load-" + t);
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long total = Arrays.stream(counts).sum();
+        long[] all = Arrays.stream(samples).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("sessions=%d threads=%d duration=%ds%n", sessionCount, threadCount, seconds);
+        System.out.printf("guesses=%d throughput=%.0f/s%n", total, total / (double) seconds);
+        System.out.printf("latency p50=%dns p99=%dns p99.9=%dns max=%dns%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
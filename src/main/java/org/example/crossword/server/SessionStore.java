@@ -0,0 +1,119 @@
+package org.example.crossword.server;
+
+import org.example.crossword.engine.GameSession;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// Lock-striped store of game sessions. A session is only touched while holding the
+// lock of its stripe, so players on different stripes never contend with each other.
+public class SessionStore {
+    private final Stripe[] stripes;
+    private final int mask;
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Long, GameSession> sessions = new HashMap<>();
+    }
+
+    // The number of stripes is rounded up to a power of two
+    public SessionStore(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Invalid stripe count: " + stripeCount);
+        }
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[Math.max(size, 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = stripes.length - 1;
+    }
+
+    public SessionStore() {
+        this(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    private Stripe stripeOf(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h ^ (h >>> 32)) & mask];
+    }
+
+    public void put(long id, GameSession session) {
+        Stripe stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            stripe.sessions.put(id, session);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Runs the action then adds the session, both while holding its stripe lock: whoever goes over
+    // the sessions with forEach sees the session together with what the action did. Nothing is
+    // added if the action throws.
+    public void put(long id, GameSession session, Runnable action) {
+        Stripe stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            action.run();
+            stripe.sessions.put(id, session);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Returns the session removed, null if there was none
+    public GameSession remove(long id) {
+        Stripe stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            return stripe.sessions.remove(id);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Runs the action on the session while holding its stripe lock
+    public <T> T withSession(long id, Function<GameSession, T> action) {
+        Stripe stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            GameSession session = stripe.sessions.get(id);
+            if (session == null) {
+                throw new NoSuchElementException("Unknown session " + id);
+            }
+            return action.apply(session);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Runs the action on every session, each one while holding its stripe lock
+    public void forEach(BiConsumer<Long, GameSession> action) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.sessions.forEach(action);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.sessions.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,439 @@
+package org.example.crossword.solver;
+
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.PatternDictionary;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.Word;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+// Fills the slots of a layout with words of a dictionary.
+// The candidates of each slot are a bitset over the words of its length. After each choice the
+// domains are made arc consistent on the crossing cells (AC-3): a slot keeps the words whose
+// letter at the crossing is still possible for the other slot. The next slot to fill is the one
+// with the fewest candidates left. A word is used once per grid.
+// Domains are copied on write, so going back up the search only drops references.
+// A solver is meant to be used by one thread at a time.
+public class CrosswordSolver {
+    private final PatternDictionary words;
+    private final SlotLayout layout;
+    private final int[] counts;                 // number of words of the length of each slot
+    private final int[] lengths;                // length of each slot
+    private final long[] union;                 // scratch bitset for revise
+    private final int[] queue;                  // slots to propagate from
+    private final boolean[] queued;
+    private int head;                           // circular queue bounds
+    private int tail;
+    private int queuedCount;
+    private SplittableRandom random;            // candidate order, null for dictionary order
+    private BooleanSupplier cancelled = () -> false;
+    private long nodeLimit = Long.MAX_VALUE;
+    private long nodes;
+    private Predicate<String[]> sink;           // receives the fills when enumerating, null to stop at the first one
+
+    public CrosswordSolver(PatternDictionary words, SlotLayout layout) {
+        this.words = words;
+        this.layout = layout;
+        int count = layout.size();
+        this.counts = new int[count];
+        this.lengths = new int[count];
+        int maxBlocks = 0;
+        for (int s = 0; s < count; s++) {
+            lengths[s] = layout.getLength(s);
+            counts[s] = words.count(lengths[s]);
+            maxBlocks = Math.max(maxBlocks, words.wordBlocks(lengths[s]));
+        }
+        this.union = new long[maxBlocks];
+        this.queue = new int[count];
+        this.queued = new boolean[count];
+    }
+
+    // Tries the candidates of each slot from a random word instead of the first one
+    public CrosswordSolver shuffle(long seed) {
+        this.random = new SplittableRandom(seed);
+        return this;
+    }
+
+    // Stops the search when the supplier returns true, it is polled once per node
+    public CrosswordSolver cancelWhen(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+        return this;
+    }
+
+    // Gives up after the given number of nodes
+    public CrosswordSolver nodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+        return this;
+    }
+
+    public SlotLayout getLayout() {
+        return layout;
+    }
+
+    // Result of a search: the word of each slot (null if no fill was found) and search statistics
+    public record Result(String[] fill, long nodes, long elapsedNanos) {
+        public boolean isSolved() {
+            return fill != null;
+        }
+
+        public double nodesPerSecond() {
+            return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+        }
+    }
+
+    public Result solve() {
+        long begin = System.nanoTime();
+        nodes = 0;
+        sink = null;
+        int[] assignment = open();
+        long[][] domains = start(assignment);
+        boolean found = domains != null && search(domains, assignment, 0) && assignedCount(assignment) == assignment.length;
+        String[] fill = found ? fillOf(assignment) : null;
+        return new Result(fill, nodes, System.nanoTime() - begin);
+    }
+
+    // Passes the fills extending a partial one (word id per slot, -1 if open) to the sink until it
+    // returns false or the search is exhausted, cancelled or over its node limit. Returns the node count.
+    public long enumerate(int[] prefix, Predicate<String[]> sink) {
+        nodes = 0;
+        this.sink = sink;
+        try {
+            int[] assignment = prefix.clone();
+            long[][] domains = start(assignment);
+            if (domains != null) {
+                search(domains, assignment, assignedCount(assignment));
+            }
+            return nodes;
+        } finally {
+            this.sink = null;
+        }
+    }
+
+    // Next choice after a partial fill: the most constrained open slot and its candidates.
+    // Returns null if the partial fill leads nowhere, a branch on slot -1 if it is complete.
+    public Branch branch(int[] prefix) {
+        int[] assignment = prefix.clone();
+        long[][] domains = start(assignment);
+        if (domains == null) {
+            return null;
+        }
+        int slot = mostConstrained(domains, assignment);
+        if (slot < 0) {
+            return new Branch(-1, new int[0]);
+        }
+        int[] candidates = new int[cardinality(domains[slot])];
+        int at = 0;
+        for (int b = 0; b < domains[slot].length; b++) {
+            for (long rest = domains[slot][b]; rest != 0; rest &= rest - 1) {
+                candidates[at++] = (b << 6) + Long.numberOfTrailingZeros(rest);
+            }
+        }
+        return new Branch(slot, candidates);
+    }
+
+    // Slot to fill next and the ids of its candidate words
+    public record Branch(int slot, int[] candidates) {
+    }
+
+    // An assignment with every slot open
+    public int[] open() {
+        int[] assignment = new int[layout.size()];
+        Arrays.fill(assignment, -1);
+        return assignment;
+    }
+
+    public String[] fillOf(int[] assignment) {
+        String[] fill = new String[assignment.length];
+        for (int s = 0; s < fill.length; s++) {
+            fill[s] = words.word(lengths[s], assignment[s]);
+        }
+        return fill;
+    }
+
+    // Full domains made arc consistent, then narrowed to the assigned words; null on a dead end
+    private long[][] start(int[] assignment) {
+        int count = layout.size();
+        long[][] domains = new long[count][];
+        for (int s = 0; s < count; s++) {
+            int size = counts[s];
+            if (size == 0) {
+                return null;
+            }
+            domains[s] = new long[(size + 63) >>> 6];
+            Arrays.fill(domains[s], -1L);
+            if ((size & 63) != 0) {
+                domains[s][domains[s].length - 1] = (1L << size) - 1;
+            }
+        }
+        boolean[] owned = new boolean[count];
+        Arrays.fill(owned, true);
+        if (!propagateAll(domains, owned)) {
+            return null;
+        }
+        for (int s = 0; s < count; s++) {
+            int w = assignment[s];
+            if (w < 0) {
+                continue;
+            }
+            if ((domains[s][w >>> 6] & (1L << w)) == 0) {
+                return null;
+            }
+            long[] single = new long[domains[s].length];
+            single[w >>> 6] = 1L << w;
+            domains[s] = single;
+            if (!removeWord(domains, owned, assignment, s, w) || !propagate(domains, owned, s)) {
+                return null;
+            }
+        }
+        return domains;
+    }
+
+    private static int assignedCount(int[] assignment) {
+        int count = 0;
+        for (int w : assignment) {
+            if (w >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Open slot with the fewest candidates, -1 if every slot is assigned
+    private int mostConstrained(long[][] domains, int[] assignment) {
+        int slot = -1;
+        int best = Integer.MAX_VALUE;
+        for (int s = 0; s < assignment.length; s++) {
+            if (assignment[s] < 0) {
+                int size = cardinality(domains[s]);
+                if (size < best) {
+                    best = size;
+                    slot = s;
+                }
+            }
+        }
+        return slot;
+    }
+
+    // Returns true when the search must stop: a fill was found, or the sink wants no more
+    private boolean search(long[][] domains, int[] assignment, int assigned) {
+        if (assigned == assignment.length) {
+            return sink == null || !sink.test(fillOf(assignment));
+        }
+        if (++nodes > nodeLimit || cancelled.getAsBoolean()) {
+            return true;
+        }
+
+        int slot = mostConstrained(domains, assignment);
+        long[] candidates = domains[slot];
+        int total = counts[slot];
+        int first = random == null ? 0 : random.nextInt(total);
+        for (int i = 0; i < total; i++) {
+            int w = first + i < total ? first + i : first + i - total;
+            if ((candidates[w >>> 6] & (1L << w)) == 0) {
+                continue;
+            }
+            long[][] next = domains.clone();
+            boolean[] owned = new boolean[domains.length];
+            long[] single = new long[candidates.length];
+            single[w >>> 6] = 1L << w;
+            next[slot] = single;
+            owned[slot] = true;
+            assignment[slot] = w;
+
+            if (removeWord(next, owned, assignment, slot, w) && propagate(next, owned, slot)
+                    && search(next, assignment, assigned + 1)) {
+                return true;
+            }
+            assignment[slot] = -1;
+            if (nodes > nodeLimit || cancelled.getAsBoolean()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A word fills one slot only: it is removed from the other open slots of the same length
+    private boolean removeWord(long[][] domains, boolean[] owned, int[] assignment, int slot, int w) {
+        for (int s = 0; s < domains.length; s++) {
+            if (s == slot || assignment[s] >= 0 || lengths[s] != lengths[slot]
+                    || (domains[s][w >>> 6] & (1L << w)) == 0) {
+                continue;
+            }
+            long[] domain = own(domains, owned, s);
+            domain[w >>> 6] &= ~(1L << w);
+            if (cardinality(domain) == 0) {
+                clearQueue();
+                return false;
+            }
+            enqueue(s);
+        }
+        return true;
+    }
+
+    // Arc consistency from every slot, used once before the search
+    private boolean propagateAll(long[][] domains, boolean[] owned) {
+        for (int s = 0; s < domains.length; s++) {
+            enqueue(s);
+        }
+        return drain(domains, owned);
+    }
+
+    // Arc consistency from a slot whose domain changed
+    private boolean propagate(long[][] domains, boolean[] owned, int slot) {
+        enqueue(slot);
+        return drain(domains, owned);
+    }
+
+    private void enqueue(int slot) {
+        if (!queued[slot]) {
+            queued[slot] = true;
+            queue[tail] = slot;
+            tail = tail + 1 == queue.length ? 0 : tail + 1;
+            queuedCount++;
+        }
+    }
+
+    private boolean drain(long[][] domains, boolean[] owned) {
+        while (queuedCount > 0) {
+            int changed = queue[head];
+            head = head + 1 == queue.length ? 0 : head + 1;
+            queuedCount--;
+            queued[changed] = false;
+
+            int[] links = layout.getCrossings(changed);
+            for (int k = 0; k < links.length; k += 3) {
+                int other = links[k];
+                int revised = revise(domains, owned, other, links[k + 2], changed, links[k + 1]);
+                if (revised < 0) {
+                    clearQueue();
+                    return false;
+                }
+                if (revised > 0) {
+                    enqueue(other);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void clearQueue() {
+        while (queuedCount > 0) {
+            queued[queue[head]] = false;
+            head = head + 1 == queue.length ? 0 : head + 1;
+            queuedCount--;
+        }
+    }
+
+    // Keeps the words of the slot whose letter at the position is possible at the crossing slot.
+    // Returns -1 if the domain becomes empty, 1 if it shrank and 0 if it did not change.
+    private int revise(long[][] domains, boolean[] owned, int slot, int position, int crossing, int crossingPosition) {
+        int length = lengths[slot];
+        int crossingLength = lengths[crossing];
+        long[] crossingDomain = domains[crossing];
+
+        // letters still possible at the crossing
+        long letters = 0;
+        long present = words.lettersAt(length, position);
+        for (long rest = words.lettersAt(crossingLength, crossingPosition) & present; rest != 0; rest &= rest - 1) {
+            int letter = Long.numberOfTrailingZeros(rest);
+            if (intersects(crossingDomain, words.wordsWith(crossingLength, crossingPosition, letter))) {
+                letters |= 1L << letter;
+            }
+        }
+        if (letters == present) {
+            return 0;
+        }
+
+        long[] domain = domains[slot];
+        int blocks = domain.length;
+        Arrays.fill(union, 0, blocks, 0);
+        for (long rest = letters; rest != 0; rest &= rest - 1) {
+            long[] matching = words.wordsWith(length, position, Long.numberOfTrailingZeros(rest));
+            for (int b = 0; b < blocks; b++) {
+                union[b] |= matching[b];
+            }
+        }
+        boolean shrank = false;
+        boolean empty = true;
+        for (int b = 0; b < blocks; b++) {
+            long kept = domain[b] & union[b];
+            if (kept != domain[b]) {
+                if (!shrank) {
+                    domain = own(domains, owned, slot);
+                    shrank = true;
+                }
+                domain[b] = kept;
+            }
+            empty &= kept == 0;
+        }
+        return empty ? -1 : shrank ? 1 : 0;
+    }
+
+    private static long[] own(long[][] domains, boolean[] owned, int slot) {
+        if (!owned[slot]) {
+            domains[slot] = domains[slot].clone();
+            owned[slot] = true;
+        }
+        return domains[slot];
+    }
+
+    private static boolean intersects(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int cardinality(long[] bits) {
+        int count = 0;
+        for (long bit : bits) {
+            count += Long.bitCount(bit);
+        }
+        return count;
+    }
+
+    // Usage: CrosswordSolver <words.txt> <grid.txt> [data.txt]
+    // Fills the grid with words of the list (one per line). With data.txt the slots are the words
+    // of the puzzle, otherwise they are found from the numbered cells of the grid.
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CrosswordSolver <words.txt> <grid.txt> [data.txt]");
+            System.exit(2);
+        }
+        long begin = System.nanoTime();
+        PatternDictionary words = PatternDictionary.load(Path.of(args[0]));
+        long loaded = System.nanoTime();
+
+        PuzzleParser parser = new PuzzleParser();
+        ParseReport report = new ParseReport();
+        CrosswordGrid grid = parser.parseGrid(Path.of(args[1]), report);
+        List<Word> data = args.length > 2 ? parser.parseWords(Path.of(args[2]), report) : new ArrayList<>();
+        if (grid == null || data == null) {
+            System.err.print(report);
+            System.exit(1);
+        }
+        SlotLayout layout = args.length > 2 ? SlotLayout.fromPuzzle(Puzzle.of("", grid, data)) : SlotLayout.fromGrid(grid);
+
+        Result result = new CrosswordSolver(words, layout).solve();
+        System.out.printf("words=%d (loaded in %d ms) grid=%dx%d slots=%d%n",
+                words.size(), (loaded - begin) / 1_000_000, layout.getRows(), layout.getCols(), layout.size());
+        System.out.printf("solved=%b nodes=%d time=%.3f ms nodes/s=%.0f%n", result.isSolved(), result.nodes(),
+                result.elapsedNanos() / 1e6, result.nodesPerSecond());
+        if (result.isSolved()) {
+            for (int s = 0; s < layout.size(); s++) {
+                System.out.println((layout.isHorizontal(s) ? "H" : "V") + ";" + layout.getNumber(s) + ";" + result.fill()[s]);
+            }
+        }
+    }
+}
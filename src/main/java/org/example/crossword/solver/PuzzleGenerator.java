@@ -0,0 +1,255 @@
+package org.example.crossword.solver;
+
+import org.example.crossword.io.ParseReport;
+import org.example.crossword.io.PuzzleParser;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.PatternDictionary;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Generates puzzles from a grid template (grid.txt format) and a themed word list.
+// The search tree of the solver is split on a ForkJoinPool: the first levels branch on the most
+// constrained slot, each candidate range is halved until one candidate is left, so idle workers
+// steal whole subtrees. Below the split depth a sequential solver takes at most a few fills of
+// its subtree, which keeps the puzzles apart, and every task stops once enough fills are found.
+public class PuzzleGenerator {
+    private final SlotLayout layout;
+    private final PatternDictionary words;
+    private final Map<String, String[]> entries;    // upper-cased word -> {word as written, clue}
+    private int splitDepth = 2;
+    private int fillsPerBranch = 1;
+
+    // Word list lines are "word" or "word;clue", blank lines and lines starting with '#' are skipped
+    public PuzzleGenerator(CrosswordGrid template, List<String> wordList) {
+        this.layout = SlotLayout.fromGrid(template);
+        int numbered = 0;
+        for (int index = 0; index < template.size(); index++) {
+            if (template.getWordNumber(index) > 0) {
+                numbered++;
+            }
+        }
+        for (int s = 0; s < layout.size(); s++) {
+            if (layout.getNumber(s) != s + 1) {
+                throw new IllegalArgumentException("Numbered cell " + (s + 1) + " does not start a word");
+            }
+        }
+        if (layout.size() != numbered) {
+            throw new IllegalArgumentException("Numbered cell " + (layout.size() + 1) + " does not start a word");
+        }
+
+        this.entries = new HashMap<>();
+        for (String line : wordList) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf(';');
+            String word = (separator < 0 ? line : line.substring(0, separator)).trim();
+            String clue = separator < 0 ? "" : unquote(line.substring(separator + 1).trim());
+            if (!word.isEmpty()) {
+                entries.putIfAbsent(word.toUpperCase(Locale.ROOT), new String[]{word, clue});
+            }
+        }
+        this.words = new PatternDictionary(entries.keySet());
+    }
+
+    private static String unquote(String clue) {
+        return clue.length() >= 2 && clue.startsWith("\"") && clue.endsWith("\"") ? clue.substring(1, clue.length() - 1) : clue;
+    }
+
+    // Number of levels of the search tree split into tasks
+    public PuzzleGenerator splitDepth(int splitDepth) {
+        this.splitDepth = splitDepth;
+        return this;
+    }
+
+    // Fills taken from the subtree of each task below the split depth
+    public PuzzleGenerator fillsPerBranch(int fillsPerBranch) {
+        this.fillsPerBranch = fillsPerBranch;
+        return this;
+    }
+
+    public SlotLayout getLayout() {
+        return layout;
+    }
+
+    // Finds up to count distinct fills (the word of each slot), fewer if the tree is exhausted
+    public List<String[]> generate(int count, ForkJoinPool pool, long seed) {
+        Search search = new Search(count);
+        CrosswordSolver solver = new CrosswordSolver(words, layout);
+        pool.invoke(new NodeTask(search, solver.open(), 0, seed));
+        return search.fills;
+    }
+
+    // data.txt content of a fill, word n on line n
+    public String toData(String theme, String[] fill) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# ").append(theme).append(System.lineSeparator());
+        for (int s = 0; s < fill.length; s++) {
+            String[] entry = entries.get(fill[s]);
+            sb.append(layout.isHorizontal(s) ? 'H' : 'V').append(";\"").append(entry[1]).append("\";")
+                    .append(entry[0]).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    // State shared by the tasks of one generate call
+    private static final class Search {
+        final int count;
+        final List<String[]> fills = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger found = new AtomicInteger();
+        final AtomicBoolean done = new AtomicBoolean();
+
+        Search(int count) {
+            this.count = count;
+            this.done.set(count <= 0);
+        }
+
+        // Keeps a fill, returns false once enough were found
+        boolean offer(String[] fill) {
+            int rank = found.incrementAndGet();
+            if (rank <= count) {
+                fills.add(fill);
+            }
+            if (rank >= count) {
+                done.set(true);
+            }
+            return !done.get();
+        }
+    }
+
+    // Explores the subtree of a partial fill
+    private final class NodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Search search;
+        private final int[] prefix;
+        private final int depth;
+        private final long seed;
+
+        NodeTask(Search search, int[] prefix, int depth, long seed) {
+            this.search = search;
+            this.prefix = prefix;
+            this.depth = depth;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.done.get()) {
+                return;
+            }
+            CrosswordSolver solver = new CrosswordSolver(words, layout).shuffle(seed).cancelWhen(search.done::get);
+            if (depth >= splitDepth) {
+                int[] taken = new int[1];
+                solver.enumerate(prefix, fill -> search.offer(fill) && ++taken[0] < fillsPerBranch);
+                return;
+            }
+            CrosswordSolver.Branch branch = solver.branch(prefix);
+            if (branch == null) {
+                return;
+            }
+            if (branch.slot() < 0) {
+                search.offer(solver.fillOf(prefix));
+                return;
+            }
+            int[] candidates = branch.candidates();
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = candidates.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = candidates[i];
+                candidates[i] = candidates[j];
+                candidates[j] = tmp;
+            }
+            new RangeTask(search, prefix, depth, branch.slot(), candidates, 0, candidates.length, random.nextLong()).compute();
+        }
+    }
+
+    // Explores the candidates [from, to) of a slot, halving the range until one is left
+    private final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Search search;
+        private final int[] prefix;
+        private final int depth;
+        private final int slot;
+        private final int[] candidates;
+        private final int from;
+        private final int to;
+        private final long seed;
+
+        RangeTask(Search search, int[] prefix, int depth, int slot, int[] candidates, int from, int to, long seed) {
+            this.search = search;
+            this.prefix = prefix;
+            this.depth = depth;
+            this.slot = slot;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.done.get() || from >= to) {
+                return;
+            }
+            if (to - from == 1) {
+                int[] next = prefix.clone();
+                next[slot] = candidates[from];
+                new NodeTask(search, next, depth + 1, seed).compute();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            SplittableRandom random = new SplittableRandom(seed);
+            invokeAll(new RangeTask(search, prefix, depth, slot, candidates, from, middle, random.nextLong()),
+                    new RangeTask(search, prefix, depth, slot, candidates, middle, to, random.nextLong()));
+        }
+    }
+
+    // Usage: PuzzleGenerator <grid.txt> <words.txt> <count> <outDir>
+    // Writes data1.txt, data2.txt... next to a copy of the template.
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: PuzzleGenerator <grid.txt> <words.txt> <count> <outDir>");
+            System.exit(2);
+        }
+        Path gridFile = Path.of(args[0]);
+        Path wordFile = Path.of(args[1]);
+        int count = Integer.parseInt(args[2]);
+
+        ParseReport report = new ParseReport();
+        CrosswordGrid template = new PuzzleParser().parseGrid(gridFile, report);
+        if (template == null) {
+            System.err.print(report);
+            System.exit(1);
+        }
+        PuzzleGenerator generator = new PuzzleGenerator(template, Files.readAllLines(wordFile, StandardCharsets.UTF_8));
+        System.out.printf("template=%s slots=%d words=%d%n", gridFile, generator.getLayout().size(), generator.words.size());
+
+        Path outDir = Path.of(args[3]);
+        Files.createDirectories(outDir);
+        // the data files share the grid DirectoryPuzzleRepository pairs them with, whatever the template is called
+        Files.copy(gridFile, outDir.resolve("grid.txt"), StandardCopyOption.REPLACE_EXISTING);
+        List<String[]> fills = generator.generate(count, ForkJoinPool.commonPool(), System.nanoTime());
+        String theme = wordFile.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+        for (int i = 0; i < fills.size(); i++) {
+            Files.writeString(outDir.resolve("data" + (i + 1) + ".txt"), generator.toData(theme, fills.get(i)), StandardCharsets.UTF_8);
+        }
+        System.out.println(fills.size() + " puzzles written to " + outDir);
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.crossword.solver;
+
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Puzzle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Slots to fill and the cells they share. A slot is the run of cells of one word, laid out like
+// the game does: it starts right after the cell numbered n and goes right or down.
+// Crossings are kept per slot as (other slot, position in this slot, position in the other slot).
+public final class SlotLayout {
+    private final int rows;
+    private final int cols;
+    private final int[] numbers;            // word number of each slot
+    private final boolean[] horizontal;     // orientation of each slot
+    private final int[][] cells;            // row-major index of the cells of each slot
+    private final int[][] crossings;        // triples (other slot, position, other position) of each slot
+
+    private SlotLayout(int rows, int cols, List<int[]> slotCells, List<Integer> slotNumbers, List<Boolean> slotHorizontal) {
+        this.rows = rows;
+        this.cols = cols;
+        int count = slotCells.size();
+        this.cells = slotCells.toArray(new int[0][]);
+        this.numbers = new int[count];
+        this.horizontal = new boolean[count];
+        for (int s = 0; s < count; s++) {
+            numbers[s] = slotNumbers.get(s);
+            horizontal[s] = slotHorizontal.get(s);
+        }
+
+        // owner of each cell, two slots at most, further slots through the same cell are not linked
+        int[] owners = new int[2 * rows * cols];
+        Arrays.fill(owners, -1);
+        int[][] links = new int[count][];
+        int[] linkCounts = new int[count];
+        for (int s = 0; s < count; s++) {
+            links[s] = new int[3 * cells[s].length];
+        }
+        for (int s = 0; s < count; s++) {
+            for (int position = 0; position < cells[s].length; position++) {
+                int cell = cells[s][position];
+                if (owners[2 * cell] < 0) {
+                    owners[2 * cell] = s;
+                    owners[2 * cell + 1] = position;
+                    continue;
+                }
+                int other = owners[2 * cell];
+                int otherPosition = owners[2 * cell + 1];
+                if (other == s) {
+                    continue;
+                }
+                addLink(links, linkCounts, s, other, position, otherPosition);
+                addLink(links, linkCounts, other, s, otherPosition, position);
+            }
+        }
+        this.crossings = new int[count][];
+        for (int s = 0; s < count; s++) {
+            crossings[s] = Arrays.copyOf(links[s], linkCounts[s]);
+        }
+    }
+
+    private static void addLink(int[][] links, int[] linkCounts, int slot, int other, int position, int otherPosition) {
+        int at = linkCounts[slot];
+        if (at == links[slot].length) {
+            links[slot] = Arrays.copyOf(links[slot], 2 * at + 3);
+        }
+        links[slot][at] = other;
+        links[slot][at + 1] = position;
+        links[slot][at + 2] = otherPosition;
+        linkCounts[slot] = at + 3;
+    }
+
+    // Slots of the words of a puzzle, with their data.txt orientation and length.
+    // Letters running out of the grid are dropped, words without a start cell are skipped.
+    public static SlotLayout fromPuzzle(Puzzle puzzle) {
+        List<int[]> slotCells = new ArrayList<>();
+        List<Integer> slotNumbers = new ArrayList<>();
+        List<Boolean> slotHorizontal = new ArrayList<>();
+        for (int n = 1; n <= puzzle.getWordCount(); n++) {
+            int count = puzzle.getCellCount(n);
+            if (count == 0) {
+                continue;
+            }
+            int[] wordCells = new int[count];
+            for (int position = 0; position < count; position++) {
+                wordCells[position] = puzzle.getCell(n, position);
+            }
+            slotCells.add(wordCells);
+            slotNumbers.add(n);
+            slotHorizontal.add(puzzle.isHorizontal(n));
+        }
+        return new SlotLayout(puzzle.getRows(), puzzle.getCols(), slotCells, slotNumbers, slotHorizontal);
+    }
+
+    // Slots found from the grid alone: each numbered cell starts the run of letter cells on its
+    // right or below it, the longer one (right on a tie). Runs stop at a block, a numbered cell
+    // or the edge of the grid; numbered cells without a run of two cells or more are skipped.
+    public static SlotLayout fromGrid(CrosswordGrid grid) {
+        List<int[]> slotCells = new ArrayList<>();
+        List<Integer> slotNumbers = new ArrayList<>();
+        List<Boolean> slotHorizontal = new ArrayList<>();
+        for (int n = 1; ; n++) {
+            int start = grid.findStartIndex(n);
+            if (start < 0) {
+                break;
+            }
+            int row = grid.rowOf(start);
+            int col = grid.colOf(start);
+            int right = runLength(grid, row, col + 1, 0, 1);
+            int down = runLength(grid, row + 1, col, 1, 0);
+            boolean isHorizontal = right >= down;
+            int length = Math.max(right, down);
+            if (length < 2) {
+                continue;
+            }
+            int[] wordCells = new int[length];
+            for (int i = 0; i < length; i++) {
+                wordCells[i] = isHorizontal ? grid.indexOf(row, col + 1 + i) : grid.indexOf(row + 1 + i, col);
+            }
+            slotCells.add(wordCells);
+            slotNumbers.add(n);
+            slotHorizontal.add(isHorizontal);
+        }
+        return new SlotLayout(grid.getRows(), grid.getCols(), slotCells, slotNumbers, slotHorizontal);
+    }
+
+    private static int runLength(CrosswordGrid grid, int row, int col, int dRow, int dCol) {
+        int length = 0;
+        while (grid.contains(row, col)) {
+            int index = grid.indexOf(row, col);
+            if (!grid.isPartOfWord(index) || grid.getWordNumber(index) > 0) {
+                break;
+            }
+            length++;
+            row += dRow;
+            col += dCol;
+        }
+        return length;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public int getNumber(int slot) {
+        return numbers[slot];
+    }
+
+    public boolean isHorizontal(int slot) {
+        return horizontal[slot];
+    }
+
+    public int getLength(int slot) {
+        return cells[slot].length;
+    }
+
+    public int getCell(int slot, int position) {
+        return cells[slot][position];
+    }
+
+    // Crossings of the slot as triples (other slot, position in this slot, position in the other slot)
+    public int[] getCrossings(int slot) {
+        return crossings[slot];
+    }
+}
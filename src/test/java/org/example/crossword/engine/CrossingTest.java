@@ -0,0 +1,198 @@
+package org.example.crossword.engine;
+
+import org.example.crossword.io.DirectoryPuzzleRepository;
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Puzzle;
+import org.example.crossword.model.Word;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Crossing cells on the three shipped themes. In Sports the crossing words agree on their letter
+// and share the cell; in Nature and History every crossing disagrees, so each word keeps its own
+// slot there and the crossing tests only find cells to check in Sports.
+class CrossingTest {
+    private static final String[] THEMES = {"data", "data2", "data3"};     // Sports, Nature, History
+
+    private static final List<Puzzle> puzzles = new ArrayList<>();
+
+    @BeforeAll
+    static void loadThemes() throws IOException {
+        try (DirectoryPuzzleRepository repository = DirectoryPuzzleRepository.open(Path.of("src"))) {
+            for (String id : THEMES) {
+                puzzles.add(repository.load(id));
+            }
+        }
+    }
+
+    @Test
+    void crossingCellIsSharedExactlyWhenTheWordsAgree() {
+        int shared = 0;
+        for (Puzzle puzzle : puzzles) {
+            for (int a = 1; a <= puzzle.getWordCount(); a++) {
+                for (int b = a + 1; b <= puzzle.getWordCount(); b++) {
+                    for (int i = 0; i < puzzle.getCellCount(a); i++) {
+                        for (int j = 0; j < puzzle.getCellCount(b); j++) {
+                            if (puzzle.getCell(a, i) != puzzle.getCell(b, j)) {
+                                continue;
+                            }
+                            int slotA = puzzle.getSlot(puzzle.getLetterOffset(a) + i);
+                            int slotB = puzzle.getSlot(puzzle.getLetterOffset(b) + j);
+                            String where = puzzle.getTheme() + " words " + a + " and " + b;
+                            if (puzzle.getLetter(a, i) == puzzle.getLetter(b, j)) {
+                                assertEquals(slotA, slotB, where);
+                                shared++;
+                            } else {
+                                assertNotEquals(slotA, slotB, where);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(shared > 0, "no shared crossing in the shipped themes");
+    }
+
+    @Test
+    void letterTypedAtACrossingIsPropagatedToTheOtherWord() {
+        for (Puzzle puzzle : puzzles) {
+            for (int slot = 0; slot < puzzle.getSlotCount(); slot++) {
+                int first = puzzle.getSlotLetter(slot, 0);
+                int second = puzzle.getSlotLetter(slot, 1);
+                if (second < 0) {
+                    continue;
+                }
+                int a = puzzle.getLetterWord(first);
+                int b = puzzle.getLetterWord(second);
+                int positionA = first - puzzle.getLetterOffset(a);
+                int positionB = second - puzzle.getLetterOffset(b);
+                GameSession session = new GameEngine(puzzle).newSession(1);
+                assertEquals(Outcome.SELECTED, session.select(a));
+
+                assertTrue(session.type(positionA, puzzle.getExpectedLetter(first)));
+                String where = puzzle.getTheme() + " slot " + slot;
+                assertEquals(puzzle.getExpectedLetter(second), session.getAnswerLetter(b, positionB), where);
+                assertTrue(session.isCorrectAt(b, positionB), where);
+                assertEquals(puzzle.getExpectedLetter(second), session.getDisplayChar(b, positionB), where);
+            }
+        }
+    }
+
+    @Test
+    void lockedCellSurvivesSelectingAnotherWord() {
+        for (Puzzle puzzle : puzzles) {
+            GameSession session = new GameEngine(puzzle).newSession(1);
+            int solvedWord = firstCrossedWord(puzzle);
+            session.select(solvedWord);
+            assertEquals(Outcome.SOLVED, session.guess(puzzle.getSolution(solvedWord)), puzzle.getTheme());
+
+            // every other word is typed over with wrong letters then left for the next one,
+            // which clears its unvalidated letters
+            for (int n = 1; n <= puzzle.getWordCount(); n++) {
+                if (n == solvedWord || session.select(n) == Outcome.REJECTED) {
+                    continue;
+                }
+                for (int i = 0; i < puzzle.getLength(n); i++) {
+                    session.type(i, puzzle.getLetter(n, i) == 'Z' ? 'Y' : 'Z');
+                }
+            }
+            session.select(solvedWord == 1 ? 2 : 1);
+
+            int offset = puzzle.getLetterOffset(solvedWord);
+            for (int i = 0; i < puzzle.getLength(solvedWord); i++) {
+                String where = puzzle.getTheme() + " word " + solvedWord + " letter " + i;
+                assertTrue(session.isLocked(puzzle.getSlot(offset + i)), where);
+                assertEquals(puzzle.getLetter(solvedWord, i), session.getAnswerLetter(solvedWord, i), where);
+            }
+            assertTrue(session.isSolved(solvedWord));
+        }
+    }
+
+    @Test
+    void solvingAWordLeavesAnIncompleteCrossingWordUnsolved() {
+        for (Puzzle puzzle : puzzles) {
+            for (int n = 1; n <= puzzle.getWordCount(); n++) {
+                GameSession session = new GameEngine(puzzle).newSession(1);
+                if (session.select(n) == Outcome.REJECTED) {
+                    continue;
+                }
+                assertEquals(Outcome.SOLVED, session.guess(puzzle.getSolution(n)), puzzle.getTheme() + " word " + n);
+                for (int other = 1; other <= puzzle.getWordCount(); other++) {
+                    if (other != n) {
+                        assertFalse(session.isSolved(other), puzzle.getTheme() + " word " + other + " after " + n);
+                    }
+                }
+            }
+        }
+    }
+
+    // No word of the shipped themes is crossed on all its letters, and selecting a word clears
+    // the unvalidated letters of the previous one, so this takes a grid fully crossed, see square().
+    @Test
+    void solvingAWordSolvesACrossingWordNowComplete() {
+        Puzzle puzzle = square();
+        GameSession session = new GameEngine(puzzle).newSession(1);
+
+        session.select(1);
+        assertEquals(Outcome.SOLVED, session.guess("sea"));
+        assertFalse(session.isSolved(3));
+        assertFalse(session.isSolved(4));
+
+        session.select(2);
+        assertEquals(Outcome.SOLVED, session.guess("owl"));
+        assertTrue(session.isSolved(3));
+        assertTrue(session.isSolved(4));
+        assertEquals(puzzle.getMaxScore(), session.getScore());
+    }
+
+    // The cell of a solved word keeps its letter, but a guess writing another one there is wrong
+    @Test
+    void guessDisagreeingWithALockedCellIsWrong() {
+        Puzzle puzzle = square();
+        GameSession session = new GameEngine(puzzle).newSession(1);
+        session.select(1);
+        assertEquals(Outcome.SOLVED, session.guess("sea"));
+
+        session.select(3);
+        assertEquals(Outcome.NEAR_MISS, session.guess("xo"));
+        assertEquals(Outcome.WRONG, session.guess("xx"));
+        assertFalse(session.isSolved(3));
+        assertEquals('S', session.getAnswerLetter(3, 0));
+        assertEquals(Outcome.SOLVED, session.guess("so"));
+    }
+
+    // Two rows crossed by two columns of two letters, each column complete once both rows are
+    private static Puzzle square() {
+        CrosswordGrid grid = new CrosswordGrid(3, 4);
+        int[][] values = {{-1, 3, -1, 4}, {1, 0, 0, 0}, {2, 0, 0, 0}};
+        for (int row = 0; row < values.length; row++) {
+            for (int col = 0; col < values[row].length; col++) {
+                grid.define(row, col, values[row][col]);
+            }
+        }
+        return Puzzle.of("Square", grid, List.of(
+                new Word("First row", "SEA", true, -1, -1),
+                new Word("Second row", "OWL", true, -1, -1),
+                new Word("First column", "SO", false, -1, -1),
+                new Word("Last column", "AL", false, -1, -1)));
+    }
+
+    // A word sharing a cell with another one, the first word otherwise
+    private static int firstCrossedWord(Puzzle puzzle) {
+        for (int slot = 0; slot < puzzle.getSlotCount(); slot++) {
+            if (puzzle.getSlotLetter(slot, 1) >= 0) {
+                return puzzle.getLetterWord(puzzle.getSlotLetter(slot, 0));
+            }
+        }
+        return 1;
+    }
+}
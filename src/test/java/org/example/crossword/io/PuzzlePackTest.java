@@ -0,0 +1,99 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Word;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzlePackTest {
+    private static final String[] THEMES = {"data", "data2", "data3"};     // Sports, Nature, History
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void packHoldsThePuzzlesItWasWrittenWith() throws IOException {
+        PuzzleParser parser = new PuzzleParser();
+        ParseReport report = new ParseReport();
+        PuzzlePackWriter writer = new PuzzlePackWriter();
+        try (DirectoryPuzzleRepository repository = DirectoryPuzzleRepository.open(Path.of("src"))) {
+            for (String id : THEMES) {
+                assertTrue(writer.add(repository.theme(id), repository.gridFile(id), repository.dataFile(id), parser, report),
+                        report.toString());
+            }
+            Path file = dir.resolve("themes.pack");
+            writer.write(file);
+
+            PuzzlePack pack = PuzzlePack.open(file);
+            assertEquals(THEMES.length, pack.size());
+            for (int index = 0; index < THEMES.length; index++) {
+                String id = THEMES[index];
+                CrosswordGrid grid = parser.parseGrid(repository.gridFile(id), report);
+                List<Word> words = parser.parseWords(repository.dataFile(id), report);
+                PuzzlePack.PackedPuzzle packed = pack.get(index);
+
+                assertEquals(repository.theme(id), packed.getTheme());
+                assertEquals(grid.getRows(), packed.getRows());
+                assertEquals(grid.getCols(), packed.getCols());
+                CrosswordGrid unpacked = packed.toGrid();
+                for (int cell = 0; cell < grid.size(); cell++) {
+                    int value = grid.isPartOfWord(cell) ? Math.max(grid.getWordNumber(cell), 0) : -1;
+                    assertEquals(value, packed.getCellValue(grid.rowOf(cell), grid.colOf(cell)), id + " cell " + cell);
+                    assertEquals(grid.isPartOfWord(cell), unpacked.isPartOfWord(cell), id + " cell " + cell);
+                    assertEquals(grid.getWordNumber(cell), unpacked.getWordNumber(cell), id + " cell " + cell);
+                }
+                List<Word> unpackedWords = packed.toWords();
+                assertEquals(words.size(), unpackedWords.size());
+                for (int i = 0; i < words.size(); i++) {
+                    assertEquals(words.get(i).getClue(), unpackedWords.get(i).getClue());
+                    assertEquals(words.get(i).getSolution(), unpackedWords.get(i).getSolution());
+                    assertEquals(words.get(i).isHorizontal(), unpackedWords.get(i).isHorizontal());
+                }
+            }
+            assertFalse(report.hasErrors(), report.toString());
+        }
+    }
+
+    @Test
+    void stringsRunningPastThePoolAreRejected() throws IOException {
+        CrosswordGrid grid = new CrosswordGrid(1, 3);
+        grid.define(0, 0, 1);
+        grid.define(0, 1, 0);
+        grid.define(0, 2, 0);
+        PuzzlePackWriter writer = new PuzzlePackWriter();
+        writer.add("Tiny", grid, List.of(new Word("Yes", "OK", true, -1, -1)));
+        Path file = dir.resolve("tiny.pack");
+        writer.write(file);
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals("Tiny", PuzzlePack.wrap(bytes).get(0).getTheme());
+        int poolOffset = bytes.getInt(12);
+        bytes.putShort(poolOffset, (short) 0xFFFF);         // the theme, first string of the pool
+        PuzzlePack.PackedPuzzle corrupted = PuzzlePack.wrap(bytes).get(0);
+        assertThrows(IllegalStateException.class, corrupted::getTheme);
+        assertEquals("Yes", corrupted.getClue(0));
+
+        bytes.putInt(PuzzlePack.HEADER_SIZE + 4 + PuzzlePack.RECORD_HEADER_SIZE + 4, Integer.MAX_VALUE);
+        assertThrows(IllegalStateException.class, () -> PuzzlePack.wrap(bytes).get(0).getClue(0));
+    }
+
+    @Test
+    void otherFilesAreNotPacks() {
+        assertThrows(IOException.class, () -> PuzzlePack.open(Path.of("src", "grid.txt")));
+        ByteBuffer header = ByteBuffer.allocate(PuzzlePack.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(PuzzlePack.MAGIC).putShort(PuzzlePack.VERSION).putShort((short) 0).putInt(1000);
+        assertThrows(IOException.class, () -> PuzzlePack.wrap(header));
+    }
+}
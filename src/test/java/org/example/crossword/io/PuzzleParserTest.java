@@ -0,0 +1,123 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Word;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// The parser goes on after an error, so a file with several mistakes gets all of them at once
+class PuzzleParserTest {
+    private final PuzzleParser parser = new PuzzleParser();
+
+    @Test
+    void shippedPuzzleParsesWithoutErrors() throws IOException {
+        ParseReport report = new ParseReport();
+        CrosswordGrid grid = parser.parseGrid(Path.of("src", "grid.txt"), report);
+        List<Word> words = parser.parseWords(Path.of("src", "data.txt"), report);
+        assertFalse(report.hasErrors(), report.toString());
+        assertEquals(15, grid.getRows());
+        assertEquals(13, grid.getCols());
+        assertEquals("SOIXANTE", words.get(0).getSolution().toUpperCase());
+    }
+
+    @Test
+    void everyGridErrorIsReportedWithItsLineAndColumn() {
+        String grid = """
+                # Three by three
+                3,3
+                1,0,x
+                -2,0,0
+                0,0
+                """;
+        assertEquals(List.of(
+                "grid:3:5: Expected a number",
+                "grid:4:1: Invalid cell value -2",
+                "grid:5:4: Invalid number of columns at row 3: expected 3, found 2"), gridErrors(grid));
+    }
+
+    @Test
+    void gridSizeAndNumbersAreBounded() {
+        assertEquals(List.of("grid:1:1: Invalid grid dimensions 0x3"), gridErrors("0,3\n"));
+        assertEquals(List.of("grid:1:1: Grid too large: 3000x3000 cells, at most " + PuzzleParser.MAX_CELLS),
+                gridErrors("3000,3000\n"));
+        assertEquals(List.of("grid:2:3: Word number too large: 40000, at most 32767"), gridErrors("1,2\n0,40000\n"));
+        assertEquals(List.of("grid:2:1: Number too large"), gridErrors("1,1\n123456789\n"));
+        assertEquals(List.of("grid:1:3: Expected ','"), gridErrors("1 1\n0\n"));
+        assertEquals(List.of("grid:1:2: Expected ',' before end of line", "grid:1:2: Expected a number"),
+                gridErrors("1\n0\n"));
+        assertEquals(List.of("grid:3:1: Invalid number of rows: expected 1"), gridErrors("1,1\n0\n0\n"));
+        assertEquals(List.of("grid:3:1: Invalid number of rows: expected 2, found 1"), gridErrors("2,1\n0\n"));
+        assertEquals(List.of("grid:2:1: The grid file is empty."), gridErrors("# nothing\n"));
+    }
+
+    @Test
+    void everyWordErrorIsReportedWithItsLineAndColumn() {
+        String data = """
+                H;"First clue";one
+                X;clue;two
+                V;"unterminated;three
+                H;clue four;
+                H clue;five
+                  # comment
+                v ; Sixth clue ; six
+                """;
+        ParseReport report = new ParseReport();
+        assertNull(parser.parseWords(bytes(data), "data", report));
+        assertEquals(List.of(
+                "data:2:1: Expected orientation H or V",
+                "data:3:3: Unterminated quoted clue",
+                "data:4:13: Missing solution",
+                "data:5:3: Expected ';'"), messages(report));
+    }
+
+    @Test
+    void wordsAreTrimmedAndLineEndingsIgnored() {
+        ParseReport report = new ParseReport();
+        List<Word> words = parser.parseWords(withBom("H;\"Quoted clue\";Hockey\r\nv ; Plain clue ; Ski alpin \r\n"),
+                "data", report);
+        assertNotNull(words, report.toString());
+        assertEquals(2, words.size());
+        assertEquals("Quoted clue", words.get(0).getClue());
+        assertEquals("Hockey", words.get(0).getSolution());
+        assertEquals("Plain clue", words.get(1).getClue());
+        assertEquals("Ski alpin", words.get(1).getSolution());
+        assertFalse(words.get(1).isHorizontal());
+
+        // columns start after the byte order mark
+        parser.parseWords(withBom("X;a;b"), "bom", report);
+        assertEquals(List.of("bom:1:1: Expected orientation H or V"), messages(report));
+    }
+
+    private List<String> gridErrors(String grid) {
+        ParseReport report = new ParseReport();
+        assertNull(parser.parseGrid(bytes(grid), "grid", report));
+        return messages(report);
+    }
+
+    private static List<String> messages(ParseReport report) {
+        return report.getErrors().stream().map(ParseReport.ParseError::toString).toList();
+    }
+
+    private static byte[] withBom(String text) {
+        byte[] utf8 = bytes(text);
+        byte[] data = new byte[3 + utf8.length];
+        data[0] = (byte) 0xEF;
+        data[1] = (byte) 0xBB;
+        data[2] = (byte) 0xBF;
+        System.arraycopy(utf8, 0, data, 3, utf8.length);
+        return data;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.crossword.io;
+
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.Word;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// One puzzle per check, each the square below with one mistake. Its words:
+//   . 3 . 4
+//   1 S E A        1 SEA across, 3 SO down
+//   2 O W L        2 OWL across, 4 AL down
+class PuzzleValidatorTest {
+    private static final int[][] SQUARE = {{-1, 3, -1, 4}, {1, 0, 0, 0}, {2, 0, 0, 0}};
+
+    private final PuzzleValidator validator = new PuzzleValidator();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void squareHasNoProblem() {
+        assertEquals(List.of(), check(SQUARE, words("SEA", "OWL", "SO", "AL")));
+    }
+
+    @Test
+    void numbering() {
+        List<PuzzleValidator.Diagnostic> diagnostics = check(SQUARE, words("SEA", "OWL", "SO"));
+        assertEquals(List.of("ERROR numbering word 0 at 1,4: Cell numbered 4 but the data file has 3 words"),
+                describe(diagnostics));
+    }
+
+    @Test
+    void orientation() {
+        List<Word> words = new ArrayList<>(words("SEA", "OWL", "SO", "AL"));
+        words.set(2, new Word("Third", "SO", true, -1, -1));
+        assertEquals(List.of("ERROR orientation word 3 at 1,2: Word 3 is marked H but its cells run down"),
+                describe(check(SQUARE, words)));
+    }
+
+    @Test
+    void geometry() {
+        int[][] cells = {{1, 0}, {-1, 2}};
+        assertEquals(List.of("ERROR geometry word 2 at 2,2: Word 2 has no letter cell right of its number nor below it"),
+                describe(check(cells, List.of(new Word("First", "A", true, -1, -1), new Word("Second", "B", true, -1, -1)))));
+    }
+
+    @Test
+    void length() {
+        assertEquals(List.of("ERROR length word 1 at 2,1: Word 1 has 4 letters (SEAS) for 3 cells"),
+                describe(check(SQUARE, words("SEAS", "OWL", "SO", "AL"))));
+    }
+
+    @Test
+    void letters() {
+        assertEquals(List.of("ERROR letters word 2 at 3,1: Word 2 (O&L) has a character that is no letter, digit, space or hyphen"),
+                describe(check(SQUARE, words("SEA", "O&L", "SO", "AL"))));
+    }
+
+    @Test
+    void crossing() {
+        assertEquals(List.of("ERROR crossing word 4 at 3,4: Word 2 puts N and word 4 puts L at row 3 col 4"),
+                describe(check(SQUARE, words("SEA", "OWN", "SO", "AL"))));
+    }
+
+    @Test
+    void orphan() {
+        int[][] cells = {{-1, 3, 0, 4}, {1, 0, 0, 0}, {2, 0, 0, 0}};
+        assertEquals(List.of("WARNING orphan word 0 at 1,3: No word goes through row 1 col 3"),
+                describe(check(cells, words("SEA", "OWL", "SO", "AL"))));
+    }
+
+    @Test
+    void syntaxAndIoErrorsOfATree() throws IOException {
+        Files.writeString(dir.resolve("grid.txt"), "3,4\n-1,3,-1,4\n1,0,0,0\n2,0,0,0\n");
+        Files.writeString(dir.resolve("data.txt"), "H;First;SEA\nH;Second;OWN\nV;Third;SO\nV;Fourth;AL\n");
+        Files.writeString(dir.resolve("data2.txt"), "H;First;SEA\nX;Second;OWL\nV;Third;SO\nV;Fourth;AL\n");
+        Path other = Files.createDirectory(dir.resolve("other"));
+        Files.writeString(other.resolve("data.txt"), "H;First;SEA\n", StandardCharsets.UTF_8);     // no grid.txt
+
+        List<PuzzleValidator.Diagnostic> diagnostics = Collections.synchronizedList(new ArrayList<>());
+        ForkJoinPool pool = new ForkJoinPool(2);
+        PuzzleValidator.Summary summary;
+        try {
+            summary = validator.validateTree(dir, pool, diagnostics::addAll);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(new PuzzleValidator.Summary(3, 3, 0), summary);
+        List<String> checks = new ArrayList<>();
+        for (PuzzleValidator.Diagnostic diagnostic : diagnostics) {
+            checks.add(diagnostic.check() + " " + Path.of(diagnostic.file()).getFileName() + ":" + diagnostic.line());
+        }
+        Collections.sort(checks);
+        assertEquals(List.of("crossing data.txt:0", "io grid.txt:0", "syntax data2.txt:2"), checks);
+    }
+
+    @Test
+    void diagnosticsAreJsonLines() {
+        PuzzleValidator.Diagnostic diagnostic = new PuzzleValidator.Diagnostic(PuzzleValidator.Severity.ERROR, "syntax",
+                "data\"2\".txt", 2, 1, 0, 0, 0, "Expected orientation H or V");
+        assertEquals("{\"severity\":\"error\",\"check\":\"syntax\",\"file\":\"data\\\"2\\\".txt\",\"line\":2,\"column\":1,"
+                + "\"message\":\"Expected orientation H or V\"}", diagnostic.toJson());
+    }
+
+    private List<PuzzleValidator.Diagnostic> check(int[][] cells, List<Word> words) {
+        CrosswordGrid grid = new CrosswordGrid(cells.length, cells[0].length);
+        for (int row = 0; row < cells.length; row++) {
+            for (int col = 0; col < cells[row].length; col++) {
+                grid.define(row, col, cells[row][col]);
+            }
+        }
+        return validator.check("data.txt", grid, words);
+    }
+
+    // The words of the square, the first two across
+    private static List<Word> words(String... solutions) {
+        List<Word> words = new ArrayList<>();
+        for (int i = 0; i < solutions.length; i++) {
+            words.add(new Word("Clue " + (i + 1), solutions[i], i < 2, -1, -1));
+        }
+        return words;
+    }
+
+    private static List<String> describe(List<PuzzleValidator.Diagnostic> diagnostics) {
+        List<String> lines = new ArrayList<>();
+        for (PuzzleValidator.Diagnostic d : diagnostics) {
+            lines.add(d.severity() + " " + d.check() + " word " + d.word() + " at " + d.row() + "," + d.col() + ": " + d.message());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.crossword.journal;
+
+import org.example.crossword.engine.GameSession;
+import org.example.crossword.engine.Move;
+import org.example.crossword.io.DirectoryPuzzleRepository;
+import org.example.crossword.server.GameServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Each test writes a journal, closes it and replays it from its directory as a restart would
+class MoveJournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysTheRecordsInOrder() throws IOException {
+        try (MoveJournal journal = replayed(new ArrayList<>())) {
+            journal.created(1, "Sports", 42);
+            journal.moved(1, Move.select(3));
+            journal.moved(1, Move.guess("Hockey"));
+            journal.moved(1, Move.revealLetters());
+            journal.ended(1);
+            journal.sync();
+        }
+        List<String> records = new ArrayList<>();
+        try (MoveJournal journal = replayed(records)) {
+            assertEquals(5, journal.getLastLsn());
+        }
+        assertEquals(List.of("created 1 Sports 42", "moved 1 " + Move.select(3), "moved 1 " + Move.guess("Hockey"),
+                "moved 1 " + Move.revealLetters(), "ended 1"), records);
+    }
+
+    @Test
+    void recordCutShortIsDroppedWithTheRestOfTheSegment() throws IOException {
+        try (MoveJournal journal = replayed(new ArrayList<>())) {
+            journal.created(1, "Sports", 42);
+            journal.moved(1, Move.select(3));
+            journal.moved(1, Move.guess("Hockey"));
+        }
+        Path segment = dir.resolve("moves-0.log");
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        List<String> records = new ArrayList<>();
+        try (MoveJournal journal = replayed(records)) {
+            assertEquals(2, journal.getLastLsn());
+            journal.moved(1, Move.revealSolution());
+        }
+        assertEquals(List.of("created 1 Sports 42", "moved 1 " + Move.select(3)), records);
+        assertTrue(Files.size(segment) < size - 3, "torn record left in the segment");
+
+        records.clear();
+        replayed(records).close();
+        assertEquals(List.of("created 1 Sports 42", "moved 1 " + Move.select(3), "moved 1 " + Move.revealSolution()),
+                records);
+    }
+
+    @Test
+    void snapshotIsReplayedWithTheRecordsAfterIt() throws IOException {
+        GameServer game = new GameServer();
+        try (DirectoryPuzzleRepository repository = DirectoryPuzzleRepository.open(Path.of("src"))) {
+            game.addPuzzle("Sports", repository.load("data"));
+        }
+        long sessionId = game.createSession("Sports");
+        game.withSession(sessionId, session -> session.select(2));
+        GameSession session = game.withSession(sessionId, saved -> saved);
+
+        try (MoveJournal journal = replayed(new ArrayList<>())) {
+            journal.created(sessionId, "Sports", 42);
+            journal.moved(sessionId, Move.select(2));
+            journal.snapshot(snapshot -> snapshot.session(sessionId, "Sports", session));
+            journal.moved(sessionId, Move.guess("Hockey"));
+            journal.created(sessionId + 1, "Sports", 7);
+        }
+
+        List<String> records = new ArrayList<>();
+        replayed(records).close();
+        assertEquals(List.of("restored " + sessionId + " Sports selected 2", "moved " + sessionId + " " + Move.guess("Hockey"),
+                "created " + (sessionId + 1) + " Sports 7"), records);
+    }
+
+    @Test
+    void snapshotDeletesTheSegmentsAndSnapshotsItCovers() throws IOException {
+        try (MoveJournal journal = replayed(new ArrayList<>())) {
+            journal.created(1, "Sports", 42);
+            journal.snapshot(snapshot -> { });
+            journal.moved(1, Move.select(3));
+            journal.snapshot(snapshot -> { });
+            journal.moved(1, Move.select(4));
+        }
+        assertFalse(Files.exists(dir.resolve("moves-0.log")));
+        assertFalse(Files.exists(dir.resolve("moves-1.log")));
+        assertFalse(Files.exists(dir.resolve("snapshot-1.bin")));
+        assertTrue(Files.exists(dir.resolve("snapshot-2.bin")));
+        assertTrue(Files.exists(dir.resolve("moves-2.log")));
+
+        // the session of the first record is not in the empty snapshots, only the last move is left
+        List<String> records = new ArrayList<>();
+        try (MoveJournal journal = replayed(records)) {
+            assertEquals(3, journal.getLastLsn());
+        }
+        assertEquals(List.of("moved 1 " + Move.select(4)), records);
+    }
+
+    // Opens the journal of dir and replays it into records
+    private MoveJournal replayed(List<String> records) throws IOException {
+        MoveJournal journal = MoveJournal.open(dir);
+        journal.replay(new MoveJournal.Replay() {
+            @Override
+            public void restored(long sessionId, String puzzleId, DataInput state) throws IOException {
+                state.readLong();       // seed
+                records.add("restored " + sessionId + " " + puzzleId + " selected " + state.readInt());
+            }
+
+            @Override
+            public void created(long sessionId, String puzzleId, long seed) {
+                records.add("created " + sessionId + " " + puzzleId + " " + seed);
+            }
+
+            @Override
+            public void moved(long sessionId, Move move) {
+                records.add("moved " + sessionId + " " + move);
+            }
+
+            @Override
+            public void ended(long sessionId) {
+                records.add("ended " + sessionId);
+            }
+        });
+        return journal;
+    }
+}
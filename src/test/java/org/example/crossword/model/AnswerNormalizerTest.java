@@ -0,0 +1,62 @@
+package org.example.crossword.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnswerNormalizerTest {
+    private static final String COMBINING_ACUTE = "\u0301";     // above the table, folds to nothing
+
+    @Test
+    void accentsApostrophesAndCaseAreIgnored() {
+        assertEquals("LETE", fold("l'Été"));
+        assertEquals("LETE", fold("l’été"));
+        assertEquals("OEUVRE", fold("œuvre"));
+        assertEquals("STRASSE", fold("Straße"));
+        assertEquals("ABC12", fold("ＡＢＣ１２"));
+        assertEquals("ICE*HOCKEY", fold("ice hockey"));
+        assertEquals("T-SHIRT", fold("T-shirt"));
+        assertEquals("R?D", fold("R&D"));
+    }
+
+    // The table of the fast path holds what the slow path computes for the same character
+    @Test
+    void fastPathFoldsLikeTheSlowPath() {
+        for (char c = 0; c < 0x250; c++) {
+            String text = "a" + c + "z";
+            byte[] fast = AnswerNormalizer.fold(text);
+            byte[] slow = AnswerNormalizer.fold(COMBINING_ACUTE + text);
+            assertArrayEquals(slow, fast, "U+" + Integer.toHexString(c));
+        }
+    }
+
+    @Test
+    void typedCharacterFoldsLikeTheSameCharacterInAGuess() {
+        for (char c = 0; c < 0x3000; c++) {
+            if (Character.isSurrogate(c)) {
+                continue;
+            }
+            byte[] folded = AnswerNormalizer.fold(String.valueOf(c));
+            byte expected = folded.length == 0 ? AnswerNormalizer.DROP
+                    : folded.length == 1 ? folded[0] : AnswerNormalizer.UNKNOWN;
+            assertEquals(expected, AnswerNormalizer.foldChar(c), "U+" + Integer.toHexString(c));
+        }
+    }
+
+    @Test
+    void foldIntoReportsTextThatDoesNotFit() {
+        byte[] into = new byte[4];
+        assertEquals(4, AnswerNormalizer.fold("Ski'é", into));
+        assertEquals(-1, AnswerNormalizer.fold("Skier", into));
+        assertEquals(-1, AnswerNormalizer.fold("Skiœ", into));      // slow path, two letters for one place
+        assertEquals(4, AnswerNormalizer.fold("Skœ", into));
+        assertEquals("SKOE", new String(into, StandardCharsets.US_ASCII));
+    }
+
+    private static String fold(String text) {
+        return new String(AnswerNormalizer.fold(text), StandardCharsets.US_ASCII);
+    }
+}
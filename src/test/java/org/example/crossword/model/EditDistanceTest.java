@@ -0,0 +1,112 @@
+package org.example.crossword.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EditDistanceTest {
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789*-?";
+
+    @Test
+    void oneEditIsDistanceOne() {
+        assertEquals(0, distance("HOCKEY", "HOCKEY"));
+        assertEquals(1, distance("HOCKEY", "HOKCEY"));      // swap
+        assertEquals(1, distance("HOCKEY", "HOCKKEY"));     // extra letter
+        assertEquals(1, distance("HOCKEY", "HOCKY"));       // missing letter
+        assertEquals(1, distance("HOCKEY", "HOCKAY"));      // wrong letter
+        assertEquals(1, distance("HOCKEY", "OHCKEY"));      // swap of the first two
+        assertEquals(1, distance("HOCKEY", "HOCKYE"));      // swap of the last two
+    }
+
+    @Test
+    void moreEditsAreCountedOnce() {
+        assertEquals(2, distance("HOCKEY", "HKCOEY"));      // not adjacent, two wrong letters
+        assertEquals(2, distance("HOCKEY", "OHCKYE"));
+        assertEquals(6, distance("HOCKEY", ""));
+        assertEquals(3, distance("", "SKI"));
+        assertEquals(3, distance("SKI", "RUN"));
+    }
+
+    @Test
+    void patternsOfUpTo64LettersMatchTheDynamicProgram() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int test = 0; test < 2_000; test++) {
+            String pattern = randomWord(random, 1 + random.nextInt(EditDistance.MAX_PATTERN));
+            String text = test % 2 == 0 ? edit(random, pattern, random.nextInt(4)) : randomWord(random, random.nextInt(70));
+            assertEquals(reference(pattern, text), distance(pattern, text), pattern + " / " + text);
+        }
+    }
+
+    @Test
+    void solutionsLongerThan64LettersHaveNoDistance() {
+        for (int length : new int[] {EditDistance.MAX_PATTERN, EditDistance.MAX_PATTERN + 1}) {
+            String solution = randomWord(new SplittableRandom(length), length);
+            CrosswordGrid grid = new CrosswordGrid(1, length + 1);
+            grid.define(0, 0, 1);
+            for (int col = 1; col <= length; col++) {
+                grid.define(0, col, 0);
+            }
+            Puzzle puzzle = Puzzle.of("Long", grid, List.of(new Word("Long word", solution, true, -1, -1)));
+            byte[] text = ("X" + solution.substring(1)).getBytes(StandardCharsets.US_ASCII);
+            int expected = length > EditDistance.MAX_PATTERN ? Integer.MAX_VALUE : 1;
+            assertEquals(expected, puzzle.getDistance(1, text, text.length), length + " letters");
+        }
+    }
+
+    private static int distance(String pattern, String text) {
+        long[] masks = new long[EditDistance.ALPHABET];
+        EditDistance.addMasks(masks, 0, pattern.getBytes(StandardCharsets.US_ASCII));
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return EditDistance.distance(masks, 0, pattern.length(), bytes, bytes.length);
+    }
+
+    // Optimal string alignment distance, the textbook way
+    private static int reference(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                    continue;
+                }
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String randomWord(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return sb.toString();
+    }
+
+    // The word after a few random swaps, insertions, deletions and replacements
+    private static String edit(SplittableRandom random, String word, int edits) {
+        StringBuilder sb = new StringBuilder(word);
+        for (int e = 0; e < edits && sb.length() > 1; e++) {
+            int at = random.nextInt(sb.length() - 1);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    char c = sb.charAt(at);
+                    sb.setCharAt(at, sb.charAt(at + 1));
+                    sb.setCharAt(at + 1, c);
+                }
+                case 1 -> sb.insert(at, LETTERS.charAt(random.nextInt(LETTERS.length())));
+                case 2 -> sb.deleteCharAt(at);
+                default -> sb.setCharAt(at, LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+        }
+        return sb.toString();
+    }
+}
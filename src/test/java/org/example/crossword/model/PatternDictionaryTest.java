@@ -0,0 +1,121 @@
+package org.example.crossword.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatternDictionaryTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void patternsCountTheWordsWithTheirLetters() {
+        PatternDictionary words = new PatternDictionary(List.of("ski", "Sky", "SKI", "sea", "soixante", "skate", "slate"));
+        assertEquals(6, words.size());
+        assertEquals(3, words.count(3));
+        assertEquals(3, words.count("???"));
+        assertEquals(2, words.count("SK?"));
+        assertEquals(1, words.count("s?a"));
+        assertEquals(2, words.count("S?ATE"));
+        assertEquals(1, words.count("S?IXA?TE"));
+        assertEquals(0, words.count("SKIS"));
+        assertEquals(0, words.count("SKZ"));        // a letter no word has
+        assertEquals(0, words.count("??????????"));
+
+        List<String> matches = new ArrayList<>();
+        words.forEachMatch("S??", id -> matches.add(words.word(3, id)));
+        assertEquals(List.of("SKI", "SKY", "SEA"), matches);
+
+        assertTrue(words.contains("skate"));
+        assertFalse(words.contains("sk?te"));
+        assertEquals(1, words.indexOf("SKY"));
+        assertEquals(-1, words.indexOf("SKA"));
+        assertNull(words.word(4, 0));
+    }
+
+    // Over 64 words per length, the matches span several blocks of the bitsets. The ids of a
+    // length are the ranks of its words in the order they were given.
+    @Test
+    void countsMatchAScanOfTheWords() {
+        SplittableRandom random = new SplittableRandom(1);
+        Set<String> unique = new LinkedHashSet<>();
+        while (unique.size() < 1_000) {
+            unique.add(randomWord(random, 3 + random.nextInt(4), "ABCDEFGH"));
+        }
+        List<String> list = new ArrayList<>(unique);
+        PatternDictionary words = new PatternDictionary(list);
+        for (int test = 0; test < 500; test++) {
+            String pattern = randomWord(random, 3 + random.nextInt(4), "ABCDEFGHIJ???????");
+            List<Integer> expected = new ArrayList<>();
+            int id = 0;
+            for (String word : list) {
+                if (word.length() == pattern.length()) {
+                    if (matches(word, pattern)) {
+                        expected.add(id);
+                    }
+                    id++;
+                }
+            }
+            List<Integer> found = new ArrayList<>();
+            words.forEachMatch(pattern, found::add);
+            long[] bits = new long[words.wordBlocks(pattern.length())];
+            assertEquals(expected.size(), words.count(pattern), pattern);
+            assertEquals(expected.size(), words.match(pattern, bits), pattern);
+            assertEquals(expected, found, pattern);
+            for (int match : found) {
+                assertTrue(matches(words.word(pattern.length(), match), pattern), pattern);
+                assertTrue((bits[match >>> 6] & (1L << match)) != 0, pattern);
+            }
+        }
+    }
+
+    @Test
+    void loadSkipsCommentsAndCluesAfterTheWord() throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.writeString(file, "# sports\nski;a winter sport\n\nskate\n  \n#judo\nsea\n");
+        PatternDictionary words = PatternDictionary.load(file);
+        assertEquals(3, words.size());
+        assertTrue(words.contains("SKI"));
+        assertFalse(words.contains("JUDO"));
+    }
+
+    @Test
+    void alphabetIsLimitedTo64Letters() {
+        StringBuilder letters = new StringBuilder();
+        for (char c = '\u4E00'; letters.length() <= PatternDictionary.MAX_LETTERS; c++) {     // no case to fold
+            letters.append(c);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new PatternDictionary(List.of(letters.toString())));
+    }
+
+    private static boolean matches(String word, String pattern) {
+        for (int i = 0; i < word.length(); i++) {
+            if (pattern.charAt(i) != PatternDictionary.WILDCARD && pattern.charAt(i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String randomWord(SplittableRandom random, int length, String letters) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return sb.toString();
+    }
+}
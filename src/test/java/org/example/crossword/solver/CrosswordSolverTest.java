@@ -0,0 +1,151 @@
+package org.example.crossword.solver;
+
+import org.example.crossword.model.CrosswordGrid;
+import org.example.crossword.model.PatternDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrosswordSolverTest {
+    //   . 3 . 4
+    //   1 S E A        slots 1 and 2 across, 3 and 4 down
+    //   2 O W L
+    private static final int[][] SQUARE = {{-1, 3, -1, 4}, {1, 0, 0, 0}, {2, 0, 0, 0}};
+
+    // Three words across crossing three words down on every other cell, 9 crossings
+    private static final int[][] LATTICE = {
+            {-1, 1, -1, 2, -1, 3},
+            {4, 0, 0, 0, 0, 0},
+            {-1, 0, -1, 0, -1, 0},
+            {5, 0, 0, 0, 0, 0},
+            {-1, 0, -1, 0, -1, 0},
+            {6, 0, 0, 0, 0, 0}};
+
+    @Test
+    void layoutFollowsTheNumberedCells() {
+        SlotLayout layout = SlotLayout.fromGrid(grid(SQUARE));
+        assertEquals(4, layout.size());
+        assertTrue(layout.isHorizontal(0));
+        assertFalse(layout.isHorizontal(2));
+        assertEquals(3, layout.getLength(0));
+        assertEquals(2, layout.getLength(3));
+        // slot 1 crosses slot 3 at its first letter and slot 4 at its last
+        assertEquals(2 * 3, layout.getCrossings(0).length);
+    }
+
+    @Test
+    void solvesTheSquare() {
+        PatternDictionary words = new PatternDictionary(List.of("SEA", "OWL", "SKI", "SO", "AL", "OK", "ZZ"));
+        SlotLayout layout = SlotLayout.fromGrid(grid(SQUARE));
+        CrosswordSolver.Result result = new CrosswordSolver(words, layout).solve();
+        assertTrue(result.isSolved());
+        assertConsistent(layout, words, result.fill());
+    }
+
+    @Test
+    void solvesALatticeWithDistractors() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int test = 0; test < 20; test++) {
+            // the rows and columns of a random square of letters fill the lattice, the other words mislead
+            char[][] square = new char[5][5];
+            for (char[] row : square) {
+                for (int col = 0; col < row.length; col++) {
+                    row[col] = (char) ('A' + random.nextInt(6));
+                }
+            }
+            List<String> list = new ArrayList<>();
+            for (int i = 0; i < 5; i += 2) {
+                StringBuilder down = new StringBuilder();
+                for (char[] row : square) {
+                    down.append(row[i]);
+                }
+                list.add(new String(square[i]));
+                list.add(down.toString());
+            }
+            for (int i = 0; i < 300; i++) {
+                StringBuilder word = new StringBuilder();
+                for (int j = 0; j < 5; j++) {
+                    word.append((char) ('A' + random.nextInt(6)));
+                }
+                list.add(word.toString());
+            }
+            PatternDictionary words = new PatternDictionary(list);
+            SlotLayout layout = SlotLayout.fromGrid(grid(LATTICE));
+            CrosswordSolver.Result result = new CrosswordSolver(words, layout).shuffle(test).solve();
+            assertTrue(result.isSolved(), "lattice " + test);
+            assertConsistent(layout, words, result.fill());
+        }
+    }
+
+    @Test
+    void reportsAGridWithoutFill() {
+        PatternDictionary words = new PatternDictionary(List.of("SEA", "OWL", "SO", "AX"));
+        CrosswordSolver.Result result = new CrosswordSolver(words, SlotLayout.fromGrid(grid(SQUARE))).solve();
+        assertFalse(result.isSolved());
+        assertNull(result.fill());
+    }
+
+    @Test
+    void enumeratesEveryFill() {
+        List<String> threes = List.of("SEA", "OWL", "SKI", "ORE", "TEA", "ALE");
+        List<String> twos = List.of("SO", "AL", "ST", "OA", "IE", "AE", "TA", "EL");
+        List<String> all = new ArrayList<>(threes);
+        all.addAll(twos);
+        PatternDictionary words = new PatternDictionary(all);
+
+        // slot 3 is the first letters of slots 1 and 2, slot 4 their last letters
+        Set<String> expected = new HashSet<>();
+        for (String first : threes) {
+            for (String second : threes) {
+                String down1 = "" + first.charAt(0) + second.charAt(0);
+                String down2 = "" + first.charAt(2) + second.charAt(2);
+                if (!first.equals(second) && !down1.equals(down2) && twos.contains(down1) && twos.contains(down2)) {
+                    expected.add(String.join(",", first, second, down1, down2));
+                }
+            }
+        }
+        CrosswordSolver solver = new CrosswordSolver(words, SlotLayout.fromGrid(grid(SQUARE)));
+        Set<String> found = new HashSet<>();
+        solver.enumerate(solver.open(), fill -> found.add(String.join(",", fill)));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, found);
+    }
+
+    // The words of the fill are in the dictionary, used once, and agree on the cells they share
+    private static void assertConsistent(SlotLayout layout, PatternDictionary words, String[] fill) {
+        char[] cells = new char[layout.getRows() * layout.getCols()];
+        Set<String> used = new HashSet<>();
+        for (int s = 0; s < layout.size(); s++) {
+            String word = fill[s];
+            assertEquals(layout.getLength(s), word.length());
+            assertTrue(words.contains(word), word);
+            assertTrue(used.add(word), word + " used twice");
+            for (int position = 0; position < word.length(); position++) {
+                int cell = layout.getCell(s, position);
+                if (cells[cell] != 0) {
+                    assertEquals(cells[cell], word.charAt(position), "cell " + cell);
+                }
+                cells[cell] = word.charAt(position);
+            }
+        }
+    }
+
+    private static CrosswordGrid grid(int[][] values) {
+        CrosswordGrid grid = new CrosswordGrid(values.length, values[0].length);
+        for (int row = 0; row < values.length; row++) {
+            for (int col = 0; col < values[row].length; col++) {
+                grid.define(row, col, values[row][col]);
+            }
+        }
+        return grid;
+    }
+}